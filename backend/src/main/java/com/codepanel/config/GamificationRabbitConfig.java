@@ -1,7 +1,10 @@
 package com.codepanel.config;
 
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,6 +12,7 @@ import org.springframework.context.annotation.Configuration;
 public class GamificationRabbitConfig {
 	public static final String EXCHANGE = "domain.events";
 	public static final String QUEUE = "gamification.events";
+	public static final String DLQ = "gamification.events.dlq";
 	public static final String RK_SUBMISSION_ACCEPTED = "submission.accepted";
 	public static final String RK_REVIEW_APPROVED = "review.approved";
 	public static final String RK_PROBLEM_ACCEPTED = "problem.accepted";
@@ -19,6 +23,7 @@ public class GamificationRabbitConfig {
 	public static final String RK_PROBLEM_ANSWER_UNACCEPTED = "problem.answer.unaccepted";
 	public static final String RK_PROBLEM_POSTED = "problem.posted";
 	public static final String RK_ACHIEVEMENT_AWARDED = "achievement.awarded";
+	public static final String BATCH_CONTAINER_FACTORY = "gamificationBatchContainerFactory";
 
 	@Bean
 	public TopicExchange domainEventsExchange() {
@@ -30,6 +35,15 @@ public class GamificationRabbitConfig {
 		return QueueBuilder.durable(QUEUE).build();
 	}
 
+	/**
+	 * Holds batch messages that could not be read or processed. The listener
+	 * routes them here itself through the default exchange.
+	 */
+	@Bean
+	public Queue gamificationDeadLetterQueue() {
+		return QueueBuilder.durable(DLQ).build();
+	}
+
 	@Bean
 	public Binding bindSubmissionAccepted(Queue gamificationQueue, TopicExchange domainEventsExchange) {
 		return BindingBuilder.bind(gamificationQueue).to(domainEventsExchange).with(RK_SUBMISSION_ACCEPTED);
@@ -84,4 +98,19 @@ public class GamificationRabbitConfig {
 	public Jackson2JsonMessageConverter jackson2JsonMessageConverter() {
 		return new Jackson2JsonMessageConverter();
 	}
+
+	@Bean(name = BATCH_CONTAINER_FACTORY)
+	public SimpleRabbitListenerContainerFactory gamificationBatchContainerFactory(ConnectionFactory connectionFactory,
+			@Value("${app.gamification.batch.size:100}") int batchSize,
+			@Value("${app.gamification.batch.receive-timeout-ms:200}") long receiveTimeout) {
+		SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+		factory.setConnectionFactory(connectionFactory);
+		factory.setMessageConverter(jackson2JsonMessageConverter());
+		factory.setBatchListener(true);
+		factory.setConsumerBatchEnabled(true);
+		factory.setBatchSize(batchSize);
+		factory.setPrefetchCount(batchSize);
+		factory.setReceiveTimeout(receiveTimeout);
+		return factory;
+	}
 }
@@ -1,6 +1,8 @@
 package com.codepanel.config;
 
 import com.codepanel.services.JwtService;
+import com.codepanel.services.PrincipalCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +12,6 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -23,14 +24,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final HandlerExceptionResolver handlerExceptionResolver;
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final PrincipalCache principalCache;
 
     public JwtAuthenticationFilter(
             JwtService jwtService,
-            UserDetailsService userDetailsService,
+            PrincipalCache principalCache,
             HandlerExceptionResolver handlerExceptionResolver) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
         this.handlerExceptionResolver = handlerExceptionResolver;
     }
 
@@ -49,14 +50,19 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 try {
                     final String token = authHeader.substring(7);
-                    final String userEmail = jwtService.extractUsername(token);
+                    final Claims claims = jwtService.parseAndValidate(token);
+                    if (claims == null) {
+                        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                        return;
+                    }
+                    final String userEmail = claims.getSubject();
 
                     Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
                     if (userEmail != null && authentication == null) {
-                        UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+                        UserDetails userDetails = principalCache.loadUserByUsername(userEmail);
 
-                        if (jwtService.isTokenValid(token, userDetails)) {
+                        if (jwtService.isTokenValid(claims, userDetails)) {
                             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                                     userDetails,
                                     null,
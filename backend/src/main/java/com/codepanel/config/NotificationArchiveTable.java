@@ -0,0 +1,35 @@
+package com.codepanel.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates notifications_archive with the same columns as notifications. The
+ * archive has no foreign keys, so archived rows never block deleting a user.
+ */
+@Component
+@Slf4j
+public class NotificationArchiveTable implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public NotificationArchiveTable(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS notifications_archive " +
+                    "(LIKE notifications INCLUDING DEFAULTS INCLUDING CONSTRAINTS)");
+            jdbcTemplate.execute("ALTER TABLE notifications_archive " +
+                    "ADD COLUMN IF NOT EXISTS archived_at timestamp NOT NULL DEFAULT now()");
+            jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_notifications_archive_recipient_created " +
+                    "ON notifications_archive (recipient_id, created_at)");
+        } catch (Exception e) {
+            log.error("Failed to create notifications_archive", e);
+        }
+    }
+}
@@ -2,9 +2,11 @@ package com.codepanel.config;
 
 import org.springframework.amqp.core.*;
 import org.springframework.amqp.rabbit.annotation.EnableRabbit;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -31,6 +33,15 @@ public class NotificationRabbitConfig {
     public static final String ACHIEVEMENT_AWARDED_ROUTING_KEY = "achievement.awarded";
     public static final String EMAIL_NOTIFICATION_ROUTING_KEY = "email.send";
 
+    public static final String BATCH_CONTAINER_FACTORY = "notificationBatchContainerFactory";
+
+    /**
+     * Name of the dead-letter queue paired with a notification queue.
+     */
+    public static String deadLetterQueueOf(String queue) {
+        return queue + ".dlq";
+    }
+
     @Bean
     public TopicExchange notificationsExchange() {
         return new TopicExchange(NOTIFICATIONS_EXCHANGE, true, false);
@@ -176,4 +187,24 @@ public class NotificationRabbitConfig {
         template.setMessageConverter(messageConverter());
         return template;
     }
+
+    /**
+     * Batch listener factory that hands the raw messages over so one listener can drain queues
+     * carrying different event types. A batch that still fails is rejected without requeue so the
+     * queues' dead-letter exchange takes it instead of it being redelivered forever.
+     */
+    @Bean(name = BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory notificationBatchContainerFactory(ConnectionFactory connectionFactory,
+            @Value("${app.notifications.batch.size:100}") int batchSize,
+            @Value("${app.notifications.batch.receive-timeout-ms:250}") long receiveTimeout) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setPrefetchCount(batchSize);
+        factory.setReceiveTimeout(receiveTimeout);
+        factory.setDefaultRequeueRejected(false);
+        return factory;
+    }
 }
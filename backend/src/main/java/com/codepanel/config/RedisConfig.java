@@ -7,7 +7,9 @@ import com.codepanel.models.dto.ProblemPostResponse;
 import com.codepanel.models.dto.AssignmentResponse;
 import com.codepanel.models.dto.ProblemPostsPageSlice;
 import com.codepanel.models.dto.AssignmentsPageSlice;
+import com.codepanel.models.dto.AssignmentSubmissionOverlay;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.interceptor.CacheErrorHandler;
 import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
@@ -21,6 +23,7 @@ import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
@@ -64,6 +67,18 @@ public class RedisConfig {
         return new StringRedisTemplate(connectionFactory);
     }
 
+    /**
+     * Needed by the Redis WebSocket backplane and by facet index broadcasting
+     */
+    @Bean
+    @ConditionalOnExpression("'${app.websocket.broker:simple}' == '" + WebSocketConfig.BROKER_REDIS + "' " +
+            "or '${app.facets.broadcast:false}' == 'true'")
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     @Bean
     public CacheManager cacheManager(RedisConnectionFactory connectionFactory) {
         try {
@@ -84,15 +99,11 @@ public class RedisConfig {
             Jackson2JsonRedisSerializer<AssignmentResponse> arSerializer = new Jackson2JsonRedisSerializer<>(
                     AssignmentResponse.class);
             arSerializer.setObjectMapper(mapper);
-            Jackson2JsonRedisSerializer<Long> longSerializer = new Jackson2JsonRedisSerializer<>(Long.class);
-            longSerializer.setObjectMapper(mapper);
 
             RedisCacheConfiguration problemPostConfig = defaultConfig.serializeValuesWith(
                     RedisSerializationContext.SerializationPair.fromSerializer(pprSerializer));
             RedisCacheConfiguration assignmentConfig = defaultConfig.serializeValuesWith(
                     RedisSerializationContext.SerializationPair.fromSerializer(arSerializer));
-            RedisCacheConfiguration notifCountConfig = defaultConfig.serializeValuesWith(
-                    RedisSerializationContext.SerializationPair.fromSerializer(longSerializer));
             Jackson2JsonRedisSerializer<ProblemPostsPageSlice> problemPostsSliceSerializer = new Jackson2JsonRedisSerializer<>(
                     ProblemPostsPageSlice.class);
             problemPostsSliceSerializer.setObjectMapper(mapper);
@@ -103,13 +114,18 @@ public class RedisConfig {
             assignmentsSliceSerializer.setObjectMapper(mapper);
             RedisCacheConfiguration assignmentsByPageConfig = defaultConfig.serializeValuesWith(
                     RedisSerializationContext.SerializationPair.fromSerializer(assignmentsSliceSerializer));
+            Jackson2JsonRedisSerializer<AssignmentSubmissionOverlay> overlaySerializer = new Jackson2JsonRedisSerializer<>(
+                    AssignmentSubmissionOverlay.class);
+            overlaySerializer.setObjectMapper(mapper);
+            RedisCacheConfiguration assignmentOverlayConfig = defaultConfig.serializeValuesWith(
+                    RedisSerializationContext.SerializationPair.fromSerializer(overlaySerializer));
 
             java.util.Map<String, RedisCacheConfiguration> cacheConfigs = new java.util.HashMap<>();
             cacheConfigs.put("problemPostById", problemPostConfig);
             cacheConfigs.put("assignmentById", assignmentConfig);
-            cacheConfigs.put("notifUnreadCount", notifCountConfig);
             cacheConfigs.put("problemPostsByPage", problemPostsByPageConfig);
             cacheConfigs.put("assignmentsByPage", assignmentsByPageConfig);
+            cacheConfigs.put("assignmentOverlayByUser", assignmentOverlayConfig);
 
             return RedisCacheManager.builder(connectionFactory)
                     .cacheDefaults(defaultConfig)
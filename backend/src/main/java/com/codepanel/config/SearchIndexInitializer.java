@@ -0,0 +1,40 @@
+package com.codepanel.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maintains the full-text search columns that Hibernate's ddl-auto cannot
+ * express: a generated, weighted tsvector per searchable table plus its GIN index.
+ */
+@Component
+@Slf4j
+public class SearchIndexInitializer implements CommandLineRunner {
+
+    private static final String[] SEARCHABLE_TABLES = { "problem_posts", "assignments" };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SearchIndexInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        for (String table : SEARCHABLE_TABLES) {
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                        "GENERATED ALWAYS AS (" +
+                        "setweight(to_tsvector('simple', coalesce(title, '')), 'A') || " +
+                        "setweight(to_tsvector('simple', coalesce(description, '')), 'B')) STORED");
+                jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_" + table + "_search_vector ON " + table +
+                        " USING GIN (search_vector)");
+                log.info("[SEARCH] Full-text index ready on {}", table);
+            } catch (Exception e) {
+                log.error("[SEARCH] Failed to prepare full-text index on {}", table, e);
+            }
+        }
+    }
+}
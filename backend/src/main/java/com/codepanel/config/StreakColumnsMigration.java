@@ -0,0 +1,42 @@
+package com.codepanel.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Copies streak dates out of the legacy streak_data JSONB column into the
+ * typed first_action_date/last_action_date columns. Rows that already have a
+ * last_action_date are skipped, so the migration is a no-op once done.
+ */
+@Component
+@Slf4j
+public class StreakColumnsMigration implements CommandLineRunner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StreakColumnsMigration(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void run(String... args) {
+        try {
+            Integer legacyColumns = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.columns " +
+                    "WHERE table_name = 'user_achievement_progress' AND column_name = 'streak_data'", Integer.class);
+            if (legacyColumns == null || legacyColumns == 0) {
+                return;
+            }
+            int migrated = jdbcTemplate.update("UPDATE user_achievement_progress SET " +
+                    "first_action_date = CAST(streak_data ->> 'firstActionDate' AS date), " +
+                    "last_action_date = CAST(streak_data ->> 'lastActionDate' AS date) " +
+                    "WHERE last_action_date IS NULL AND streak_data ->> 'lastActionDate' IS NOT NULL");
+            if (migrated > 0) {
+                log.info("Migrated {} streak rows to typed date columns", migrated);
+            }
+        } catch (Exception e) {
+            log.error("Failed to migrate streak data", e);
+        }
+    }
+}
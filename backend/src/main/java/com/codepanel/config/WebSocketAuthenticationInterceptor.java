@@ -3,6 +3,7 @@ package com.codepanel.config;
 import com.codepanel.models.User;
 import com.codepanel.services.JwtService;
 import com.codepanel.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
 import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.stomp.StompCommand;
@@ -47,12 +48,19 @@ public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
 
             if (token != null) {
                 try {
-                    String userEmail = jwtService.extractUsername(token);
-                    if (userEmail != null && !jwtService.isTokenExpired(token)) {
+                    Claims claims = jwtService.parseAndValidate(token);
+                    String userEmail = claims != null ? claims.getSubject() : null;
+                    if (userEmail != null) {
                         User user = userRepository.findByEmail(userEmail).orElse(null);
                         if (user != null) {
+                            // User destinations are addressed by user id, so the session principal is named by it
                             UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                                    user, null, user.getAuthorities());
+                                    user, null, user.getAuthorities()) {
+                                @Override
+                                public String getName() {
+                                    return user.getId().toString();
+                                }
+                            };
 
                             SecurityContextHolder.getContext().setAuthentication(authentication);
 
@@ -63,8 +71,7 @@ public class WebSocketAuthenticationInterceptor implements ChannelInterceptor {
                             System.out.println("User not found in database for email: " + userEmail);
                         }
                     } else {
-                        System.out
-                                .println("JWT token validation failed - expired: " + jwtService.isTokenExpired(token));
+                        System.out.println("JWT token validation failed - invalid or expired token");
                     }
                 } catch (Exception e) {
                     System.err.println("WebSocket authentication failed: " + e.getMessage());
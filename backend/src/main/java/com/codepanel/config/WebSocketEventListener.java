@@ -1,5 +1,6 @@
 package com.codepanel.config;
 
+import com.codepanel.services.WebSocketSessionRegistry;
 import org.springframework.context.event.EventListener;
 import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
@@ -9,6 +10,12 @@ import org.springframework.web.socket.messaging.SessionDisconnectEvent;
 @Component
 public class WebSocketEventListener {
 
+    private final WebSocketSessionRegistry sessionRegistry;
+
+    public WebSocketEventListener(WebSocketSessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
+
     @EventListener
     public void handleWebSocketConnectListener(SessionConnectedEvent event) {
         try {
@@ -16,9 +23,10 @@ public class WebSocketEventListener {
             String sessionId = headerAccessor.getSessionId();
             
             System.out.println("New WebSocket connection established. Session ID: " + sessionId);
-            
-            // TODO: Store active session information
-            // TODO: Update user online status
+
+            if (event.getUser() != null) {
+                sessionRegistry.connected(event.getUser().getName(), sessionId);
+            }
             
         } catch (Exception e) {
             System.err.println("Error handling WebSocket connection: " + e.getMessage());
@@ -30,13 +38,14 @@ public class WebSocketEventListener {
         try {
             StompHeaderAccessor headerAccessor = StompHeaderAccessor.wrap(event.getMessage());
             String sessionId = headerAccessor.getSessionId();
+            if (event.getUser() != null) {
+                sessionRegistry.disconnected(event.getUser().getName(), sessionId);
+            }
             String userId = (String) headerAccessor.getSessionAttributes().get("userId");
             
             System.out.println("WebSocket connection closed. Session ID: " + sessionId + 
                              ", User ID: " + userId);
             
-            // TODO: Remove session from active sessions
-            // TODO: Update user offline status
             // TODO: Notify relevant users about user going offline
             
         } catch (Exception e) {
@@ -5,6 +5,8 @@ import com.codepanel.models.dto.AssignmentResponse;
 import com.codepanel.models.dto.AssignmentSubmissionResponse;
 import com.codepanel.models.dto.CreateAssignmentRequest;
 import com.codepanel.models.dto.CreateSubmissionRequest;
+import com.codepanel.models.dto.CursorPage;
+import com.codepanel.models.dto.FacetCountsResponse;
 import com.codepanel.models.dto.UpdateAssignmentRequest;
 import com.codepanel.models.dto.AssignmentsPageSlice;
 import com.codepanel.models.enums.DifficultyLevel;
@@ -54,12 +56,31 @@ public class AssignmentController {
             Sort.Direction.DESC : Sort.Direction.ASC;
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
         
-        AssignmentsPageSlice slice = assignmentService.getAllAssignments(pageable, currentUser);
+        AssignmentsPageSlice slice = assignmentService.getAllAssignments(pageable);
         Page<AssignmentResponse> pageResp = new PageImpl<>(
-                slice.getContent(), pageable, slice.getTotal());
+                assignmentService.applySubmissionOverlay(slice.getContent(), currentUser), pageable, slice.getTotal());
         return ResponseEntity.ok(pageResp);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<AssignmentResponse>> getAssignmentFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal(errorOnInvalidType = false) User currentUser) {
+        CursorPage<AssignmentResponse> response = assignmentService.getAssignmentFeed(cursor, size, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetCountsResponse> getFacetCounts(
+            @RequestParam(required = false) ProgrammingLanguage language,
+            @RequestParam(required = false) DifficultyLevel difficulty,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) List<UUID> tagIds) {
+        FacetCountsResponse response = assignmentService.getFacetCounts(language, difficulty, categoryId, tagIds);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/my")
     public ResponseEntity<Page<AssignmentResponse>> getMyAssignments(
             @RequestParam(defaultValue = "0") int page,
@@ -97,7 +118,8 @@ public class AssignmentController {
     public ResponseEntity<AssignmentResponse> getAssignment(
             @PathVariable UUID id,
             @AuthenticationPrincipal(errorOnInvalidType = false) User currentUser) {
-        AssignmentResponse response = assignmentService.getAssignmentById(id, currentUser);
+        AssignmentResponse response = assignmentService.applySubmissionOverlay(
+                assignmentService.getAssignmentById(id), currentUser);
         return ResponseEntity.ok(response);
     }
 
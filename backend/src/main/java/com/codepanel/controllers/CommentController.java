@@ -3,6 +3,7 @@ package com.codepanel.controllers;
 import com.codepanel.models.User;
 import com.codepanel.models.dto.CommentResponse;
 import com.codepanel.models.dto.CreateCommentRequest;
+import com.codepanel.models.dto.CursorPage;
 import com.codepanel.models.dto.UpdateCommentRequest;
 import com.codepanel.models.enums.ReactionType;
 import com.codepanel.services.CommentService;
@@ -54,6 +55,16 @@ public class CommentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<CommentResponse>> getCommentFeed(
+            @PathVariable UUID problemPostId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @AuthenticationPrincipal User currentUser) {
+        CursorPage<CommentResponse> response = commentService.getCommentFeed(problemPostId, cursor, size, currentUser);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{commentId}")
     public ResponseEntity<CommentResponse> getComment(
             @PathVariable UUID commentId,
@@ -1,29 +1,31 @@
 package com.codepanel.controllers;
 
 import com.codepanel.models.User;
-import com.codepanel.models.UserScore;
 import com.codepanel.models.dto.LeaderboardEntryResponse;
+import com.codepanel.models.dto.LeaderboardPositionResponse;
 import com.codepanel.models.dto.LeaderboardResponse;
-import com.codepanel.services.GamificationService;
+import com.codepanel.models.enums.LeaderboardPeriod;
+import com.codepanel.services.LeaderboardService;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.UUID;
 
 @RestController
 @RequestMapping("/api/leaderboard")
 public class LeaderboardController {
-    private final GamificationService gamificationService;
+    private final LeaderboardService leaderboardService;
 
-    public LeaderboardController(GamificationService gamificationService) {
-        this.gamificationService = gamificationService;
+    public LeaderboardController(LeaderboardService leaderboardService) {
+        this.leaderboardService = leaderboardService;
     }
 
     @GetMapping("/weekly")
@@ -31,22 +33,7 @@ public class LeaderboardController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekStart,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
-        Page<UserScore> raw = gamificationService.getWeeklyLeaderboard(weekStart, page, size);
-        List<LeaderboardEntryResponse> mapped = raw.getContent().stream().map(us -> {
-            LeaderboardEntryResponse.UserInfo u = new LeaderboardEntryResponse.UserInfo(
-                    us.getUser().getId().toString(),
-                    us.getUser().getFirstName(),
-                    us.getUser().getLastName(),
-                    us.getUser().getProfilePictureUrl());
-            return new LeaderboardEntryResponse(
-                    us.getId().toString(),
-                    u,
-                    us.getWeekStart().toString(),
-                    us.getPoints());
-        }).toList();
-        Page<LeaderboardEntryResponse> response = new PageImpl<>(mapped, PageRequest.of(page, size),
-                raw.getTotalElements());
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(leaderboardService.getWeeklyLeaderboard(weekStart, page, size));
     }
 
     @GetMapping("/monthly")
@@ -59,47 +46,39 @@ public class LeaderboardController {
             targetMonth = YearMonth.parse(month);
         }
 
-        List<Object[]> rawResults = gamificationService.getMonthlyLeaderboard(targetMonth, limit);
-        AtomicInteger rank = new AtomicInteger(1);
-
-        List<LeaderboardResponse> mapped = rawResults.stream().map(result -> {
-            User user = (User) result[0];
-            Long points = (Long) result[1];
-
-            LeaderboardResponse.UserInfo userInfo = new LeaderboardResponse.UserInfo(
-                    user.getId().toString(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    user.getEmail(),
-                    user.getProfilePictureUrl());
-
-            return new LeaderboardResponse(userInfo, points.intValue(), rank.getAndIncrement());
-        }).toList();
-
-        return ResponseEntity.ok(mapped);
+        return ResponseEntity.ok(leaderboardService.getMonthlyLeaderboard(targetMonth, limit));
     }
 
     @GetMapping("/all-time")
     public ResponseEntity<List<LeaderboardResponse>> allTime(
             @RequestParam(defaultValue = "25") int limit) {
+        return ResponseEntity.ok(leaderboardService.getAllTimeLeaderboard(limit));
+    }
 
-        List<Object[]> rawResults = gamificationService.getAllTimeLeaderboard(limit);
-        AtomicInteger rank = new AtomicInteger(1);
-
-        List<LeaderboardResponse> mapped = rawResults.stream().map(result -> {
-            User user = (User) result[0];
-            Long points = (Long) result[1];
-
-            LeaderboardResponse.UserInfo userInfo = new LeaderboardResponse.UserInfo(
-                    user.getId().toString(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    user.getEmail(),
-                    user.getProfilePictureUrl());
+    @GetMapping("/{period}/me")
+    public ResponseEntity<LeaderboardPositionResponse> myPosition(
+            @PathVariable String period,
+            @RequestParam(defaultValue = "5") int k,
+            @AuthenticationPrincipal User user) {
+        if (user == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+        return ResponseEntity.ok(leaderboardService.getPosition(parsePeriod(period), user.getId(), k));
+    }
 
-            return new LeaderboardResponse(userInfo, points.intValue(), rank.getAndIncrement());
-        }).toList();
+    @GetMapping("/{period}/around/{userId}")
+    public ResponseEntity<LeaderboardPositionResponse> around(
+            @PathVariable String period,
+            @PathVariable UUID userId,
+            @RequestParam(defaultValue = "5") int k) {
+        return ResponseEntity.ok(leaderboardService.getPosition(parsePeriod(period), userId, k));
+    }
 
-        return ResponseEntity.ok(mapped);
+    private LeaderboardPeriod parsePeriod(String period) {
+        LeaderboardPeriod parsed = LeaderboardPeriod.fromPath(period);
+        if (parsed == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown leaderboard period: " + period);
+        }
+        return parsed;
     }
 }
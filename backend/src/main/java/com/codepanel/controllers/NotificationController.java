@@ -2,6 +2,7 @@ package com.codepanel.controllers;
 
 import com.codepanel.models.Notification;
 import com.codepanel.models.User;
+import com.codepanel.models.dto.CursorPage;
 import com.codepanel.models.dto.NotificationResponse;
 import com.codepanel.services.NotificationService;
 import com.codepanel.services.WebSocketNotificationService;
@@ -41,6 +42,20 @@ public class NotificationController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<NotificationResponse>> getUserNotificationFeed(
+            @AuthenticationPrincipal User user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+
+        CursorPage<Notification> notifications = notificationService.getUserNotificationFeed(user, cursor, size);
+        CursorPage<NotificationResponse> response = new CursorPage<>(
+                notifications.getContent().stream().map(this::mapToResponse).toList(),
+                notifications.getNextCursor(), notifications.isHasNext());
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/unread")
     public ResponseEntity<Page<NotificationResponse>> getUnreadNotifications(
             @AuthenticationPrincipal User user,
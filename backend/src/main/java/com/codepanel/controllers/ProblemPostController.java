@@ -2,6 +2,8 @@ package com.codepanel.controllers;
 
 import com.codepanel.models.User;
 import com.codepanel.models.dto.CreateProblemPostRequest;
+import com.codepanel.models.dto.CursorPage;
+import com.codepanel.models.dto.FacetCountsResponse;
 import com.codepanel.models.dto.UpdateProblemPostRequest;
 import com.codepanel.models.dto.ProblemPostResponse;
 import com.codepanel.models.dto.ProblemPostsPageSlice;
@@ -62,6 +64,24 @@ public class ProblemPostController {
         }
     }
 
+    @GetMapping("/feed")
+    public ResponseEntity<CursorPage<ProblemPostResponse>> getProblemPostFeed(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        CursorPage<ProblemPostResponse> response = problemPostService.getProblemPostFeed(cursor, size);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<FacetCountsResponse> getFacetCounts(
+            @RequestParam(required = false) ProgrammingLanguage language,
+            @RequestParam(required = false) DifficultyLevel difficulty,
+            @RequestParam(required = false) UUID categoryId,
+            @RequestParam(required = false) List<UUID> tagIds) {
+        FacetCountsResponse response = problemPostService.getFacetCounts(language, difficulty, categoryId, tagIds);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<ProblemPostResponse> getProblemPostById(@PathVariable UUID id) {
         try {
@@ -1,5 +1,6 @@
 package com.codepanel.controllers;
 
+import com.codepanel.services.WebSocketSessionRegistry;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
@@ -12,6 +13,12 @@ import java.util.Map;
 @Controller
 public class WebSocketController {
 
+    private final WebSocketSessionRegistry sessionRegistry;
+
+    public WebSocketController(WebSocketSessionRegistry sessionRegistry) {
+        this.sessionRegistry = sessionRegistry;
+    }
+
     @MessageMapping("/connect")
     @SendToUser("/queue/connection")
     public Map<String, String> handleConnection(Principal principal, SimpMessageHeaderAccessor headerAccessor) {
@@ -40,6 +47,9 @@ public class WebSocketController {
     public Map<String, String> handlePing(@Payload Map<String, Object> message, Principal principal) {
         try {
             String userId = principal != null ? principal.getName() : "anonymous";
+            if (principal != null) {
+                sessionRegistry.touch(userId);
+            }
             return Map.of(
                     "type", "pong",
                     "timestamp", String.valueOf(System.currentTimeMillis()),
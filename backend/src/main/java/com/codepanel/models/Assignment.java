@@ -16,7 +16,9 @@ import java.util.Set;
 @Getter
 @Setter
 @Entity
-@Table(name = "assignments")
+@Table(name = "assignments", indexes = {
+        @Index(name = "idx_assignments_active_due_id", columnList = "is_active,due_date,id")
+})
 public class Assignment extends BaseEntity {
     @Column(nullable = false)
     private String title;
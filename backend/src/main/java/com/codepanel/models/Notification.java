@@ -14,7 +14,11 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_recipient_created_id", columnList = "recipient_id,created_at,id"),
+        @Index(name = "idx_notifications_recipient_read_created", columnList = "recipient_id,is_read,created_at"),
+        @Index(name = "idx_notifications_read_created", columnList = "is_read,created_at")
+})
 @Getter
 @Setter
 @Builder
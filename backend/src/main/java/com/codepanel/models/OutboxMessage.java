@@ -0,0 +1,43 @@
+package com.codepanel.models;
+
+import com.codepanel.models.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * A broker message written in the same transaction as the change it
+ * describes, waiting for the outbox relay to publish it.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_messages_available_created", columnList = "available_at,created_at")
+})
+public class OutboxMessage extends BaseEntity {
+
+    @Column(nullable = false)
+    private String exchange;
+
+    @Column(name = "routing_key", nullable = false)
+    private String routingKey;
+
+    // type id header the JSON message converter uses to pick the payload class
+    @Column(name = "payload_type")
+    private String payloadType;
+
+    @Column(nullable = false, columnDefinition = "text")
+    private String payload;
+
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "available_at", nullable = false)
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+}
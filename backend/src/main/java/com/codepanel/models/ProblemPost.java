@@ -13,7 +13,9 @@ import lombok.Setter;
 
 @Getter
 @Setter
-@Table(name = "problem_posts")
+@Table(name = "problem_posts", indexes = {
+        @Index(name = "idx_problem_posts_created_id", columnList = "created_at,id")
+})
 @Entity
 public class ProblemPost extends BaseEntity {
     @Column(nullable = false)
@@ -5,6 +5,7 @@ import com.codepanel.models.base.BaseEntity;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
@@ -14,7 +15,9 @@ import lombok.Setter;
 
 @Getter
 @Setter
-@Table(name = "problem_post_comments")
+@Table(name = "problem_post_comments", indexes = {
+        @Index(name = "idx_comments_post_created_id", columnList = "problem_post_id,created_at,id")
+})
 @Entity
 public class ProblemPostComment extends BaseEntity {
     @ManyToOne(fetch = FetchType.LAZY)
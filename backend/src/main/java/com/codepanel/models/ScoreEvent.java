@@ -13,7 +13,9 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@Table(name = "score_events", indexes = {
+@Table(name = "score_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_score_events_user_type_ref", columnNames = { "user_id", "event_type", "ref_id" })
+}, indexes = {
         @Index(name = "idx_score_events_user_time", columnList = "user_id,created_at"),
         @Index(name = "idx_score_events_type", columnList = "event_type")
 })
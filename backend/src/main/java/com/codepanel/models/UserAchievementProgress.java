@@ -2,20 +2,19 @@ package com.codepanel.models;
 
 import com.codepanel.models.base.BaseEntity;
 import com.codepanel.models.enums.MetricType;
-import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
-import org.hibernate.annotations.JdbcTypeCode;
-import org.hibernate.type.SqlTypes;
 
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "user_achievement_progress", uniqueConstraints = @UniqueConstraint(columnNames = { "user_id",
-        "metric_type" }))
+        "metric_type" }), indexes = {
+        @Index(name = "idx_user_achievement_progress_metric_last_action", columnList = "metric_type,last_action_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -35,7 +34,10 @@ public class UserAchievementProgress extends BaseEntity {
     @Column(name = "last_updated", nullable = false)
     private LocalDate lastUpdated;
 
-    @JdbcTypeCode(SqlTypes.JSON)
-    @Column(name = "streak_data", columnDefinition = "jsonb")
-    private JsonNode streakData; // for streak-specific data like last_action_date
+    // first and last day of the current streak, only set for streak metrics
+    @Column(name = "first_action_date")
+    private LocalDate firstActionDate;
+
+    @Column(name = "last_action_date")
+    private LocalDate lastActionDate;
 }
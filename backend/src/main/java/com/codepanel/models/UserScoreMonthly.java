@@ -0,0 +1,29 @@
+package com.codepanel.models;
+
+import com.codepanel.models.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "user_score_monthly", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_score_monthly_user_month", columnNames = { "user_id", "month_start" })
+}, indexes = {
+        @Index(name = "idx_user_score_monthly_month_points", columnList = "month_start,points")
+})
+public class UserScoreMonthly extends BaseEntity {
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+}
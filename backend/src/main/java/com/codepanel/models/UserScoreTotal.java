@@ -0,0 +1,24 @@
+package com.codepanel.models;
+
+import com.codepanel.models.base.BaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Entity
+@Table(name = "user_score_total", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_user_score_total_user", columnNames = { "user_id" })
+}, indexes = {
+        @Index(name = "idx_user_score_total_points", columnList = "points")
+})
+public class UserScoreTotal extends BaseEntity {
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "points", nullable = false)
+    private Integer points;
+}
@@ -0,0 +1,31 @@
+package com.codepanel.models.dto;
+
+import com.codepanel.models.enums.SubmissionStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentSubmissionOverlay {
+    private Map<UUID, SubmissionSummary> submissions = new HashMap<>();
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SubmissionSummary {
+        private UUID submissionId;
+        private SubmissionStatus status;
+        private Integer grade;
+        private LocalDateTime submittedAt;
+    }
+}
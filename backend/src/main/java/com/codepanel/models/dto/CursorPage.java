@@ -0,0 +1,54 @@
+package com.codepanel.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final int MAX_SIZE = 100;
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Builds a page from rows fetched with a limit of {@code size + 1}: the extra
+     * row only signals that another page exists and is dropped.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, PageCursor> cursorOf,
+            Function<List<E>, List<T>> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode() : null;
+        return new CursorPage<>(mapper.apply(pageRows), nextCursor, hasNext);
+    }
+
+    /**
+     * Two-phase variant: {@code keys} are the (sort key, id) pairs read with a
+     * limit of {@code size + 1}, and only the first {@code size} ids are
+     * hydrated. hasNext and the cursor come from the keys, so a row deleted
+     * between the two queries shortens this page instead of ending the feed.
+     */
+    public static <T> CursorPage<T> ofKeys(List<PageCursor> keys, int size,
+            Function<List<UUID>, List<T>> hydrate) {
+        boolean hasNext = keys.size() > size;
+        List<PageCursor> pageKeys = hasNext ? keys.subList(0, size) : keys;
+        String nextCursor = hasNext ? pageKeys.get(pageKeys.size() - 1).encode() : null;
+        List<UUID> ids = pageKeys.stream().map(PageCursor::getId).collect(Collectors.toList());
+        return new CursorPage<>(hydrate.apply(ids), nextCursor, hasNext);
+    }
+
+    public static int clampSize(int size) {
+        return Math.max(1, Math.min(size, MAX_SIZE));
+    }
+}
@@ -0,0 +1,23 @@
+package com.codepanel.models.dto;
+
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+import java.util.UUID;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountsResponse {
+    private int total;
+    private Map<ProgrammingLanguage, Integer> languages;
+    private Map<DifficultyLevel, Integer> difficulties;
+    private Map<UUID, Integer> categories;
+    private Map<UUID, Integer> tags;
+}
@@ -0,0 +1,21 @@
+package com.codepanel.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeaderboardPositionResponse {
+    private String period;
+    private String userId;
+    private Integer rank;
+    private Integer points;
+    private Long totalUsers;
+    private List<LeaderboardResponse> neighbours;
+}
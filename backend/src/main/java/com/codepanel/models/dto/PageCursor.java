@@ -0,0 +1,42 @@
+package com.codepanel.models.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset continuation token: the sort key and id of the last row of a
+ * page. A null sort key marks a position inside the NULLS LAST tail.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+    private final LocalDateTime sortKey;
+    private final UUID id;
+
+    public String encode() {
+        String raw = (sortKey != null ? sortKey.toString() : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            String sortKey = raw.substring(0, separator);
+            return new PageCursor(sortKey.isEmpty() ? null : LocalDateTime.parse(sortKey),
+                    UUID.fromString(raw.substring(separator + 1)));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
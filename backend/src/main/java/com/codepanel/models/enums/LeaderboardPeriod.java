@@ -0,0 +1,29 @@
+package com.codepanel.models.enums;
+
+public enum LeaderboardPeriod {
+    WEEKLY("weekly"),
+    MONTHLY("monthly"),
+    ALL_TIME("all-time");
+
+    private final String path;
+
+    LeaderboardPeriod(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    /**
+     * Period for a URL segment such as "all-time", or null when unknown
+     */
+    public static LeaderboardPeriod fromPath(String path) {
+        for (LeaderboardPeriod period : values()) {
+            if (period.path.equalsIgnoreCase(path)) {
+                return period;
+            }
+        }
+        return null;
+    }
+}
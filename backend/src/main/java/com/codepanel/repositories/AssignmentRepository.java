@@ -1,10 +1,12 @@
 package com.codepanel.repositories;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -12,8 +14,7 @@ import org.springframework.data.repository.query.Param;
 
 import com.codepanel.models.Assignment;
 import com.codepanel.models.User;
-import com.codepanel.models.enums.DifficultyLevel;
-import com.codepanel.models.enums.ProgrammingLanguage;
+import com.codepanel.models.dto.PageCursor;
 
 public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
 
@@ -21,18 +22,69 @@ public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
      * Find all active assignments ordered by due date with instructor eagerly
      * loaded
      */
-    @Query("SELECT a FROM Assignment a JOIN FETCH a.instructor LEFT JOIN FETCH a.category LEFT JOIN FETCH a.tags WHERE a.isActive = true ORDER BY a.dueDate ASC")
-    Page<Assignment> findByIsActiveTrueOrderByDueDateAsc(Pageable pageable);
+    default Page<Assignment> findByIsActiveTrueOrderByDueDateAsc(Pageable pageable) {
+        Page<UUID> ids = findActiveIdsOrderByDueDateAsc(pageable);
+        return new PageImpl<>(findAllWithRelationsInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
 
-    @Query("SELECT a FROM Assignment a JOIN FETCH a.instructor LEFT JOIN FETCH a.category LEFT JOIN FETCH a.tags")
-    Page<Assignment> findAllWithRelations(Pageable pageable);
+    @Query(value = "SELECT a.id FROM Assignment a WHERE a.isActive = true ORDER BY a.dueDate ASC",
+            countQuery = "SELECT COUNT(a) FROM Assignment a WHERE a.isActive = true")
+    Page<UUID> findActiveIdsOrderByDueDateAsc(Pageable pageable);
+
+    default Page<Assignment> findAllWithRelations(Pageable pageable) {
+        Page<UUID> ids = findPageIds(pageable);
+        return new PageImpl<>(findAllWithRelationsInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Query(value = "SELECT a.id FROM Assignment a", countQuery = "SELECT COUNT(a) FROM Assignment a")
+    Page<UUID> findPageIds(Pageable pageable);
+
+    /**
+     * (dueDate, id) keys of the first keyset page of active assignments, soonest
+     * due first with undated assignments last
+     */
+    @Query("SELECT new com.codepanel.models.dto.PageCursor(a.dueDate, a.id) FROM Assignment a " +
+            "WHERE a.isActive = true ORDER BY a.dueDate ASC NULLS LAST, a.id ASC")
+    List<PageCursor> findFeedKeys(Pageable pageable);
+
+    /**
+     * Keys of the next keyset page after a dated (dueDate, id) cursor; undated
+     * assignments still follow
+     */
+    @Query("SELECT new com.codepanel.models.dto.PageCursor(a.dueDate, a.id) FROM Assignment a " +
+            "WHERE a.isActive = true AND " +
+            "(a.dueDate > :dueDate OR (a.dueDate = :dueDate AND a.id > :id) OR a.dueDate IS NULL) " +
+            "ORDER BY a.dueDate ASC NULLS LAST, a.id ASC")
+    List<PageCursor> findFeedKeysAfter(@Param("dueDate") LocalDateTime dueDate, @Param("id") UUID id,
+            Pageable pageable);
+
+    /**
+     * Keys of the next keyset page after a cursor inside the undated tail
+     */
+    @Query("SELECT new com.codepanel.models.dto.PageCursor(a.dueDate, a.id) FROM Assignment a " +
+            "WHERE a.isActive = true AND a.dueDate IS NULL AND a.id > :id " +
+            "ORDER BY a.id ASC")
+    List<PageCursor> findUndatedFeedKeysAfter(@Param("id") UUID id, Pageable pageable);
+
+    @Query("SELECT DISTINCT a FROM Assignment a JOIN FETCH a.instructor LEFT JOIN FETCH a.category LEFT JOIN FETCH a.tags WHERE a.id IN :ids")
+    List<Assignment> findAllWithRelationsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    default List<Assignment> findAllWithRelationsInOrder(List<UUID> ids) {
+        return EntityPages.inIdOrder(ids, this::findAllWithRelationsByIdIn);
+    }
 
     /**
      * Find assignments by instructor ordered by creation date (newest first) with
      * instructor eagerly loaded
      */
-    @Query("SELECT a FROM Assignment a JOIN FETCH a.instructor LEFT JOIN FETCH a.category LEFT JOIN FETCH a.tags WHERE a.instructor = :instructor ORDER BY a.createdAt DESC")
-    Page<Assignment> findByInstructorOrderByCreatedAtDesc(@Param("instructor") User instructor, Pageable pageable);
+    default Page<Assignment> findByInstructorOrderByCreatedAtDesc(User instructor, Pageable pageable) {
+        Page<UUID> ids = findIdsByInstructorOrderByCreatedAtDesc(instructor, pageable);
+        return new PageImpl<>(findAllWithRelationsInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Query(value = "SELECT a.id FROM Assignment a WHERE a.instructor = :instructor ORDER BY a.createdAt DESC",
+            countQuery = "SELECT COUNT(a) FROM Assignment a WHERE a.instructor = :instructor")
+    Page<UUID> findIdsByInstructorOrderByCreatedAtDesc(@Param("instructor") User instructor, Pageable pageable);
 
     /**
      * Find assignments by instructor and active status
@@ -50,6 +102,13 @@ public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
     @Query("SELECT COUNT(s) FROM AssignmentSubmission s WHERE s.assignment.id = :assignmentId")
     Long countSubmissionsByAssignmentId(@Param("assignmentId") UUID assignmentId);
 
+    /**
+     * Count submissions for a batch of assignments, one row of
+     * (assignmentId, count) per assignment that has submissions
+     */
+    @Query("SELECT s.assignment.id, COUNT(s) FROM AssignmentSubmission s WHERE s.assignment.id IN :assignmentIds GROUP BY s.assignment.id")
+    List<Object[]> countSubmissionsByAssignmentIds(@Param("assignmentIds") Collection<UUID> assignmentIds);
+
     /**
      * Find assignment by ID with instructor eagerly loaded
      */
@@ -63,28 +122,18 @@ public interface AssignmentRepository extends JpaRepository<Assignment, UUID> {
     Boolean hasUserSubmitted(@Param("assignmentId") UUID assignmentId, @Param("studentId") UUID studentId);
 
     /**
-     * Search assignments by title, description, or instructor name with filters
+     * Facet fields of every active assignment as (id, language, difficultyLevel,
+     * categoryId), oldest first
      */
-    @Query("SELECT DISTINCT a FROM Assignment a " +
-            "JOIN FETCH a.instructor i " +
-            "LEFT JOIN FETCH a.category c " +
-            "LEFT JOIN FETCH a.tags t WHERE " +
-            "a.isActive = true AND " +
-            "(:query IS NULL OR :query = '' OR " +
-            "LOWER(a.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(a.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(CONCAT(i.firstName, ' ', i.lastName)) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
-            "(:language IS NULL OR a.language = :language) AND " +
-            "(:difficulty IS NULL OR a.difficultyLevel = :difficulty) AND " +
-            "(:categoryId IS NULL OR c.id = :categoryId) AND " +
-            "(:tagIds IS NULL OR t.id IN :tagIds)")
-    Page<Assignment> searchAssignments(
-            @Param("query") String query,
-            @Param("language") ProgrammingLanguage language,
-            @Param("difficulty") DifficultyLevel difficulty,
-            @Param("categoryId") UUID categoryId,
-            @Param("tagIds") List<UUID> tagIds,
-            Pageable pageable);
+    @Query("SELECT a.id, a.language, a.difficultyLevel, c.id FROM Assignment a LEFT JOIN a.category c " +
+            "WHERE a.isActive = true ORDER BY a.createdAt ASC, a.id ASC")
+    List<Object[]> findActiveFacetRows();
+
+    /**
+     * Every (assignmentId, tagId) pair of active assignments
+     */
+    @Query("SELECT a.id, t.id FROM Assignment a JOIN a.tags t WHERE a.isActive = true")
+    List<Object[]> findActiveTagPairs();
 
     @Query("SELECT a FROM Assignment a LEFT JOIN FETCH a.category LEFT JOIN FETCH a.tags WHERE a.id = :id")
     Assignment findByIdWithCategoryAndTags(@Param("id") UUID id);
@@ -1,5 +1,8 @@
 package com.codepanel.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -12,17 +15,75 @@ import org.springframework.data.repository.query.Param;
 import com.codepanel.models.Assignment;
 import com.codepanel.models.AssignmentSubmission;
 import com.codepanel.models.User;
+import com.codepanel.models.enums.ProgrammingLanguage;
 import com.codepanel.models.enums.SubmissionStatus;
 
 public interface AssignmentSubmissionRepository extends JpaRepository<AssignmentSubmission, UUID> {
+
+    /**
+     * Flat read-only row for submission list views: every field the list response shows, without the code
+     */
+    interface SubmissionListRow {
+        UUID getId();
+        SubmissionStatus getStatus();
+        Integer getGrade();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+
+        UUID getAssignmentId();
+        String getAssignmentTitle();
+        String getAssignmentDescription();
+        ProgrammingLanguage getAssignmentLanguage();
+        LocalDateTime getAssignmentDueDate();
+        Boolean getAssignmentIsActive();
+        LocalDateTime getAssignmentCreatedAt();
+        LocalDateTime getAssignmentUpdatedAt();
+
+        UUID getInstructorId();
+        String getInstructorFirstName();
+        String getInstructorLastName();
+        String getInstructorEmail();
+
+        UUID getStudentId();
+        String getStudentFirstName();
+        String getStudentLastName();
+        String getStudentEmail();
+
+        UUID getReviewId();
+        String getReviewComment();
+        Integer getReviewScore();
+        LocalDateTime getReviewCreatedAt();
+        LocalDateTime getReviewUpdatedAt();
+
+        UUID getReviewerId();
+        String getReviewerFirstName();
+        String getReviewerLastName();
+        String getReviewerEmail();
+    }
+
+    String SUBMISSION_LIST_SELECT = "SELECT s.id AS id, s.status AS status, s.grade AS grade, " +
+            "s.createdAt AS createdAt, s.updatedAt AS updatedAt, " +
+            "a.id AS assignmentId, a.title AS assignmentTitle, a.description AS assignmentDescription, " +
+            "a.language AS assignmentLanguage, a.dueDate AS assignmentDueDate, a.isActive AS assignmentIsActive, " +
+            "a.createdAt AS assignmentCreatedAt, a.updatedAt AS assignmentUpdatedAt, " +
+            "i.id AS instructorId, i.firstName AS instructorFirstName, i.lastName AS instructorLastName, " +
+            "i.email AS instructorEmail, " +
+            "st.id AS studentId, st.firstName AS studentFirstName, st.lastName AS studentLastName, " +
+            "st.email AS studentEmail, " +
+            "r.id AS reviewId, r.comment AS reviewComment, r.score AS reviewScore, " +
+            "r.createdAt AS reviewCreatedAt, r.updatedAt AS reviewUpdatedAt, " +
+            "rv.id AS reviewerId, rv.firstName AS reviewerFirstName, rv.lastName AS reviewerLastName, " +
+            "rv.email AS reviewerEmail " +
+            "FROM AssignmentSubmission s JOIN s.assignment a JOIN a.instructor i JOIN s.student st " +
+            "LEFT JOIN s.review r LEFT JOIN r.reviewer rv ";
     
     /**
      * Find submission by assignment and student
      */
     Optional<AssignmentSubmission> findByAssignmentAndStudent(Assignment assignment, User student);
-    
+
     /**
-     * Find submission by ID with eager loading
+     * Find a student's submissions for a batch of assignments with eager loading
      */
     @Query("SELECT s FROM AssignmentSubmission s " +
            "JOIN FETCH s.assignment a " +
@@ -30,30 +91,43 @@ public interface AssignmentSubmissionRepository extends JpaRepository<Assignment
            "JOIN FETCH s.student " +
            "LEFT JOIN FETCH s.review r " +
            "LEFT JOIN FETCH r.reviewer " +
-           "WHERE s.id = :id")
-    Optional<AssignmentSubmission> findByIdWithDetails(@Param("id") UUID id);
+           "WHERE s.student.id = :studentId AND a.id IN :assignmentIds")
+    List<AssignmentSubmission> findByStudentIdAndAssignmentIdsWithDetails(@Param("studentId") UUID studentId,
+            @Param("assignmentIds") Collection<UUID> assignmentIds);
     
     /**
-     * Find all submissions for an assignment with eager loading
+     * Find the (assignmentId, submissionId, status, grade, createdAt) summary of
+     * every submission made by a student
      */
-    @Query("SELECT s FROM AssignmentSubmission s " +
-           "JOIN FETCH s.assignment a " +
-           "JOIN FETCH a.instructor " +
-           "JOIN FETCH s.student " +
-           "WHERE s.assignment = :assignment " +
-           "ORDER BY s.createdAt DESC")
-    Page<AssignmentSubmission> findByAssignmentOrderByCreatedAtDesc(@Param("assignment") Assignment assignment, Pageable pageable);
+    @Query("SELECT s.assignment.id, s.id, s.status, s.grade, s.createdAt FROM AssignmentSubmission s " +
+           "WHERE s.student.id = :studentId")
+    List<Object[]> findSubmissionSummariesByStudentId(@Param("studentId") UUID studentId);
     
     /**
-     * Find submissions by student with eager loading
+     * Find submission by ID with eager loading
      */
     @Query("SELECT s FROM AssignmentSubmission s " +
            "JOIN FETCH s.assignment a " +
            "JOIN FETCH a.instructor " +
            "JOIN FETCH s.student " +
-           "WHERE s.student = :student " +
-           "ORDER BY s.createdAt DESC")
-    Page<AssignmentSubmission> findByStudentOrderByCreatedAtDesc(@Param("student") User student, Pageable pageable);
+           "LEFT JOIN FETCH s.review r " +
+           "LEFT JOIN FETCH r.reviewer " +
+           "WHERE s.id = :id")
+    Optional<AssignmentSubmission> findByIdWithDetails(@Param("id") UUID id);
+    
+    /**
+     * List rows for an assignment's submissions, newest first
+     */
+    @Query(value = SUBMISSION_LIST_SELECT + "WHERE a.id = :assignmentId ORDER BY s.createdAt DESC",
+           countQuery = "SELECT COUNT(s) FROM AssignmentSubmission s WHERE s.assignment.id = :assignmentId")
+    Page<SubmissionListRow> findListRowsByAssignmentId(@Param("assignmentId") UUID assignmentId, Pageable pageable);
+    
+    /**
+     * List rows for a student's submissions, newest first
+     */
+    @Query(value = SUBMISSION_LIST_SELECT + "WHERE st.id = :studentId ORDER BY s.createdAt DESC",
+           countQuery = "SELECT COUNT(s) FROM AssignmentSubmission s WHERE s.student.id = :studentId")
+    Page<SubmissionListRow> findListRowsByStudentId(@Param("studentId") UUID studentId, Pageable pageable);
 
     long countByStudent(User student);
 
@@ -79,15 +153,15 @@ public interface AssignmentSubmissionRepository extends JpaRepository<Assignment
     long countByAssignment_Instructor_Id(@Param("instructorId") UUID instructorId);
     
     /**
-     * Find pending review submissions for assignments created by an instructor with eager loading
+     * List rows for submissions awaiting review on an instructor's assignments, newest first
      */
-    @Query("SELECT s FROM AssignmentSubmission s " +
-           "JOIN FETCH s.assignment a " +
-           "JOIN FETCH a.instructor " +
-           "JOIN FETCH s.student " +
-           "WHERE a.instructor.id = :instructorId AND s.status = 'PENDING_REVIEW' " +
-           "ORDER BY s.createdAt DESC")
-    Page<AssignmentSubmission> findPendingReviewsByInstructorId(@Param("instructorId") UUID instructorId, Pageable pageable);
+    @Query(value = SUBMISSION_LIST_SELECT +
+           "WHERE i.id = :instructorId AND s.status = com.codepanel.models.enums.SubmissionStatus.PENDING_REVIEW " +
+           "ORDER BY s.createdAt DESC",
+           countQuery = "SELECT COUNT(s) FROM AssignmentSubmission s WHERE s.assignment.instructor.id = :instructorId " +
+           "AND s.status = com.codepanel.models.enums.SubmissionStatus.PENDING_REVIEW")
+    Page<SubmissionListRow> findPendingReviewListRowsByInstructorId(@Param("instructorId") UUID instructorId,
+            Pageable pageable);
     
     /**
      * Count submissions by status for an instructor's assignments
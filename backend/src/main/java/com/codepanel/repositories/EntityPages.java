@@ -0,0 +1,42 @@
+package com.codepanel.repositories;
+
+import com.codepanel.models.base.BaseEntity;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Helpers for two-phase paging: page over ids in SQL, then fetch-join the
+ * entities for just those ids and restore the id order.
+ */
+final class EntityPages {
+
+    private EntityPages() {
+    }
+
+    static <T extends BaseEntity> List<T> inIdOrder(List<UUID> ids, Function<Collection<UUID>, List<T>> loader) {
+        return inIdOrder(ids, loader, BaseEntity::getId);
+    }
+
+    /**
+     * Same as {@link #inIdOrder(List, Function)} for projection rows, which
+     * expose their id through {@code idOf}.
+     */
+    static <T> List<T> inIdOrder(List<UUID> ids, Function<Collection<UUID>, List<T>> loader,
+            Function<T, UUID> idOf) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, T> byId = loader.apply(ids).stream()
+                .collect(Collectors.toMap(idOf, Function.identity(), (a, b) -> a));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
@@ -10,6 +10,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -18,9 +21,25 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient ORDER BY n.createdAt DESC")
     Page<Notification> findByRecipientOrderByCreatedAtDesc(@Param("recipient") User recipient, Pageable pageable);
 
+    @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedByRecipient(@Param("recipient") User recipient, Pageable pageable);
+
+    @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient AND " +
+            "(n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedByRecipientAfter(@Param("recipient") User recipient,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
+
     @Query("SELECT COUNT(n) FROM Notification n WHERE n.recipient = :recipient AND n.isRead = false")
     Long countUnreadByRecipient(@Param("recipient") User recipient);
 
+    /**
+     * Unread counts as (recipientId, count) rows; recipients with nothing unread are omitted
+     */
+    @Query("SELECT n.recipient.id, COUNT(n) FROM Notification n " +
+            "WHERE n.recipient.id IN :recipientIds AND n.isRead = false GROUP BY n.recipient.id")
+    List<Object[]> countUnreadByRecipientIds(@Param("recipientIds") Collection<UUID> recipientIds);
+
     @Query("SELECT n FROM Notification n WHERE n.recipient = :recipient AND n.isRead = false ORDER BY n.createdAt DESC")
     Page<Notification> findUnreadByRecipientOrderByCreatedAtDesc(@Param("recipient") User recipient, Pageable pageable);
 
@@ -31,4 +50,11 @@ public interface NotificationRepository extends JpaRepository<Notification, UUID
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP WHERE n.id = :id AND n.recipient = :recipient")
     int markAsReadById(@Param("id") UUID id, @Param("recipient") User recipient);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.readAt = CURRENT_TIMESTAMP " +
+            "WHERE n.id = :id AND n.recipient = :recipient AND n.isRead = false")
+    int markUnreadAsReadById(@Param("id") UUID id, @Param("recipient") User recipient);
+
+    boolean existsByIdAndRecipient(UUID id, User recipient);
 }
@@ -0,0 +1,22 @@
+package com.codepanel.repositories;
+
+import com.codepanel.models.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, UUID> {
+
+    /**
+     * Oldest due messages, row-locked for the current transaction. Rows locked
+     * by another relay are skipped rather than waited on.
+     */
+    @Query(value = "SELECT * FROM outbox_messages WHERE available_at <= now() " +
+            "ORDER BY created_at LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxMessage> lockNextBatch(@Param("limit") int limit);
+}
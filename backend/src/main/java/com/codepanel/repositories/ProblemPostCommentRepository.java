@@ -1,5 +1,7 @@
 package com.codepanel.repositories;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
@@ -18,6 +20,22 @@ public interface ProblemPostCommentRepository extends JpaRepository<ProblemPostC
      * Find all comments for a specific problem post, ordered by creation date (newest first)
      */
     Page<ProblemPostComment> findByProblemPostOrderByCreatedAtDesc(ProblemPost problemPost, Pageable pageable);
+
+    /**
+     * First keyset page of a post's comments, newest first
+     */
+    @Query("SELECT c FROM ProblemPostComment c JOIN FETCH c.user WHERE c.problemPost.id = :problemPostId " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ProblemPostComment> findFeedByProblemPostId(@Param("problemPostId") UUID problemPostId, Pageable pageable);
+
+    /**
+     * Next keyset page of a post's comments: rows strictly after the (createdAt, id) cursor
+     */
+    @Query("SELECT c FROM ProblemPostComment c JOIN FETCH c.user WHERE c.problemPost.id = :problemPostId AND " +
+           "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ProblemPostComment> findFeedByProblemPostIdAfter(@Param("problemPostId") UUID problemPostId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Pageable pageable);
     
     /**
      * Find all comments by a specific user, ordered by creation date (newest first)
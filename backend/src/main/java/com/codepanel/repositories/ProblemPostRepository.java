@@ -1,5 +1,7 @@
 package com.codepanel.repositories;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 
 import org.springframework.data.domain.Page;
@@ -10,41 +12,116 @@ import org.springframework.data.repository.query.Param;
 
 import com.codepanel.models.ProblemPost;
 import com.codepanel.models.User;
+import com.codepanel.models.dto.PageCursor;
 import com.codepanel.models.enums.DifficultyLevel;
 import com.codepanel.models.enums.ProgrammingLanguage;
 
 import java.util.List;
 
 public interface ProblemPostRepository extends JpaRepository<ProblemPost, UUID> {
+
+    /**
+     * Flat read-only row for problem post list views: every field the list response shows, without the
+     * code bodies and without loading the author's skills and interests
+     */
+    interface ProblemPostListRow {
+        UUID getId();
+        String getTitle();
+        String getDescription();
+        ProgrammingLanguage getLanguage();
+        DifficultyLevel getDifficultyLevel();
+        LocalDateTime getCreatedAt();
+        LocalDateTime getUpdatedAt();
+
+        UUID getCategoryId();
+        String getCategoryName();
+        String getCategoryDescription();
+        String getCategoryColor();
+
+        UUID getAuthorId();
+        String getAuthorFirstName();
+        String getAuthorLastName();
+        String getAuthorEmail();
+        String getAuthorProfilePictureUrl();
+
+        UUID getAcceptedAnswerId();
+        String getAcceptedAnswerComment();
+        LocalDateTime getAcceptedAnswerCreatedAt();
+
+        UUID getAcceptedAnswerAuthorId();
+        String getAcceptedAnswerAuthorFirstName();
+        String getAcceptedAnswerAuthorLastName();
+        String getAcceptedAnswerAuthorEmail();
+        String getAcceptedAnswerAuthorProfilePictureUrl();
+    }
+
     Page<ProblemPost> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
     long countByUser(User user);
 
-    @Query("SELECT p FROM ProblemPost p LEFT JOIN FETCH p.user LEFT JOIN FETCH p.category LEFT JOIN FETCH p.tags")
-    Page<ProblemPost> findAllWithRelations(Pageable pageable);
+    @Query(value = "SELECT p.id FROM ProblemPost p WHERE p.user = :user ORDER BY p.createdAt DESC",
+            countQuery = "SELECT COUNT(p) FROM ProblemPost p WHERE p.user = :user")
+    Page<UUID> findPageIdsByUser(@Param("user") User user, Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM ProblemPost p", countQuery = "SELECT COUNT(p) FROM ProblemPost p")
+    Page<UUID> findPageIds(Pageable pageable);
+
+    /**
+     * (createdAt, id) keys of the first keyset page of the feed, newest first
+     */
+    @Query("SELECT new com.codepanel.models.dto.PageCursor(p.createdAt, p.id) FROM ProblemPost p ORDER BY p.createdAt DESC, p.id DESC")
+    List<PageCursor> findFeedKeys(Pageable pageable);
 
     /**
-     * Search problem posts by title, description, or author name with filters
+     * Keys of the next keyset page of the feed: rows strictly after the (createdAt, id) cursor
      */
-    @Query("SELECT DISTINCT p FROM ProblemPost p " +
-            "LEFT JOIN FETCH p.user u " +
-            "LEFT JOIN FETCH p.category c " +
-            "LEFT JOIN FETCH p.tags t WHERE " +
-            "(:query IS NULL OR :query = '' OR " +
-            "LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(p.description) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(CONCAT(u.firstName, ' ', u.lastName)) LIKE LOWER(CONCAT('%', :query, '%'))) AND " +
-            "(:language IS NULL OR p.language = :language) AND " +
-            "(:difficulty IS NULL OR p.difficultyLevel = :difficulty) AND " +
-            "(:categoryId IS NULL OR c.id = :categoryId) AND " +
-            "(:tagIds IS NULL OR t.id IN :tagIds)")
-    Page<ProblemPost> searchProblemPosts(
-            @Param("query") String query,
-            @Param("language") ProgrammingLanguage language,
-            @Param("difficulty") DifficultyLevel difficulty,
-            @Param("categoryId") UUID categoryId,
-            @Param("tagIds") List<UUID> tagIds,
+    @Query("SELECT new com.codepanel.models.dto.PageCursor(p.createdAt, p.id) FROM ProblemPost p " +
+            "WHERE p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PageCursor> findFeedKeysAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id,
             Pageable pageable);
 
+    @Query("SELECT p.id AS id, p.title AS title, p.description AS description, p.language AS language, " +
+            "p.difficultyLevel AS difficultyLevel, p.createdAt AS createdAt, p.updatedAt AS updatedAt, " +
+            "c.id AS categoryId, c.name AS categoryName, c.description AS categoryDescription, " +
+            "c.color AS categoryColor, " +
+            "u.id AS authorId, u.firstName AS authorFirstName, u.lastName AS authorLastName, " +
+            "u.email AS authorEmail, u.profilePictureUrl AS authorProfilePictureUrl, " +
+            "aa.id AS acceptedAnswerId, aa.comment AS acceptedAnswerComment, " +
+            "aa.createdAt AS acceptedAnswerCreatedAt, " +
+            "au.id AS acceptedAnswerAuthorId, au.firstName AS acceptedAnswerAuthorFirstName, " +
+            "au.lastName AS acceptedAnswerAuthorLastName, au.email AS acceptedAnswerAuthorEmail, " +
+            "au.profilePictureUrl AS acceptedAnswerAuthorProfilePictureUrl " +
+            "FROM ProblemPost p JOIN p.user u LEFT JOIN p.category c " +
+            "LEFT JOIN p.acceptedAnswer aa LEFT JOIN aa.user au WHERE p.id IN :ids")
+    List<ProblemPostListRow> findListRowsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    default List<ProblemPostListRow> findListRowsInOrder(List<UUID> ids) {
+        return EntityPages.inIdOrder(ids, this::findListRowsByIdIn, ProblemPostListRow::getId);
+    }
+
+    /**
+     * (postId, tagId, name, description, color) for every tag on the given posts
+     */
+    @Query("SELECT p.id, t.id, t.name, t.description, t.color FROM ProblemPost p JOIN p.tags t WHERE p.id IN :ids")
+    List<Object[]> findTagRowsByProblemPostIds(@Param("ids") Collection<UUID> ids);
+
+    @Query("SELECT c.problemPost.id, COUNT(c) FROM ProblemPostComment c WHERE c.problemPost.id IN :ids " +
+            "GROUP BY c.problemPost.id")
+    List<Object[]> countCommentsByProblemPostIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Facet fields of every post as (id, language, difficultyLevel, categoryId), oldest first
+     */
+    @Query("SELECT p.id, p.language, p.difficultyLevel, c.id FROM ProblemPost p LEFT JOIN p.category c " +
+            "ORDER BY p.createdAt ASC, p.id ASC")
+    List<Object[]> findFacetRows();
+
+    /**
+     * Every (postId, tagId) pair
+     */
+    @Query("SELECT p.id, t.id FROM ProblemPost p JOIN p.tags t")
+    List<Object[]> findTagPairs();
+
     @Query("SELECT p FROM ProblemPost p LEFT JOIN FETCH p.category LEFT JOIN FETCH p.tags WHERE p.id = :id")
     ProblemPost findByIdWithCategoryAndTags(@Param("id") UUID id);
 
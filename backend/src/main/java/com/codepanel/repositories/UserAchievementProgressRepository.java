@@ -2,11 +2,16 @@ package com.codepanel.repositories;
 
 import com.codepanel.models.UserAchievementProgress;
 import com.codepanel.models.enums.MetricType;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,9 +20,56 @@ import java.util.UUID;
 public interface UserAchievementProgressRepository extends JpaRepository<UserAchievementProgress, UUID> {
     Optional<UserAchievementProgress> findByUserIdAndMetricType(UUID userId, MetricType metricType);
 
+    /**
+     * Atomically adds to a user's progress for the metric, creating the row on
+     * first use, and returns the new value
+     */
+    @Query(value = "INSERT INTO user_achievement_progress " +
+            "(id, user_id, metric_type, current_value, last_updated, created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), :userId, :metricType, :delta, CURRENT_DATE, now(), now()) " +
+            "ON CONFLICT (user_id, metric_type) DO UPDATE " +
+            "SET current_value = user_achievement_progress.current_value + EXCLUDED.current_value, " +
+            "last_updated = CURRENT_DATE, updated_at = now() " +
+            "RETURNING current_value", nativeQuery = true)
+    Integer incrementAndGet(@Param("userId") UUID userId, @Param("metricType") String metricType,
+            @Param("delta") int delta);
+
     @Query("SELECT uap FROM UserAchievementProgress uap WHERE uap.user.id = :userId")
     List<UserAchievementProgress> findByUserId(@Param("userId") UUID userId);
 
+    /**
+     * Creates the user's row for the metric at zero unless it exists. A row
+     * inserted concurrently makes this wait for that transaction and then do
+     * nothing, instead of failing on the unique constraint.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_achievement_progress " +
+            "(id, user_id, metric_type, current_value, last_updated, created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), :userId, :metricType, 0, CURRENT_DATE, now(), now()) " +
+            "ON CONFLICT (user_id, metric_type) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") UUID userId, @Param("metricType") String metricType);
+
+    /**
+     * The user's progress rows for the metrics, locked until the transaction
+     * ends. Rows are locked in id order so concurrent callers cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT uap FROM UserAchievementProgress uap " +
+            "WHERE uap.user.id = :userId AND uap.metricType IN :metricTypes ORDER BY uap.id")
+    List<UserAchievementProgress> findByUserIdAndMetricTypesForUpdate(@Param("userId") UUID userId,
+            @Param("metricTypes") Collection<MetricType> metricTypes);
+
+    /**
+     * Zeroes streaks of the metric whose last action was before the cutoff day
+     *
+     * @return number of streaks reset
+     */
+    @Modifying
+    @Query("UPDATE UserAchievementProgress uap SET uap.currentValue = 0, uap.lastUpdated = :today " +
+            "WHERE uap.metricType = :metricType AND uap.currentValue > 0 AND uap.lastActionDate < :cutoff")
+    int resetStreaksBefore(@Param("metricType") MetricType metricType, @Param("cutoff") LocalDate cutoff,
+            @Param("today") LocalDate today);
+
     @Query("SELECT uap FROM UserAchievementProgress uap WHERE uap.metricType = :metricType")
     List<UserAchievementProgress> findByMetricType(@Param("metricType") MetricType metricType);
 }
@@ -18,4 +18,10 @@ public interface UserAchievementRepository extends JpaRepository<UserAchievement
     Integer countByUserId(@Param("userId") UUID userId);
 
     boolean existsByUserIdAndAchievementId(UUID userId, UUID achievementId);
+
+    /**
+     * Ids of every achievement the user has earned
+     */
+    @Query("SELECT ua.achievement.id FROM UserAchievement ua WHERE ua.user.id = :userId")
+    List<UUID> findAchievementIdsByUserId(@Param("userId") UUID userId);
 }
@@ -2,12 +2,25 @@ package com.codepanel.repositories;
 
 import com.codepanel.models.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
-}
\ No newline at end of file
+
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * Display fields as (id, firstName, lastName, email, profilePictureUrl) for the given users
+     */
+    @Query("SELECT u.id, u.firstName, u.lastName, u.email, u.profilePictureUrl FROM User u WHERE u.id IN :ids")
+    List<Object[]> findProfileRowsByIdIn(@Param("ids") Collection<UUID> ids);
+}
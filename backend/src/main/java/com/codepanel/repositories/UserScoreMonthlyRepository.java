@@ -0,0 +1,57 @@
+package com.codepanel.repositories;
+
+import com.codepanel.models.UserScoreMonthly;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserScoreMonthlyRepository extends JpaRepository<UserScoreMonthly, UUID> {
+
+    /**
+     * Atomically adds points to a user's monthly score, creating the row on first use
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_score_monthly (id, user_id, month_start, points, created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), :userId, :monthStart, :delta, now(), now()) " +
+            "ON CONFLICT (user_id, month_start) DO UPDATE " +
+            "SET points = user_score_monthly.points + EXCLUDED.points, updated_at = now()", nativeQuery = true)
+    int addPoints(@Param("userId") UUID userId, @Param("monthStart") LocalDate monthStart, @Param("delta") int delta);
+
+    /**
+     * Top of the month as (user, points), highest first
+     */
+    @Query("SELECT m.user, m.points FROM UserScoreMonthly m WHERE m.monthStart = :monthStart ORDER BY m.points DESC")
+    List<Object[]> findTopByMonthStart(@Param("monthStart") LocalDate monthStart, Pageable pageable);
+
+    /**
+     * Every (userId, points) row of the month
+     */
+    @Query("SELECT m.user.id, m.points FROM UserScoreMonthly m WHERE m.monthStart = :monthStart")
+    List<Object[]> findPointsByMonthStart(@Param("monthStart") LocalDate monthStart);
+
+    /**
+     * Rewrites monthly rows that disagree with the sums over score_events. Rows
+     * written after the cutoff are left alone so concurrent increments are not
+     * overwritten with an older snapshot.
+     *
+     * @return number of rows inserted or corrected
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_score_monthly (id, user_id, month_start, points, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), se.user_id, CAST(date_trunc('month', se.created_at) AS date), SUM(se.points), now(), now() " +
+            "FROM score_events se GROUP BY se.user_id, CAST(date_trunc('month', se.created_at) AS date) " +
+            "ON CONFLICT (user_id, month_start) DO UPDATE " +
+            "SET points = EXCLUDED.points, updated_at = now() " +
+            "WHERE user_score_monthly.points <> EXCLUDED.points AND user_score_monthly.updated_at < :cutoff",
+            nativeQuery = true)
+    int reconcile(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -5,11 +5,13 @@ import com.codepanel.models.UserScore;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 @Repository
@@ -18,6 +20,22 @@ public interface UserScoreRepository extends JpaRepository<UserScore, java.util.
 
     Page<UserScore> findByWeekStartOrderByPointsDesc(LocalDate weekStart, Pageable pageable);
 
+    /**
+     * Every (userId, points) row of the week
+     */
+    @Query("SELECT us.user.id, us.points FROM UserScore us WHERE us.weekStart = :weekStart")
+    List<Object[]> findPointsByWeekStart(@Param("weekStart") LocalDate weekStart);
+
+    /**
+     * Atomically adds points to a user's weekly score, creating the row on first use
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_scores (id, user_id, week_start, points, created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), :userId, :weekStart, :delta, now(), now()) " +
+            "ON CONFLICT (user_id, week_start) DO UPDATE " +
+            "SET points = user_scores.points + EXCLUDED.points, updated_at = now()", nativeQuery = true)
+    int addPoints(@Param("userId") UUID userId, @Param("weekStart") LocalDate weekStart, @Param("delta") int delta);
+
     @Query("SELECT SUM(us.points) FROM UserScore us WHERE us.user.id = :userId")
     Integer sumPointsByUserId(@Param("userId") UUID userId);
 }
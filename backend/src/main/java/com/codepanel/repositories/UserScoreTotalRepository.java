@@ -0,0 +1,56 @@
+package com.codepanel.repositories;
+
+import com.codepanel.models.UserScoreTotal;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserScoreTotalRepository extends JpaRepository<UserScoreTotal, UUID> {
+
+    /**
+     * Atomically adds points to a user's all-time score, creating the row on first use
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_score_total (id, user_id, points, created_at, updated_at) " +
+            "VALUES (gen_random_uuid(), :userId, :delta, now(), now()) " +
+            "ON CONFLICT (user_id) DO UPDATE " +
+            "SET points = user_score_total.points + EXCLUDED.points, updated_at = now()", nativeQuery = true)
+    int addPoints(@Param("userId") UUID userId, @Param("delta") int delta);
+
+    /**
+     * All-time top as (user, points), highest first
+     */
+    @Query("SELECT t.user, t.points FROM UserScoreTotal t ORDER BY t.points DESC")
+    List<Object[]> findTop(Pageable pageable);
+
+    /**
+     * Every (userId, points) row
+     */
+    @Query("SELECT t.user.id, t.points FROM UserScoreTotal t")
+    List<Object[]> findAllPoints();
+
+    /**
+     * Rewrites totals that disagree with the sums over score_events. Rows
+     * written after the cutoff are left alone so concurrent increments are not
+     * overwritten with an older snapshot.
+     *
+     * @return number of rows inserted or corrected
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_score_total (id, user_id, points, created_at, updated_at) " +
+            "SELECT gen_random_uuid(), se.user_id, SUM(se.points), now(), now() " +
+            "FROM score_events se GROUP BY se.user_id " +
+            "ON CONFLICT (user_id) DO UPDATE " +
+            "SET points = EXCLUDED.points, updated_at = now() " +
+            "WHERE user_score_total.points <> EXCLUDED.points AND user_score_total.updated_at < :cutoff",
+            nativeQuery = true)
+    int reconcile(@Param("cutoff") LocalDateTime cutoff);
+}
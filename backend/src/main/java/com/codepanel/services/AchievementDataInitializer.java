@@ -14,9 +14,12 @@ import java.util.List;
 @Component
 public class AchievementDataInitializer implements CommandLineRunner {
     private final AchievementRepository achievementRepository;
+    private final AchievementThresholdIndex achievementThresholdIndex;
 
-    public AchievementDataInitializer(AchievementRepository achievementRepository) {
+    public AchievementDataInitializer(AchievementRepository achievementRepository,
+            AchievementThresholdIndex achievementThresholdIndex) {
         this.achievementRepository = achievementRepository;
+        this.achievementThresholdIndex = achievementThresholdIndex;
     }
     
     @Override
@@ -120,6 +123,7 @@ public class AchievementDataInitializer implements CommandLineRunner {
         );
         
         achievementRepository.saveAll(achievements);
+        achievementThresholdIndex.refresh();
         System.out.println("Initialized " + achievements.size() + " achievements");
     }
     
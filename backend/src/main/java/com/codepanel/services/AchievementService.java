@@ -11,28 +11,29 @@ import com.codepanel.models.events.AchievementAwardedEvent;
 import com.codepanel.repositories.AchievementRepository;
 import com.codepanel.repositories.ScoreEventRepository;
 import com.codepanel.repositories.UserAchievementProgressRepository;
-import com.codepanel.repositories.UserScoreRepository;
 import com.codepanel.repositories.UserAchievementRepository;
 import com.codepanel.repositories.UserRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import lombok.extern.slf4j.Slf4j;
 
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
 import com.codepanel.models.ScoreEvent;
-import com.codepanel.models.UserScore;
 import com.codepanel.models.enums.ScoreEventType;
 
 @Service
@@ -43,27 +44,33 @@ public class AchievementService {
     private final UserAchievementRepository userAchievementRepository;
     private final UserAchievementProgressRepository progressRepository;
     private final UserRepository userRepository;
-    private final UserScoreRepository userScoreRepository;
+    private final ScoreRollupService scoreRollupService;
     private final ScoreEventRepository scoreEventRepository;
     private final NotificationEventPublisher notificationEventPublisher;
-    private final ObjectMapper objectMapper;
+    private final LeaderboardCacheService leaderboardCacheService;
+    private final AchievementThresholdIndex achievementThresholdIndex;
+
+    private static final Set<MetricType> STREAK_METRICS = EnumSet.of(MetricType.PROBLEM_POSTING_STREAK,
+            MetricType.ASSIGNMENT_STREAK, MetricType.ACTIVITY_STREAK);
 
     public AchievementService(AchievementRepository achievementRepository,
                              UserAchievementRepository userAchievementRepository,
                              UserAchievementProgressRepository progressRepository,
                              UserRepository userRepository,
-                             UserScoreRepository userScoreRepository,
+                             ScoreRollupService scoreRollupService,
                              ScoreEventRepository scoreEventRepository,
                              NotificationEventPublisher notificationEventPublisher,
-                             ObjectMapper objectMapper) {
+                             LeaderboardCacheService leaderboardCacheService,
+                             AchievementThresholdIndex achievementThresholdIndex) {
         this.achievementRepository = achievementRepository;
         this.userAchievementRepository = userAchievementRepository;
         this.progressRepository = progressRepository;
         this.userRepository = userRepository;
-        this.userScoreRepository = userScoreRepository;
+        this.scoreRollupService = scoreRollupService;
         this.scoreEventRepository = scoreEventRepository;
         this.notificationEventPublisher = notificationEventPublisher;
-        this.objectMapper = objectMapper;
+        this.leaderboardCacheService = leaderboardCacheService;
+        this.achievementThresholdIndex = achievementThresholdIndex;
     }
 
     public void updateProgress(UUID userId, MetricType metricType, Integer newValue) {
@@ -80,25 +87,27 @@ public class AchievementService {
             progress.setCurrentValue(0);
         }
 
+        Integer previousValue = progress.getCurrentValue();
         progress.setCurrentValue(newValue);
         progress.setLastUpdated(LocalDate.now());
         progressRepository.save(progress);
 
         // Check for new achievements
-        checkAndAwardAchievements(user, metricType, newValue);
+        checkAndAwardAchievements(user.getId(), metricType, previousValue, newValue);
     }
 
     public void incrementProgress(UUID userId, MetricType metricType) {
         incrementProgress(userId, metricType, 1);
     }
 
+    /**
+     * Adds to the user's progress in one upsert and checks achievements for
+     * the range the value moved through, so concurrent increments are neither
+     * lost nor double-awarded.
+     */
     public void incrementProgress(UUID userId, MetricType metricType, Integer increment) {
-        UserAchievementProgress progress = progressRepository
-                .findByUserIdAndMetricType(userId, metricType)
-                .orElse(null);
-
-        Integer currentValue = progress != null ? progress.getCurrentValue() : 0;
-        updateProgress(userId, metricType, currentValue + increment);
+        Integer newValue = progressRepository.incrementAndGet(userId, metricType.name(), increment);
+        checkAndAwardAchievements(userId, metricType, newValue - increment, newValue);
     }
 
     public void updateStreakProgress(UUID userId, MetricType metricType, LocalDate actionDate) {
@@ -109,32 +118,81 @@ public class AchievementService {
                 .findByUserIdAndMetricType(userId, metricType)
                 .orElse(new UserAchievementProgress());
 
+        Integer previousValue = progress.getId() != null ? progress.getCurrentValue() : 0;
         if (progress.getId() == null) {
             progress.setUser(user);
             progress.setMetricType(metricType);
-            progress.setCurrentValue(1);
-            progress.setStreakData(createStreakData(actionDate, actionDate));
-        } else {
-            // Calculate new streak
-            LocalDate lastActionDate = getLastActionDate(progress.getStreakData());
-            if (lastActionDate != null && actionDate.equals(lastActionDate.plusDays(1))) {
-                // Continue streak
-                progress.setCurrentValue(progress.getCurrentValue() + 1);
-            } else if (lastActionDate != null && actionDate.equals(lastActionDate)) {
-                // Same day, no change to streak
-                return;
-            } else {
-                // Reset streak
-                progress.setCurrentValue(1);
-            }
-            progress.setStreakData(updateStreakData(progress.getStreakData(), actionDate));
+            progress.setCurrentValue(0);
+        }
+        if (!advanceStreak(progress, actionDate)) {
+            // Same day, no change to streak
+            return;
         }
-
-        progress.setLastUpdated(actionDate);
         progressRepository.save(progress);
 
         // Check for new achievements
-        checkAndAwardAchievements(user, metricType, progress.getCurrentValue());
+        checkAndAwardAchievements(user.getId(), metricType, previousValue, progress.getCurrentValue());
+    }
+
+    /**
+     * Applies every increment and streak update in the plan for one user in a
+     * single transaction, then one award evaluation over all thresholds
+     * crossed. Increments go through the same atomic upsert as
+     * {@link #incrementProgress}; streaks need the previous action date, so
+     * their rows are created if missing, read with a lock and written back in
+     * one batch. Creating them first means the lock covers rows that did not
+     * exist yet.
+     */
+    public void applyProgress(UUID userId, ProgressPlan plan) {
+        List<AchievementThresholdIndex.Threshold> crossed = new ArrayList<>();
+        for (Map.Entry<MetricType, Integer> increment : plan.getIncrements().entrySet()) {
+            MetricType metricType = increment.getKey();
+            int newValue = progressRepository.incrementAndGet(userId, metricType.name(), increment.getValue());
+            crossed.addAll(achievementThresholdIndex.crossed(metricType, newValue - increment.getValue(), newValue));
+        }
+
+        if (!plan.getStreaks().isEmpty()) {
+            for (MetricType metricType : plan.getStreaks()) {
+                progressRepository.insertIfAbsent(userId, metricType.name());
+            }
+            List<UserAchievementProgress> changed = new ArrayList<>();
+            for (UserAchievementProgress progress : progressRepository.findByUserIdAndMetricTypesForUpdate(userId,
+                    plan.getStreaks())) {
+                int previousValue = progress.getCurrentValue();
+                if (advanceStreak(progress, plan.getActionDate())) {
+                    changed.add(progress);
+                    crossed.addAll(achievementThresholdIndex.crossed(progress.getMetricType(), previousValue,
+                            progress.getCurrentValue()));
+                }
+            }
+            progressRepository.saveAll(changed);
+        }
+
+        awardAchievements(userId, crossed);
+    }
+
+    /**
+     * Moves a streak forward to the action date: extended when it follows the
+     * last action day, restarted at 1 otherwise. Returns false when the day
+     * was already counted.
+     */
+    private boolean advanceStreak(UserAchievementProgress progress, LocalDate actionDate) {
+        LocalDate lastActionDate = progress.getLastActionDate();
+        if (lastActionDate != null && actionDate.equals(lastActionDate)) {
+            return false;
+        }
+        if (lastActionDate != null && actionDate.equals(lastActionDate.plusDays(1))
+                && progress.getCurrentValue() > 0) {
+            // Continue streak
+            progress.setCurrentValue(progress.getCurrentValue() + 1);
+        } else {
+            // Reset streak
+            progress.setCurrentValue(1);
+            progress.setFirstActionDate(actionDate);
+        }
+        progress.setLastActionDate(actionDate);
+        progress.setLastUpdated(actionDate);
+        return true;
     }
 
     public void resetStreak(UUID userId, MetricType metricType) {
@@ -145,71 +203,83 @@ public class AchievementService {
             UserAchievementProgress progress = progressOpt.get();
             progress.setCurrentValue(0);
             progress.setLastUpdated(LocalDate.now());
-            progress.setStreakData(null);
+            progress.setFirstActionDate(null);
+            progress.setLastActionDate(null);
             progressRepository.save(progress);
         }
     }
 
+    /**
+     * Zeroes every streak whose last action is older than yesterday, one
+     * set-based UPDATE per streak metric, so event handling never has to
+     * detect broken streaks itself.
+     */
+    @Scheduled(cron = "${app.achievements.streak-sweep-cron:0 5 0 * * *}")
+    public void sweepBrokenStreaks() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        for (MetricType metricType : STREAK_METRICS) {
+            int reset = progressRepository.resetStreaksBefore(metricType, yesterday, LocalDate.now());
+            if (reset > 0) {
+                log.info("Reset {} broken {} streaks", reset, metricType);
+            }
+        }
+    }
+
     @Transactional
-    private void checkAndAwardAchievements(User user, MetricType metricType, Integer currentValue) {
-        System.out.println("Checking and awarding achievements for user: " + user.getEmail() + " with metric type: " + metricType + " and current value: " + currentValue);
-        List<Achievement> eligibleAchievements = achievementRepository
-                .findEligibleAchievements(metricType, currentValue);
-        System.out.println("Eligible achievements: " + eligibleAchievements.size());
+    private void checkAndAwardAchievements(UUID userId, MetricType metricType, Integer previousValue,
+            Integer currentValue) {
+        log.debug("Checking achievements for user {} on {} at {}", userId, metricType, currentValue);
+        awardAchievements(userId, achievementThresholdIndex.crossed(metricType,
+                previousValue != null ? previousValue : 0, currentValue));
+    }
+
+    private void awardAchievements(UUID userId, List<AchievementThresholdIndex.Threshold> crossed) {
+        if (crossed.isEmpty()) {
+            return;
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        log.debug("User {} crossed {} achievement thresholds", userId, crossed.size());
 
-        for (Achievement achievement : eligibleAchievements) {
+        Set<UUID> earned = new HashSet<>(userAchievementRepository.findAchievementIdsByUserId(user.getId()));
+        for (AchievementThresholdIndex.Threshold achievement : crossed) {
             // Check if user already has this achievement
-            if (!userAchievementRepository.existsByUserIdAndAchievementId(user.getId(), achievement.getId())) {
+            if (!earned.contains(achievement.getAchievementId())) {
                 // Award the achievement
                 UserAchievement userAchievement = new UserAchievement();
                 userAchievement.setUser(user);
-                userAchievement.setAchievement(achievement);
+                userAchievement.setAchievement(achievementRepository.getReferenceById(achievement.getAchievementId()));
                 userAchievementRepository.save(userAchievement);
 
-                System.out.println("Achievement awarded: " + achievement.getName() + " to user " + user.getUsername());
+                log.debug("Awarded achievement {} to user {}", achievement.getName(), userId);
 
                 // Send notification about new achievement
-                try {
-                    System.out.println("Publishing achievement awarded event for achievement: " + achievement.getName());
-                    System.out.println("NotificationEventPublisher is null: " + (notificationEventPublisher == null));
-                    
-                    AchievementAwardedEvent event = AchievementAwardedEvent.builder()
-                            .achievementId(achievement.getId())
-                            .achievementName(achievement.getName())
-                            .achievementDescription(achievement.getDescription())
-                            .userId(user.getId())
-                            .userName(user.getFirstName() + " " + user.getLastName())
-                            .pointsReward(achievement.getPointsReward())
-                            .awardedAt(LocalDateTime.now())
-                            .build();
-
-                    System.out.println("Built event: " + event);
-                    notificationEventPublisher.publishAchievementAwarded(event);
-                    System.out.println("Successfully published achievement awarded event for user: " + user.getEmail());
-                } catch (Exception e) {
-                    System.out.println("Failed to publish achievement awarded event: " + e.getMessage());
-                    e.printStackTrace();
-                }
+                AchievementAwardedEvent event = AchievementAwardedEvent.builder()
+                        .achievementId(achievement.getAchievementId())
+                        .achievementName(achievement.getName())
+                        .achievementDescription(achievement.getDescription())
+                        .userId(user.getId())
+                        .userName(user.getFirstName() + " " + user.getLastName())
+                        .pointsReward(achievement.getPointsReward())
+                        .awardedAt(LocalDateTime.now())
+                        .build();
+
+                notificationEventPublisher.publishAchievementAwarded(event);
                 
                 LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
-                UserScore score = userScoreRepository.findByUserAndWeekStart(user, weekStart);
-                if (score == null) {
-                    score = new UserScore();
-                    score.setUser(user);
-                    score.setWeekStart(weekStart);
-                    score.setPoints(0);
-                }
-                score.setPoints(score.getPoints() + achievement.getPointsReward());
-
-                userScoreRepository.save(score);
+                YearMonth month = YearMonth.now();
+                scoreRollupService.addPoints(user.getId(), weekStart, month, achievement.getPointsReward());
 
                 ScoreEvent scoreEvent = new ScoreEvent();
                 scoreEvent.setUser(user);
                 scoreEvent.setEventType(ScoreEventType.ACHIEVEMENT_AWARDED);
                 scoreEvent.setPoints(achievement.getPointsReward());
                 scoreEvent.setRefType("ACHIEVEMENT_AWARDED");
-                scoreEvent.setRefId(achievement.getId());
+                scoreEvent.setRefId(achievement.getAchievementId());
                 scoreEventRepository.save(scoreEvent);
+
+                Map<String, Integer> delta = Map.of(user.getId().toString(), achievement.getPointsReward());
+                AfterCommit.run(() -> leaderboardCacheService.incrementAll(delta, weekStart, month));
             }
         }
     }
@@ -229,29 +299,6 @@ public class AchievementService {
         return achievementRepository.findAll();
     }
 
-    private JsonNode createStreakData(LocalDate firstDate, LocalDate lastDate) {
-        ObjectNode streakData = objectMapper.createObjectNode();
-        streakData.put("firstActionDate", firstDate.toString());
-        streakData.put("lastActionDate", lastDate.toString());
-        return streakData;
-    }
-
-    private JsonNode updateStreakData(JsonNode existingData, LocalDate newActionDate) {
-        ObjectNode streakData = (ObjectNode) existingData;
-        if (streakData == null) {
-            return createStreakData(newActionDate, newActionDate);
-        }
-        streakData.put("lastActionDate", newActionDate.toString());
-        return streakData;
-    }
-
-    private LocalDate getLastActionDate(JsonNode streakData) {
-        if (streakData == null || !streakData.has("lastActionDate")) {
-            return null;
-        }
-        return LocalDate.parse(streakData.get("lastActionDate").asText());
-    }
-
     /**
      * Get all achievements with user's progress and earned status
      * This combines all achievements with the user's progress and earned achievements
@@ -0,0 +1,109 @@
+package com.codepanel.services;
+
+import com.codepanel.models.Achievement;
+import com.codepanel.models.enums.MetricType;
+import com.codepanel.repositories.AchievementRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Achievement thresholds per {@link MetricType}, sorted by target value.
+ * Achievements are seed data, so the table is loaded once and swapped
+ * wholesale on {@link #refresh()}; progress updates then find the thresholds
+ * they crossed with a binary search instead of a query.
+ */
+@Service
+@Slf4j
+public class AchievementThresholdIndex {
+    private final AchievementRepository achievementRepository;
+    private volatile Map<MetricType, Threshold[]> thresholds;
+
+    public AchievementThresholdIndex(AchievementRepository achievementRepository) {
+        this.achievementRepository = achievementRepository;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Threshold {
+        private final UUID achievementId;
+        private final String name;
+        private final String description;
+        private final int targetValue;
+        private final int pointsReward;
+    }
+
+    /**
+     * Reloads every achievement. Call after achievements are created or changed.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refresh() {
+        Map<MetricType, List<Threshold>> byMetric = new EnumMap<>(MetricType.class);
+        for (Achievement achievement : achievementRepository.findAll()) {
+            if (achievement.getMetricType() == null || achievement.getTargetValue() == null) {
+                continue;
+            }
+            byMetric.computeIfAbsent(achievement.getMetricType(), metric -> new ArrayList<>())
+                    .add(new Threshold(achievement.getId(), achievement.getName(), achievement.getDescription(),
+                            achievement.getTargetValue(),
+                            achievement.getPointsReward() != null ? achievement.getPointsReward() : 0));
+        }
+
+        Map<MetricType, Threshold[]> loaded = new EnumMap<>(MetricType.class);
+        byMetric.forEach((metric, list) -> loaded.put(metric, list.stream()
+                .sorted(Comparator.comparingInt(Threshold::getTargetValue))
+                .toArray(Threshold[]::new)));
+        thresholds = loaded;
+        log.info("Loaded achievement thresholds for {} metrics", loaded.size());
+    }
+
+    /**
+     * Thresholds with oldValue < target <= newValue, lowest first
+     */
+    public List<Threshold> crossed(MetricType metricType, int oldValue, int newValue) {
+        if (newValue <= oldValue) {
+            return List.of();
+        }
+        Map<MetricType, Threshold[]> current = thresholds;
+        if (current == null) {
+            refresh();
+            current = thresholds;
+        }
+        Threshold[] table = current.get(metricType);
+        if (table == null) {
+            return List.of();
+        }
+        List<Threshold> crossed = new ArrayList<>();
+        for (int i = firstAbove(table, oldValue); i < table.length && table[i].targetValue <= newValue; i++) {
+            crossed.add(table[i]);
+        }
+        return crossed;
+    }
+
+    /**
+     * Index of the first threshold with target > value, or table.length
+     */
+    static int firstAbove(Threshold[] table, int value) {
+        int low = 0;
+        int high = table.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (table[mid].targetValue <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
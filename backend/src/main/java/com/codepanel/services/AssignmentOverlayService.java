@@ -0,0 +1,53 @@
+package com.codepanel.services;
+
+import com.codepanel.models.dto.AssignmentSubmissionOverlay;
+import com.codepanel.models.enums.SubmissionStatus;
+import com.codepanel.repositories.AssignmentSubmissionRepository;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Per-user submission state for assignments, cached separately from the
+ * shared assignment pages so a submission only invalidates its author's entry.
+ */
+@Service
+public class AssignmentOverlayService {
+    private static final String CACHE_NAME = "assignmentOverlayByUser";
+
+    private final AssignmentSubmissionRepository submissionRepository;
+    private final CacheManager cacheManager;
+
+    public AssignmentOverlayService(AssignmentSubmissionRepository submissionRepository, CacheManager cacheManager) {
+        this.submissionRepository = submissionRepository;
+        this.cacheManager = cacheManager;
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CACHE_NAME, key = "#userId")
+    public AssignmentSubmissionOverlay getOverlay(UUID userId) {
+        AssignmentSubmissionOverlay overlay = new AssignmentSubmissionOverlay();
+        for (Object[] row : submissionRepository.findSubmissionSummariesByStudentId(userId)) {
+            overlay.getSubmissions().put((UUID) row[0], new AssignmentSubmissionOverlay.SubmissionSummary(
+                    (UUID) row[1], (SubmissionStatus) row[2], (Integer) row[3], (LocalDateTime) row[4]));
+        }
+        return overlay;
+    }
+
+    /**
+     * Evicts once the caller's transaction commits, so a concurrent read cannot re-cache the pre-commit state
+     */
+    public void evictOverlay(UUID userId) {
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.evict(userId);
+            }
+        });
+    }
+}
@@ -7,9 +7,13 @@ import com.codepanel.models.SubmissionReview;
 import com.codepanel.models.Tag;
 import com.codepanel.models.User;
 import com.codepanel.models.dto.AssignmentResponse;
+import com.codepanel.models.dto.AssignmentSubmissionOverlay;
 import com.codepanel.models.dto.AssignmentSubmissionResponse;
 import com.codepanel.models.dto.CategoryResponse;
 import com.codepanel.models.dto.CreateAssignmentRequest;
+import com.codepanel.models.dto.CursorPage;
+import com.codepanel.models.dto.FacetCountsResponse;
+import com.codepanel.models.dto.PageCursor;
 import com.codepanel.models.dto.AssignmentsPageSlice;
 import com.codepanel.models.dto.TagResponse;
 import com.codepanel.models.dto.CreateReviewRequest;
@@ -24,6 +28,7 @@ import com.codepanel.models.events.AssignmentSubmittedEvent;
 import com.codepanel.models.dto.GamificationEvent;
 import com.codepanel.repositories.AssignmentRepository;
 import com.codepanel.repositories.AssignmentSubmissionRepository;
+import com.codepanel.repositories.AssignmentSubmissionRepository.SubmissionListRow;
 import com.codepanel.repositories.CategoryRepository;
 import com.codepanel.repositories.SubmissionReviewRepository;
 import com.codepanel.repositories.TagRepository;
@@ -32,6 +37,8 @@ import com.codepanel.models.enums.ScoreEventType;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
@@ -40,8 +47,10 @@ import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -58,6 +67,9 @@ public class AssignmentService {
     private final TagRepository tagRepository;
     private final NotificationEventPublisher notificationEventPublisher;
     private final GamificationEventPublisher gamificationEventPublisher;
+    private final AssignmentOverlayService assignmentOverlayService;
+    private final SearchService searchService;
+    private final FacetIndexService facetIndexService;
 
     public AssignmentService(AssignmentRepository assignmentRepository,
             AssignmentSubmissionRepository submissionRepository,
@@ -65,7 +77,10 @@ public class AssignmentService {
             CategoryRepository categoryRepository,
             TagRepository tagRepository,
             NotificationEventPublisher notificationEventPublisher,
-            GamificationEventPublisher gamificationEventPublisher) {
+            GamificationEventPublisher gamificationEventPublisher,
+            AssignmentOverlayService assignmentOverlayService,
+            SearchService searchService,
+            FacetIndexService facetIndexService) {
         this.assignmentRepository = assignmentRepository;
         this.submissionRepository = submissionRepository;
         this.reviewRepository = reviewRepository;
@@ -73,6 +88,9 @@ public class AssignmentService {
         this.tagRepository = tagRepository;
         this.notificationEventPublisher = notificationEventPublisher;
         this.gamificationEventPublisher = gamificationEventPublisher;
+        this.assignmentOverlayService = assignmentOverlayService;
+        this.searchService = searchService;
+        this.facetIndexService = facetIndexService;
     }
 
     @Transactional
@@ -109,19 +127,42 @@ public class AssignmentService {
         }
 
         Assignment savedAssignment = assignmentRepository.save(assignment);
+        facetIndexService.indexAssignment(savedAssignment);
 
         return mapToAssignmentResponse(savedAssignment, null);
     }
 
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = "assignmentsByPage", key = "T(String).format('%d:%d:%s', #pageable.pageNumber, #pageable.pageSize, #pageable.sort)")
-    public AssignmentsPageSlice getAllAssignments(Pageable pageable, User currentUser) {
+    public AssignmentsPageSlice getAllAssignments(Pageable pageable) {
         Page<Assignment> assignments = assignmentRepository.findByIsActiveTrueOrderByDueDateAsc(pageable);
-        List<AssignmentResponse> content = assignments
-                .map(assignment -> mapToAssignmentResponse(assignment, currentUser)).getContent();
+        List<AssignmentResponse> content = mapToAssignmentResponses(assignments.getContent(), null);
         return new AssignmentsPageSlice(content, assignments.getTotalElements());
     }
 
+    /**
+     * Keyset-paginated feed of active assignments ordered by due date (undated
+     * last), then id. No total count is computed.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<AssignmentResponse> getAssignmentFeed(String cursor, int size, User currentUser) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = CursorPage.clampSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+
+        List<PageCursor> keys;
+        if (after == null) {
+            keys = assignmentRepository.findFeedKeys(limit);
+        } else if (after.getSortKey() == null) {
+            keys = assignmentRepository.findUndatedFeedKeysAfter(after.getId(), limit);
+        } else {
+            keys = assignmentRepository.findFeedKeysAfter(after.getSortKey(), after.getId(), limit);
+        }
+
+        return CursorPage.ofKeys(keys, pageSize,
+                ids -> mapToAssignmentResponses(assignmentRepository.findAllWithRelationsInOrder(ids), currentUser));
+    }
+
     @Transactional(readOnly = true)
     public Page<AssignmentResponse> getMyAssignments(User instructor, Pageable pageable) {
         if (instructor.getRole() != Role.INSTRUCTOR && instructor.getRole() != Role.ADMIN) {
@@ -129,7 +170,8 @@ public class AssignmentService {
         }
 
         Page<Assignment> assignments = assignmentRepository.findByInstructorOrderByCreatedAtDesc(instructor, pageable);
-        return assignments.map(assignment -> mapToAssignmentResponse(assignment, instructor));
+        return new PageImpl<>(mapToAssignmentResponses(assignments.getContent(), instructor),
+                assignments.getPageable(), assignments.getTotalElements());
     }
 
     @Transactional(readOnly = true)
@@ -137,24 +179,51 @@ public class AssignmentService {
             DifficultyLevel difficulty, UUID categoryId,
             List<UUID> tagIds, Pageable pageable, User currentUser) {
         try {
-            Page<Assignment> assignments = assignmentRepository.searchAssignments(
+            Page<UUID> ids = searchService.searchAssignmentIds(
                     query, language, difficulty, categoryId, tagIds, pageable);
-            System.out.println("Assignments: " + assignments.getSize());
-            return assignments.map(assignment -> mapToAssignmentResponse(assignment, currentUser));
+            List<Assignment> assignments = assignmentRepository.findAllWithRelationsInOrder(ids.getContent());
+            System.out.println("Assignments: " + assignments.size());
+            return new PageImpl<>(mapToAssignmentResponses(assignments, currentUser),
+                    pageable, ids.getTotalElements());
         } catch (Exception e) {
             e.printStackTrace();
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Error searching assignments");
         }
     }
 
+    public FacetCountsResponse getFacetCounts(ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds) {
+        return facetIndexService.assignmentFacets(language, difficulty, categoryId, tagIds);
+    }
+
     @Transactional(readOnly = true)
     @Cacheable(cacheNames = "assignmentById", key = "#assignmentId")
-    public AssignmentResponse getAssignmentById(UUID assignmentId, User currentUser) {
+    public AssignmentResponse getAssignmentById(UUID assignmentId) {
         Assignment assignment = assignmentRepository.findByIdWithInstructor(assignmentId);
         if (assignment == null) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Assignment not found");
         }
-        return mapToAssignmentResponse(assignment, currentUser);
+        return mapToAssignmentResponse(assignment, null);
+    }
+
+    /**
+     * Merges the user's cached submission overlay into shared (user-independent)
+     * assignment responses. Returns copies so cached instances are never mutated.
+     */
+    public List<AssignmentResponse> applySubmissionOverlay(List<AssignmentResponse> assignments, User currentUser) {
+        if (currentUser == null || assignments.isEmpty()) {
+            return assignments;
+        }
+
+        AssignmentSubmissionOverlay overlay = assignmentOverlayService.getOverlay(currentUser.getId());
+        return assignments.stream()
+                .map(assignment -> withSubmission(assignment,
+                        overlay.getSubmissions().get(assignment.getId()), currentUser))
+                .collect(Collectors.toList());
+    }
+
+    public AssignmentResponse applySubmissionOverlay(AssignmentResponse assignment, User currentUser) {
+        return applySubmissionOverlay(List.of(assignment), currentUser).get(0);
     }
 
     @Transactional
@@ -200,6 +269,7 @@ public class AssignmentService {
         }
 
         Assignment updatedAssignment = assignmentRepository.save(assignment);
+        facetIndexService.indexAssignment(updatedAssignment);
         return mapToAssignmentResponse(updatedAssignment, currentUser);
     }
 
@@ -219,13 +289,11 @@ public class AssignmentService {
         }
 
         assignmentRepository.delete(assignment);
+        facetIndexService.removeAssignment(assignmentId);
     }
 
     @Transactional
-    @Caching(evict = {
-            @CacheEvict(cacheNames = "assignmentById", key = "#assignmentId"),
-            @CacheEvict(cacheNames = "assignmentsByPage", allEntries = true)
-    })
+    @CacheEvict(cacheNames = "assignmentById", key = "#assignmentId")
     public AssignmentSubmissionResponse submitAssignment(UUID assignmentId, CreateSubmissionRequest request,
             User student) {
         Assignment assignment = assignmentRepository.findByIdWithInstructor(assignmentId);
@@ -255,24 +323,21 @@ public class AssignmentService {
         submission.setStatus(SubmissionStatus.PENDING_REVIEW);
 
         AssignmentSubmission savedSubmission = submissionRepository.save(submission);
+        assignmentOverlayService.evictOverlay(student.getId());
 
         // Publish assignment submitted event for notifications
-        try {
-            AssignmentSubmittedEvent event = AssignmentSubmittedEvent.builder()
-                    .submissionId(savedSubmission.getId())
-                    .assignmentId(assignment.getId())
-                    .assignmentTitle(assignment.getTitle())
-                    .studentId(student.getId())
-                    .studentName(student.getFirstName() + " " + student.getLastName())
-                    .instructorId(assignment.getInstructor().getId())
-                    .instructorName(assignment.getInstructor().getFirstName() + " " + assignment.getInstructor().getLastName())
-                    .submittedAt(savedSubmission.getCreatedAt())
-                    .build();
-
-            notificationEventPublisher.publishAssignmentSubmitted(event);
-        } catch (Exception e) {
-            System.out.println("Failed to publish assignment submitted event: " + e.getMessage());
-        }
+        AssignmentSubmittedEvent event = AssignmentSubmittedEvent.builder()
+                .submissionId(savedSubmission.getId())
+                .assignmentId(assignment.getId())
+                .assignmentTitle(assignment.getTitle())
+                .studentId(student.getId())
+                .studentName(student.getFirstName() + " " + student.getLastName())
+                .instructorId(assignment.getInstructor().getId())
+                .instructorName(assignment.getInstructor().getFirstName() + " " + assignment.getInstructor().getLastName())
+                .submittedAt(savedSubmission.getCreatedAt())
+                .build();
+
+        notificationEventPublisher.publishAssignmentSubmitted(event);
 
         return mapToSubmissionResponse(savedSubmission);
     }
@@ -291,16 +356,14 @@ public class AssignmentService {
                     "You can only view submissions for your assignments");
         }
 
-        Page<AssignmentSubmission> submissions = submissionRepository.findByAssignmentOrderByCreatedAtDesc(assignment,
-                pageable);
-        return submissions.map(this::mapToSubmissionResponse);
+        return submissionRepository.findListRowsByAssignmentId(assignment.getId(), pageable)
+                .map(this::mapToSubmissionListResponse);
     }
 
     @Transactional(readOnly = true)
     public Page<AssignmentSubmissionResponse> getMySubmissions(User student, Pageable pageable) {
-        Page<AssignmentSubmission> submissions = submissionRepository.findByStudentOrderByCreatedAtDesc(student,
-                pageable);
-        return submissions.map(this::mapToSubmissionResponse);
+        return submissionRepository.findListRowsByStudentId(student.getId(), pageable)
+                .map(this::mapToSubmissionListResponse);
     }
 
     @Transactional(readOnly = true)
@@ -356,53 +419,47 @@ public class AssignmentService {
         }
         System.out.println("Submission saved");
 
-        try {
-            var difficulty = submission.getAssignment().getDifficultyLevel();
-            gamificationEventPublisher.publish(
-                    ScoreEventType.REVIEW_APPROVED,
-                    GamificationEvent.builder()
-                            .eventType(ScoreEventType.REVIEW_APPROVED)
-                            .userId(reviewer.getId())
-                            .difficulty(difficulty)
-                            .refType("REVIEW")
-                            .refId(review.getId())
-                            .build());
-            System.out.println("Gamification event published");
-            gamificationEventPublisher.publish(
-                    ScoreEventType.SUBMISSION_ACCEPTED,
-                    GamificationEvent.builder()
-                            .eventType(ScoreEventType.SUBMISSION_ACCEPTED)
-                            .userId(submission.getStudent().getId())
-                            .difficulty(difficulty)
-                            .refType("SUBMISSION")
-                            .refId(submission.getId())
-                            .build());
-            System.out.println("Gamification event published");
-        } catch (Exception ignored) {
-            System.out.println("Error publishing gamification events: " + ignored.getMessage());
-        }
+        assignmentOverlayService.evictOverlay(submission.getStudent().getId());
+
+        var difficulty = submission.getAssignment().getDifficultyLevel();
+        gamificationEventPublisher.publish(
+                ScoreEventType.REVIEW_APPROVED,
+                GamificationEvent.builder()
+                        .eventType(ScoreEventType.REVIEW_APPROVED)
+                        .userId(reviewer.getId())
+                        .difficulty(difficulty)
+                        .refType("REVIEW")
+                        .refId(review.getId())
+                        .build());
+        System.out.println("Gamification event published");
+        gamificationEventPublisher.publish(
+                ScoreEventType.SUBMISSION_ACCEPTED,
+                GamificationEvent.builder()
+                        .eventType(ScoreEventType.SUBMISSION_ACCEPTED)
+                        .userId(submission.getStudent().getId())
+                        .difficulty(difficulty)
+                        .refType("SUBMISSION")
+                        .refId(submission.getId())
+                        .build());
+        System.out.println("Gamification event published");
 
         // Publish assignment graded event
-        try {
-            AssignmentGradedEvent event = AssignmentGradedEvent.builder()
-                    .submissionId(submission.getId())
-                    .assignmentId(submission.getAssignment().getId())
-                    .assignmentTitle(submission.getAssignment().getTitle())
-                    .studentId(submission.getStudent().getId())
-                    .studentName(submission.getStudent().getFirstName() + " " + submission.getStudent().getLastName())
-                    .reviewerId(reviewer.getId())
-                    .reviewerName(reviewer.getFirstName() + " " + reviewer.getLastName())
-                    .score(request.getScore())
-                    .comment(request.getComment())
-                    .gradedAt(LocalDateTime.now())
-                    .build();
-
-            System.out.println("Assignment graded event published");
-
-            notificationEventPublisher.publishAssignmentGraded(event);
-        } catch (Exception e) {
-            System.out.println("Failed to publish assignment graded event: " + e.getMessage());
-        }
+        AssignmentGradedEvent event = AssignmentGradedEvent.builder()
+                .submissionId(submission.getId())
+                .assignmentId(submission.getAssignment().getId())
+                .assignmentTitle(submission.getAssignment().getTitle())
+                .studentId(submission.getStudent().getId())
+                .studentName(submission.getStudent().getFirstName() + " " + submission.getStudent().getLastName())
+                .reviewerId(reviewer.getId())
+                .reviewerName(reviewer.getFirstName() + " " + reviewer.getLastName())
+                .score(request.getScore())
+                .comment(request.getComment())
+                .gradedAt(LocalDateTime.now())
+                .build();
+
+        System.out.println("Assignment graded event published");
+
+        notificationEventPublisher.publishAssignmentGraded(event);
 
         System.out.println("Notification event published");
 
@@ -415,31 +472,58 @@ public class AssignmentService {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Only instructors can view pending reviews");
         }
 
-        Page<AssignmentSubmission> submissions = submissionRepository
-                .findPendingReviewsByInstructorId(instructor.getId(), pageable);
-        return submissions.map(this::mapToSubmissionResponse);
+        return submissionRepository.findPendingReviewListRowsByInstructorId(instructor.getId(), pageable)
+                .map(this::mapToSubmissionListResponse);
     }
 
     private AssignmentResponse mapToAssignmentResponse(Assignment assignment, User currentUser) {
+        return mapToAssignmentResponses(List.of(assignment), currentUser).get(0);
+    }
+
+    /**
+     * Maps a page of assignments in bulk: submission counts and the current
+     * user's submissions are loaded with one query each for the whole page
+     * instead of once per assignment.
+     */
+    private List<AssignmentResponse> mapToAssignmentResponses(List<Assignment> assignments, User currentUser) {
+        if (assignments.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        List<UUID> assignmentIds = assignments.stream()
+                .map(Assignment::getId)
+                .collect(Collectors.toList());
+
+        Map<UUID, Long> submissionCounts = new HashMap<>();
+        for (Object[] row : assignmentRepository.countSubmissionsByAssignmentIds(assignmentIds)) {
+            submissionCounts.put((UUID) row[0], (Long) row[1]);
+        }
+
+        Map<UUID, AssignmentSubmission> mySubmissions = new HashMap<>();
+        if (currentUser != null) {
+            for (AssignmentSubmission submission : submissionRepository
+                    .findByStudentIdAndAssignmentIdsWithDetails(currentUser.getId(), assignmentIds)) {
+                mySubmissions.put(submission.getAssignment().getId(), submission);
+            }
+        }
+
+        return assignments.stream()
+                .map(assignment -> buildAssignmentResponse(assignment,
+                        submissionCounts.getOrDefault(assignment.getId(), 0L),
+                        mySubmissions.get(assignment.getId())))
+                .collect(Collectors.toList());
+    }
+
+    private AssignmentResponse buildAssignmentResponse(Assignment assignment, Long submissionCount,
+            AssignmentSubmission submission) {
         AssignmentResponse.UserInfo instructorInfo = new AssignmentResponse.UserInfo();
         instructorInfo.setId(assignment.getInstructor().getId());
         instructorInfo.setFirstName(assignment.getInstructor().getFirstName());
         instructorInfo.setLastName(assignment.getInstructor().getLastName());
         instructorInfo.setEmail(assignment.getInstructor().getEmail());
 
-        Long submissionCount = assignmentRepository.countSubmissionsByAssignmentId(assignment.getId());
-        Boolean hasSubmitted = currentUser != null
-                ? assignmentRepository.hasUserSubmitted(assignment.getId(), currentUser.getId())
-                : false;
-
-        AssignmentSubmissionResponse mySubmission = null;
-        if (currentUser != null && hasSubmitted) {
-            Optional<AssignmentSubmission> submission = submissionRepository.findByAssignmentAndStudent(assignment,
-                    currentUser);
-            if (submission.isPresent()) {
-                mySubmission = mapToSubmissionResponse(submission.get());
-            }
-        }
+        Boolean hasSubmitted = submission != null;
+        AssignmentSubmissionResponse mySubmission = submission != null ? mapToSubmissionResponse(submission) : null;
 
         AssignmentResponse response = new AssignmentResponse();
         response.setId(assignment.getId());
@@ -484,6 +568,52 @@ public class AssignmentService {
         return response;
     }
 
+    private AssignmentResponse withSubmission(AssignmentResponse source,
+            AssignmentSubmissionOverlay.SubmissionSummary summary, User currentUser) {
+        AssignmentResponse response = new AssignmentResponse();
+        response.setId(source.getId());
+        response.setTitle(source.getTitle());
+        response.setDescription(source.getDescription());
+        response.setLanguage(source.getLanguage());
+        response.setDifficultyLevel(source.getDifficultyLevel());
+        response.setCategory(source.getCategory());
+        response.setTags(source.getTags());
+        response.setInstructor(source.getInstructor());
+        response.setDueDate(source.getDueDate());
+        response.setIsActive(source.getIsActive());
+        response.setCreatedAt(source.getCreatedAt());
+        response.setUpdatedAt(source.getUpdatedAt());
+        response.setSubmissionCount(source.getSubmissionCount());
+        response.setHasSubmitted(summary != null);
+
+        if (summary != null) {
+            AssignmentSubmissionResponse.UserInfo studentInfo = new AssignmentSubmissionResponse.UserInfo();
+            studentInfo.setId(currentUser.getId());
+            studentInfo.setFirstName(currentUser.getFirstName());
+            studentInfo.setLastName(currentUser.getLastName());
+            studentInfo.setEmail(currentUser.getEmail());
+
+            AssignmentSubmissionResponse.AssignmentInfo assignmentInfo = new AssignmentSubmissionResponse.AssignmentInfo();
+            assignmentInfo.setId(source.getId());
+            assignmentInfo.setTitle(source.getTitle());
+            assignmentInfo.setLanguage(source.getLanguage());
+            assignmentInfo.setDueDate(source.getDueDate());
+            assignmentInfo.setIsActive(source.getIsActive());
+
+            AssignmentSubmissionResponse mySubmission = new AssignmentSubmissionResponse();
+            mySubmission.setId(summary.getSubmissionId());
+            mySubmission.setAssignment(assignmentInfo);
+            mySubmission.setStatus(summary.getStatus());
+            mySubmission.setGrade(summary.getGrade());
+            mySubmission.setStudent(studentInfo);
+            mySubmission.setCreatedAt(summary.getSubmittedAt());
+            mySubmission.setSubmittedAt(summary.getSubmittedAt());
+            response.setMySubmission(mySubmission);
+        }
+
+        return response;
+    }
+
     private AssignmentSubmissionResponse mapToSubmissionResponse(AssignmentSubmission submission) {
         AssignmentSubmissionResponse.UserInfo studentInfo = new AssignmentSubmissionResponse.UserInfo();
         studentInfo.setId(submission.getStudent().getId());
@@ -540,4 +670,40 @@ public class AssignmentService {
 
         return response;
     }
+
+    /**
+     * List view of a submission: same shape as the detail response, minus the code
+     */
+    private AssignmentSubmissionResponse mapToSubmissionListResponse(SubmissionListRow row) {
+        AssignmentSubmissionResponse.AssignmentInfo assignmentInfo = new AssignmentSubmissionResponse.AssignmentInfo(
+                row.getAssignmentId(), row.getAssignmentTitle(), row.getAssignmentDescription(),
+                row.getAssignmentLanguage(),
+                new AssignmentSubmissionResponse.UserInfo(row.getInstructorId(), row.getInstructorFirstName(),
+                        row.getInstructorLastName(), row.getInstructorEmail()),
+                row.getAssignmentDueDate(), row.getAssignmentIsActive(), row.getAssignmentCreatedAt(),
+                row.getAssignmentUpdatedAt());
+
+        AssignmentSubmissionResponse.SubmissionReviewResponse reviewResponse = null;
+        if (row.getReviewId() != null) {
+            reviewResponse = new AssignmentSubmissionResponse.SubmissionReviewResponse(row.getReviewId(),
+                    row.getReviewComment(), row.getReviewScore(),
+                    new AssignmentSubmissionResponse.UserInfo(row.getReviewerId(), row.getReviewerFirstName(),
+                            row.getReviewerLastName(), row.getReviewerEmail()),
+                    row.getReviewCreatedAt(), row.getReviewUpdatedAt());
+        }
+
+        AssignmentSubmissionResponse response = new AssignmentSubmissionResponse();
+        response.setId(row.getId());
+        response.setAssignment(assignmentInfo);
+        response.setStatus(row.getStatus());
+        response.setGrade(row.getGrade());
+        response.setStudent(new AssignmentSubmissionResponse.UserInfo(row.getStudentId(), row.getStudentFirstName(),
+                row.getStudentLastName(), row.getStudentEmail()));
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUpdatedAt(row.getUpdatedAt());
+        response.setSubmittedAt(row.getCreatedAt());
+        response.setReview(reviewResponse);
+
+        return response;
+    }
 }
@@ -6,6 +6,8 @@ import com.codepanel.models.ProblemPostComment;
 import com.codepanel.models.User;
 import com.codepanel.models.dto.CommentResponse;
 import com.codepanel.models.dto.CreateCommentRequest;
+import com.codepanel.models.dto.CursorPage;
+import com.codepanel.models.dto.PageCursor;
 import com.codepanel.models.dto.UpdateCommentRequest;
 import com.codepanel.models.dto.GamificationEvent;
 import com.codepanel.models.enums.ReactionType;
@@ -16,14 +18,17 @@ import com.codepanel.repositories.CommentReactionRepository;
 import com.codepanel.repositories.ProblemPostCommentRepository;
 import com.codepanel.repositories.ProblemPostRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 public class CommentService {
@@ -46,6 +51,7 @@ public class CommentService {
         this.gamificationEventPublisher = gamificationEventPublisher;
     }
 
+    @Transactional
     public CommentResponse createComment(UUID problemPostId, CreateCommentRequest request, User currentUser) {
         ProblemPost problemPost = problemPostRepository.findById(problemPostId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Problem post not found"));
@@ -61,37 +67,29 @@ public class CommentService {
         ProblemPostComment savedComment = commentRepository.save(comment);
 
         // Publish comment created event for notifications
-        try {
-            CommentCreatedEvent event = CommentCreatedEvent.builder()
-                    .commentId(savedComment.getId())
-                    .problemPostId(problemPost.getId())
-                    .problemPostTitle(problemPost.getTitle())
-                    .commentAuthorId(currentUser.getId())
-                    .commentAuthorName(currentUser.getFirstName() + " " + currentUser.getLastName())
-                    .postAuthorId(problemPost.getUser().getId())
-                    .commentContent(savedComment.getComment())
-                    .createdAt(savedComment.getCreatedAt())
-                    .build();
-
-            notificationEventPublisher.publishCommentCreated(event);
-        } catch (Exception e) {
-            System.out.println("Error publishing comment created event: " + e.getMessage());
-        }
-
-        try {
-            gamificationEventPublisher.publish(
-                    ScoreEventType.COMMENT_CREATED,
-                    GamificationEvent.builder()
-                            .eventType(ScoreEventType.COMMENT_CREATED)
-                            .userId(currentUser.getId())
-                            .difficulty(null)
-                            .refType("COMMENT")
-                            .refId(savedComment.getId())
-                            .build());
-            System.out.println("Gamification event for comment created published");
-        } catch (Exception e) {
-            System.out.println("Error publishing gamification event for comment created: " + e.getMessage());
-        }
+        CommentCreatedEvent event = CommentCreatedEvent.builder()
+                .commentId(savedComment.getId())
+                .problemPostId(problemPost.getId())
+                .problemPostTitle(problemPost.getTitle())
+                .commentAuthorId(currentUser.getId())
+                .commentAuthorName(currentUser.getFirstName() + " " + currentUser.getLastName())
+                .postAuthorId(problemPost.getUser().getId())
+                .commentContent(savedComment.getComment())
+                .createdAt(savedComment.getCreatedAt())
+                .build();
+
+        notificationEventPublisher.publishCommentCreated(event);
+
+        gamificationEventPublisher.publish(
+                ScoreEventType.COMMENT_CREATED,
+                GamificationEvent.builder()
+                        .eventType(ScoreEventType.COMMENT_CREATED)
+                        .userId(currentUser.getId())
+                        .difficulty(null)
+                        .refType("COMMENT")
+                        .refId(savedComment.getId())
+                        .build());
+        System.out.println("Gamification event for comment created published");
 
         return mapToResponse(savedComment, currentUser);
     }
@@ -105,6 +103,32 @@ public class CommentService {
         return comments.map(comment -> mapToResponse(comment, currentUser));
     }
 
+    /**
+     * Keyset-paginated comments for a post ordered by (createdAt, id) descending,
+     * without a total count
+     */
+    public CursorPage<CommentResponse> getCommentFeed(UUID problemPostId, String cursor, int size, User currentUser) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (after != null && after.getSortKey() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+        if (!problemPostRepository.existsById(problemPostId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Problem post not found");
+        }
+
+        int pageSize = CursorPage.clampSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<ProblemPostComment> comments = after == null
+                ? commentRepository.findFeedByProblemPostId(problemPostId, limit)
+                : commentRepository.findFeedByProblemPostIdAfter(problemPostId, after.getSortKey(), after.getId(),
+                        limit);
+
+        return CursorPage.of(comments, pageSize,
+                comment -> new PageCursor(comment.getCreatedAt(), comment.getId()),
+                rows -> rows.stream().map(comment -> mapToResponse(comment, currentUser))
+                        .collect(Collectors.toList()));
+    }
+
     public Page<CommentResponse> getCommentsByUser(User user, Pageable pageable, User currentUser) {
         Page<ProblemPostComment> comments = commentRepository.findByUserOrderByCreatedAtDesc(user, pageable);
         return comments.map(comment -> mapToResponse(comment, currentUser));
@@ -173,20 +197,15 @@ public class CommentService {
         ScoreEventType eventType = reactionType == ReactionType.LIKE ? ScoreEventType.COMMENT_LIKED
                 : ScoreEventType.COMMENT_DISLIKED;
 
-        try {
-            gamificationEventPublisher.publish(
-                    eventType,
-                    GamificationEvent.builder()
-                            .eventType(eventType)
-                            .userId(comment.getUser().getId())
-                            .difficulty(null)
-                            .refType("COMMENT")
-                            .refId(comment.getId())
-                            .build());
-        } catch (Exception ignored) {
-            System.out.println(
-                    "Error publishing gamification event for comment " + eventType + ": " + ignored.getMessage());
-        }
+        gamificationEventPublisher.publish(
+                eventType,
+                GamificationEvent.builder()
+                        .eventType(eventType)
+                        .userId(comment.getUser().getId())
+                        .difficulty(null)
+                        .refType("COMMENT")
+                        .refId(comment.getId())
+                        .build());
 
         return mapToResponse(comment, currentUser);
     }
@@ -0,0 +1,306 @@
+package com.codepanel.services;
+
+import com.codepanel.models.dto.FacetCountsResponse;
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index of facet values (language, difficulty, category,
+ * tags) to documents. Every document gets a dense int ordinal in insertion
+ * order and each facet value keeps a {@link BitSet} posting list, so filters
+ * and facet counts are bitwise intersections.
+ */
+class FacetIndex {
+
+    @Getter
+    @AllArgsConstructor
+    static class FacetDocument {
+        private final UUID id;
+        private final ProgrammingLanguage language;
+        private final DifficultyLevel difficulty;
+        private final UUID categoryId;
+        private final Set<UUID> tagIds;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class FacetPage {
+        private final List<UUID> ids;
+        private final int total;
+    }
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<FacetDocument> documents = new ArrayList<>();
+    private final Map<UUID, Integer> ordinals = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Map<ProgrammingLanguage, BitSet> byLanguage = new EnumMap<>(ProgrammingLanguage.class);
+    private final Map<DifficultyLevel, BitSet> byDifficulty = new EnumMap<>(DifficultyLevel.class);
+    private final Map<UUID, BitSet> byCategory = new HashMap<>();
+    private final Map<UUID, BitSet> byTag = new HashMap<>();
+    private volatile boolean ready;
+    private List<Runnable> journal;
+
+    boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Starts recording upserts and removes so the next {@link #rebuild} can
+     * replay whatever landed after its snapshot was read. Call before querying
+     * the snapshot.
+     */
+    void beginRebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Stops recording without rebuilding, for when reading the snapshot failed.
+     */
+    void abortRebuild() {
+        lock.writeLock().lock();
+        try {
+            journal = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index, then replays any updates recorded since
+     * {@link #beginRebuild}. Documents should be supplied oldest first so
+     * ordinal order follows creation order.
+     */
+    void rebuild(List<FacetDocument> snapshot) {
+        lock.writeLock().lock();
+        try {
+            List<Runnable> pending = journal;
+            journal = null;
+            documents.clear();
+            ordinals.clear();
+            live.clear();
+            byLanguage.clear();
+            byDifficulty.clear();
+            byCategory.clear();
+            byTag.clear();
+            for (FacetDocument document : snapshot) {
+                int ordinal = documents.size();
+                documents.add(document);
+                ordinals.put(document.getId(), ordinal);
+                addPostings(ordinal, document);
+            }
+            if (pending != null) {
+                pending.forEach(Runnable::run);
+            }
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a document or replaces an existing one in place, keeping its ordinal.
+     */
+    void upsert(FacetDocument document) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(() -> upsertLocked(document));
+            }
+            upsertLocked(document);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(UUID id) {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.add(() -> removeLocked(id));
+            }
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void upsertLocked(FacetDocument document) {
+        Integer ordinal = ordinals.get(document.getId());
+        if (ordinal == null) {
+            ordinal = documents.size();
+            documents.add(document);
+            ordinals.put(document.getId(), ordinal);
+        } else {
+            removePostings(ordinal, documents.get(ordinal));
+            documents.set(ordinal, document);
+        }
+        addPostings(ordinal, document);
+    }
+
+    private void removeLocked(UUID id) {
+        Integer ordinal = ordinals.get(id);
+        if (ordinal != null && live.get(ordinal)) {
+            removePostings(ordinal, documents.get(ordinal));
+        }
+    }
+
+    /**
+     * One page of ids matching every given facet, in ordinal order (newest
+     * first when {@code newestFirst} is set), plus the total match count. Tag
+     * ids match any of the tags, mirroring the SQL search.
+     */
+    FacetPage search(ProgrammingLanguage language, DifficultyLevel difficulty, UUID categoryId,
+            Collection<UUID> tagIds, long offset, int limit, boolean newestFirst) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matchLocked(language, difficulty, categoryId, tagIds);
+            int total = matches.cardinality();
+            List<UUID> ids = new ArrayList<>(limit);
+            if (offset < total) {
+                int ordinal = nthSetBit(matches, newestFirst ? total - 1 - offset : offset);
+                while (ordinal >= 0 && ids.size() < limit) {
+                    ids.add(documents.get(ordinal).getId());
+                    ordinal = newestFirst ? matches.previousSetBit(ordinal - 1) : matches.nextSetBit(ordinal + 1);
+                }
+            }
+            return new FacetPage(ids, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    FacetCountsResponse counts(ProgrammingLanguage language, DifficultyLevel difficulty, UUID categoryId,
+            Collection<UUID> tagIds) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = matchLocked(language, difficulty, categoryId, tagIds);
+            FacetCountsResponse response = new FacetCountsResponse();
+            response.setTotal(matches.cardinality());
+            response.setLanguages(countEach(matches, byLanguage));
+            response.setDifficulties(countEach(matches, byDifficulty));
+            response.setCategories(countEach(matches, byCategory));
+            response.setTags(countEach(matches, byTag));
+            return response;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private BitSet matchLocked(ProgrammingLanguage language, DifficultyLevel difficulty, UUID categoryId,
+            Collection<UUID> tagIds) {
+        BitSet result = (BitSet) live.clone();
+        if (language != null) {
+            result.and(byLanguage.getOrDefault(language, new BitSet()));
+        }
+        if (difficulty != null) {
+            result.and(byDifficulty.getOrDefault(difficulty, new BitSet()));
+        }
+        if (categoryId != null) {
+            result.and(byCategory.getOrDefault(categoryId, new BitSet()));
+        }
+        if (tagIds != null && !tagIds.isEmpty()) {
+            BitSet anyTag = new BitSet();
+            for (UUID tagId : tagIds) {
+                BitSet postings = byTag.get(tagId);
+                if (postings != null) {
+                    anyTag.or(postings);
+                }
+            }
+            result.and(anyTag);
+        }
+        return result;
+    }
+
+    /**
+     * Ordinal of the n-th (0-based) set bit, or -1. Whole 64-bit words are
+     * skipped by their population count, so deep offsets do not visit every
+     * match before them.
+     */
+    static int nthSetBit(BitSet bits, long n) {
+        long[] words = bits.toLongArray();
+        long remaining = n;
+        for (int i = 0; i < words.length; i++) {
+            int count = Long.bitCount(words[i]);
+            if (remaining < count) {
+                long word = words[i];
+                for (long j = 0; j < remaining; j++) {
+                    word &= word - 1;
+                }
+                return i * Long.SIZE + Long.numberOfTrailingZeros(word);
+            }
+            remaining -= count;
+        }
+        return -1;
+    }
+
+    private <K> Map<K, Integer> countEach(BitSet matches, Map<K, BitSet> postingsByValue) {
+        Map<K, Integer> counts = new LinkedHashMap<>();
+        for (Map.Entry<K, BitSet> entry : postingsByValue.entrySet()) {
+            BitSet intersection = (BitSet) entry.getValue().clone();
+            intersection.and(matches);
+            int count = intersection.cardinality();
+            if (count > 0) {
+                counts.put(entry.getKey(), count);
+            }
+        }
+        return counts;
+    }
+
+    private void addPostings(int ordinal, FacetDocument document) {
+        live.set(ordinal);
+        if (document.getLanguage() != null) {
+            byLanguage.computeIfAbsent(document.getLanguage(), key -> new BitSet()).set(ordinal);
+        }
+        if (document.getDifficulty() != null) {
+            byDifficulty.computeIfAbsent(document.getDifficulty(), key -> new BitSet()).set(ordinal);
+        }
+        if (document.getCategoryId() != null) {
+            byCategory.computeIfAbsent(document.getCategoryId(), key -> new BitSet()).set(ordinal);
+        }
+        for (UUID tagId : document.getTagIds()) {
+            byTag.computeIfAbsent(tagId, key -> new BitSet()).set(ordinal);
+        }
+    }
+
+    private void removePostings(int ordinal, FacetDocument document) {
+        live.clear(ordinal);
+        if (document.getLanguage() != null) {
+            clear(byLanguage, document.getLanguage(), ordinal);
+        }
+        if (document.getDifficulty() != null) {
+            clear(byDifficulty, document.getDifficulty(), ordinal);
+        }
+        if (document.getCategoryId() != null) {
+            clear(byCategory, document.getCategoryId(), ordinal);
+        }
+        for (UUID tagId : document.getTagIds()) {
+            clear(byTag, tagId, ordinal);
+        }
+    }
+
+    private <K> void clear(Map<K, BitSet> postingsByValue, K key, int ordinal) {
+        BitSet postings = postingsByValue.get(key);
+        if (postings != null) {
+            postings.clear(ordinal);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.codepanel.services;
+
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Shares committed facet index updates between nodes over Redis pub/sub
+ * (facets:updates), so a write on one node reaches the other nodes' indexes
+ * right away instead of at their next scheduled rebuild. Delivery is
+ * best-effort; the rebuild still repairs anything a node missed.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "app.facets.broadcast", havingValue = "true")
+public class FacetIndexBroadcaster implements MessageListener {
+    static final String CHANNEL = "facets:updates";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final StringRedisTemplate redis;
+    private final FacetIndexService facetIndexService;
+    private final ObjectMapper objectMapper;
+
+    public FacetIndexBroadcaster(StringRedisTemplate redis, RedisMessageListenerContainer listenerContainer,
+            FacetIndexService facetIndexService, ObjectMapper objectMapper) {
+        this.redis = redis;
+        this.facetIndexService = facetIndexService;
+        this.objectMapper = objectMapper;
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    void publishUpsert(String indexName, FacetIndex.FacetDocument document) {
+        Map<String, Object> update = new HashMap<>();
+        update.put("origin", nodeId);
+        update.put("index", indexName);
+        update.put("id", document.getId());
+        update.put("language", document.getLanguage());
+        update.put("difficulty", document.getDifficulty());
+        update.put("categoryId", document.getCategoryId());
+        update.put("tagIds", document.getTagIds());
+        publish(update);
+    }
+
+    void publishRemove(String indexName, UUID id) {
+        publish(Map.of("origin", nodeId, "index", indexName, "id", id, "removed", true));
+    }
+
+    private void publish(Map<String, Object> update) {
+        try {
+            redis.convertAndSend(CHANNEL, objectMapper.writeValueAsString(update));
+        } catch (Exception e) {
+            log.warn("Failed to broadcast facet index update for {}: {}", update.get("id"), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode update = objectMapper.readTree(message.getBody());
+            if (nodeId.equals(update.get("origin").asText())) {
+                return;
+            }
+            String indexName = update.get("index").asText();
+            UUID id = UUID.fromString(update.get("id").asText());
+            if (update.path("removed").asBoolean(false)) {
+                facetIndexService.applyRemove(indexName, id);
+                return;
+            }
+            Set<UUID> tagIds = new HashSet<>();
+            update.path("tagIds").forEach(tagId -> tagIds.add(UUID.fromString(tagId.asText())));
+            facetIndexService.applyUpsert(indexName, new FacetIndex.FacetDocument(id,
+                    update.hasNonNull("language") ? ProgrammingLanguage.valueOf(update.get("language").asText()) : null,
+                    update.hasNonNull("difficulty") ? DifficultyLevel.valueOf(update.get("difficulty").asText()) : null,
+                    update.hasNonNull("categoryId") ? UUID.fromString(update.get("categoryId").asText()) : null,
+                    tagIds));
+        } catch (Exception e) {
+            log.error("Failed to apply broadcast facet index update", e);
+        }
+    }
+}
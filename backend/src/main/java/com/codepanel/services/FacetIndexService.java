@@ -0,0 +1,196 @@
+package com.codepanel.services;
+
+import com.codepanel.models.Assignment;
+import com.codepanel.models.ProblemPost;
+import com.codepanel.models.Tag;
+import com.codepanel.models.dto.FacetCountsResponse;
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import com.codepanel.repositories.AssignmentRepository;
+import com.codepanel.repositories.ProblemPostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the in-memory facet indexes for problem posts and active assignments.
+ * Built at startup and updated after each committed create/update/delete on
+ * this node. With app.facets.broadcast=true those updates are also shared with
+ * the other nodes through {@link FacetIndexBroadcaster}; without it, other
+ * nodes only see them at their next rebuild (app.facets.rebuild-interval-ms,
+ * five minutes by default). The rebuild also compacts ordinals left behind by
+ * removed documents.
+ */
+@Service
+@Slf4j
+public class FacetIndexService {
+
+    static final String PROBLEM_POSTS = "problem-posts";
+    static final String ASSIGNMENTS = "assignments";
+
+    private final ProblemPostRepository problemPostRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final ObjectProvider<FacetIndexBroadcaster> broadcaster;
+    private final FacetIndex problemPostIndex = new FacetIndex();
+    private final FacetIndex assignmentIndex = new FacetIndex();
+
+    public FacetIndexService(ProblemPostRepository problemPostRepository,
+            AssignmentRepository assignmentRepository, ObjectProvider<FacetIndexBroadcaster> broadcaster) {
+        this.problemPostRepository = problemPostRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.broadcaster = broadcaster;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.facets.rebuild-interval-ms:300000}")
+    public void rebuild() {
+        rebuild("problem post", problemPostIndex, () -> toDocuments(problemPostRepository.findFacetRows(),
+                problemPostRepository.findTagPairs()));
+        rebuild("assignment", assignmentIndex, () -> toDocuments(assignmentRepository.findActiveFacetRows(),
+                assignmentRepository.findActiveTagPairs()));
+    }
+
+    public void indexProblemPost(ProblemPost problemPost) {
+        FacetIndex.FacetDocument document = new FacetIndex.FacetDocument(problemPost.getId(),
+                problemPost.getLanguage(), problemPost.getDifficultyLevel(),
+                problemPost.getCategory() != null ? problemPost.getCategory().getId() : null,
+                tagIds(problemPost.getTags()));
+        upsertAfterCommit(PROBLEM_POSTS, document);
+    }
+
+    public void removeProblemPost(UUID problemPostId) {
+        removeAfterCommit(PROBLEM_POSTS, problemPostId);
+    }
+
+    public void indexAssignment(Assignment assignment) {
+        if (!Boolean.TRUE.equals(assignment.getIsActive())) {
+            removeAssignment(assignment.getId());
+            return;
+        }
+        FacetIndex.FacetDocument document = new FacetIndex.FacetDocument(assignment.getId(),
+                assignment.getLanguage(), assignment.getDifficultyLevel(),
+                assignment.getCategory() != null ? assignment.getCategory().getId() : null,
+                tagIds(assignment.getTags()));
+        upsertAfterCommit(ASSIGNMENTS, document);
+    }
+
+    public void removeAssignment(UUID assignmentId) {
+        removeAfterCommit(ASSIGNMENTS, assignmentId);
+    }
+
+    public FacetCountsResponse problemPostFacets(ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds) {
+        return problemPostIndex.counts(language, difficulty, categoryId, tagIds);
+    }
+
+    public FacetCountsResponse assignmentFacets(ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds) {
+        return assignmentIndex.counts(language, difficulty, categoryId, tagIds);
+    }
+
+    /**
+     * Filters problem posts by creation order from the index alone. Empty until
+     * the index has been built, in which case callers fall back to SQL.
+     */
+    public Optional<Page<UUID>> findProblemPostIds(ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds, Pageable pageable, boolean newestFirst) {
+        if (!problemPostIndex.isReady()) {
+            return Optional.empty();
+        }
+        FacetIndex.FacetPage page = problemPostIndex.search(language, difficulty, categoryId, tagIds,
+                pageable.getOffset(), pageable.getPageSize(), newestFirst);
+        return Optional.of(new PageImpl<>(page.getIds(), pageable, page.getTotal()));
+    }
+
+    /**
+     * Applies an update broadcast by another node
+     */
+    void applyUpsert(String indexName, FacetIndex.FacetDocument document) {
+        FacetIndex index = index(indexName);
+        if (index != null) {
+            index.upsert(document);
+        }
+    }
+
+    void applyRemove(String indexName, UUID id) {
+        FacetIndex index = index(indexName);
+        if (index != null) {
+            index.remove(id);
+        }
+    }
+
+    private FacetIndex index(String indexName) {
+        if (PROBLEM_POSTS.equals(indexName)) {
+            return problemPostIndex;
+        }
+        if (ASSIGNMENTS.equals(indexName)) {
+            return assignmentIndex;
+        }
+        log.warn("Ignoring update for unknown facet index {}", indexName);
+        return null;
+    }
+
+    private void upsertAfterCommit(String indexName, FacetIndex.FacetDocument document) {
+        AfterCommit.run(() -> {
+            index(indexName).upsert(document);
+            broadcaster.ifAvailable(b -> b.publishUpsert(indexName, document));
+        });
+    }
+
+    private void removeAfterCommit(String indexName, UUID id) {
+        AfterCommit.run(() -> {
+            index(indexName).remove(id);
+            broadcaster.ifAvailable(b -> b.publishRemove(indexName, id));
+        });
+    }
+
+    /**
+     * Updates committed while the snapshot is being read are journaled by the
+     * index and replayed on top of it, so the swap never drops them.
+     */
+    private void rebuild(String name, FacetIndex index, Supplier<List<FacetIndex.FacetDocument>> snapshot) {
+        index.beginRebuild();
+        try {
+            index.rebuild(snapshot.get());
+        } catch (Exception e) {
+            index.abortRebuild();
+            log.error("Failed to rebuild {} facet index", name, e);
+        }
+    }
+
+    private List<FacetIndex.FacetDocument> toDocuments(List<Object[]> rows, List<Object[]> tagPairs) {
+        Map<UUID, Set<UUID>> tagsByOwner = new HashMap<>();
+        for (Object[] pair : tagPairs) {
+            tagsByOwner.computeIfAbsent((UUID) pair[0], key -> new HashSet<>()).add((UUID) pair[1]);
+        }
+
+        List<FacetIndex.FacetDocument> documents = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            UUID id = (UUID) row[0];
+            documents.add(new FacetIndex.FacetDocument(id, (ProgrammingLanguage) row[1],
+                    (DifficultyLevel) row[2], (UUID) row[3], tagsByOwner.getOrDefault(id, Set.of())));
+        }
+        return documents;
+    }
+
+    private Set<UUID> tagIds(Set<Tag> tags) {
+        if (tags == null) {
+            return Set.of();
+        }
+        return tags.stream().map(Tag::getId).collect(Collectors.toSet());
+    }
+}
@@ -3,27 +3,44 @@ package com.codepanel.services;
 import com.codepanel.config.GamificationRabbitConfig;
 import com.codepanel.models.User;
 import com.codepanel.models.dto.GamificationEvent;
-import com.codepanel.models.enums.MetricType;
 import com.codepanel.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.MessageConversionException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 @Service
+@Slf4j
 public class GamificationEventListener {
     private final GamificationService gamificationService;
     private final UserRepository userRepository;
     private final AchievementService achievementService;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
 
     public GamificationEventListener(GamificationService gamificationService,
-            UserRepository userRepository, AchievementService achievementService) {
+            UserRepository userRepository, AchievementService achievementService,
+            RabbitTemplate rabbitTemplate, TransactionTemplate transactionTemplate) {
         this.gamificationService = gamificationService;
         this.userRepository = userRepository;
         this.achievementService = achievementService;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
     }
 
-    @RabbitListener(queues = GamificationRabbitConfig.QUEUE)
+    /**
+     * Records the event and applies its achievement progress in one
+     * transaction, so a failure rolls both back and the redelivery starts over.
+     */
+    @RabbitListener(queues = GamificationRabbitConfig.QUEUE,
+            autoStartup = "#{!${app.gamification.batch.enabled:false}}")
     public void onEvent(GamificationEvent event) {
         try {
             System.out.println("=== GAMIFICATION EVENT RECEIVED ===");
@@ -36,31 +53,25 @@ public class GamificationEventListener {
                 return;
             }
 
-            int basePoints = switch (event.getEventType()) {
-                case SUBMISSION_ACCEPTED -> 10;
-                case REVIEW_APPROVED -> 5;
-                case PROBLEM_ACCEPTED -> 0;
-                case COMMENT_CREATED -> 1;
-                case COMMENT_LIKED -> 2;
-                case COMMENT_DISLIKED -> -2;
-                case PROBLEM_ANSWER_ACCEPTED -> 10;
-                case PROBLEM_ANSWER_UNACCEPTED -> -10;
-                case PROBLEM_POSTED -> 0;
-                case ACHIEVEMENT_AWARDED -> 0;
-            };
-
-            gamificationService.recordEvent(
-                    user,
-                    event.getEventType(),
-                    event.getDifficulty(),
-                    basePoints,
-                    event.getRefType(),
-                    event.getRefId());
-
-            System.out.println("Gamification event recorded: " + event.getEventType());
-
-            // Also handle achievement progress for the same event
-            handleAchievementProgress(event);
+            int basePoints = GamificationService.basePoints(event.getEventType());
+
+            transactionTemplate.executeWithoutResult(status -> {
+                boolean recorded = gamificationService.recordEvent(
+                        user,
+                        event.getEventType(),
+                        event.getDifficulty(),
+                        basePoints,
+                        event.getRefType(),
+                        event.getRefId());
+                if (!recorded) {
+                    return;
+                }
+
+                System.out.println("Gamification event recorded: " + event.getEventType());
+
+                // Also handle achievement progress for the same event
+                handleAchievementProgress(event);
+            });
 
             System.out.println("=== GAMIFICATION EVENT PROCESSING COMPLETE ===");
         } catch (Exception e) {
@@ -70,65 +81,76 @@ public class GamificationEventListener {
         }
     }
 
+    /**
+     * Batch mode, enabled with app.gamification.batch.enabled: drains up to
+     * app.gamification.batch.size messages or waits app.gamification.batch.receive-timeout-ms,
+     * then records them and applies their progress in one transaction. Messages
+     * are converted one by one so an unreadable one is dead-lettered on its
+     * own, and if the batch fails as a whole its events are retried
+     * individually so only the failing ones are.
+     */
+    @RabbitListener(queues = GamificationRabbitConfig.QUEUE,
+            containerFactory = GamificationRabbitConfig.BATCH_CONTAINER_FACTORY,
+            autoStartup = "${app.gamification.batch.enabled:false}")
+    public void onEvents(List<Message> messages) {
+        log.info("Processing gamification batch of {} events", messages.size());
+
+        List<Message> converted = new ArrayList<>(messages.size());
+        List<GamificationEvent> events = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                events.add(toEvent(message));
+                converted.add(message);
+            } catch (Exception e) {
+                log.error("Unreadable gamification message {}", message.getMessageProperties().getMessageId(), e);
+                deadLetter(message);
+            }
+        }
+
+        try {
+            processBatch(events);
+        } catch (Exception e) {
+            log.warn("Gamification batch failed, retrying events one by one", e);
+            for (int i = 0; i < events.size(); i++) {
+                try {
+                    processBatch(List.of(events.get(i)));
+                } catch (Exception single) {
+                    log.error("Failed to process gamification event {}", events.get(i), single);
+                    deadLetter(converted.get(i));
+                }
+            }
+        }
+    }
+
+    private void processBatch(List<GamificationEvent> events) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<GamificationEvent> recorded = gamificationService.recordEvents(events);
+            for (GamificationEvent event : recorded) {
+                handleAchievementProgress(event);
+            }
+        });
+    }
+
+    private GamificationEvent toEvent(Message message) {
+        Object payload = rabbitTemplate.getMessageConverter().fromMessage(message);
+        if (payload instanceof GamificationEvent event) {
+            return event;
+        }
+        throw new MessageConversionException("Not a gamification event: "
+                + (payload != null ? payload.getClass().getName() : null));
+    }
+
+    private void deadLetter(Message message) {
+        rabbitTemplate.send("", GamificationRabbitConfig.DLQ, message);
+    }
+
     private void handleAchievementProgress(GamificationEvent event) {
         System.out.println("=== HANDLING ACHIEVEMENT PROGRESS ===");
         System.out.println("Event details: " + event.getEventType() + " " + event.getUserId() + " "
                 + event.getDifficulty() + " " + event.getRefType() + " " + event.getRefId());
-        LocalDate today = LocalDate.now();
-
-        switch (event.getEventType()) {
-            case PROBLEM_POSTED:
-                // Milestone: increment problem count
-                achievementService.incrementProgress(event.getUserId(), MetricType.PROBLEMS_POSTED);
-                // Streak: update problem posting streak
-                achievementService.updateStreakProgress(event.getUserId(),
-                        MetricType.PROBLEM_POSTING_STREAK, today);
-                // Activity streak
-                achievementService.updateStreakProgress(event.getUserId(), MetricType.ACTIVITY_STREAK,
-                        today);
-                break;
-
-            case COMMENT_CREATED:
-                // Milestone: increment comments posted
-                achievementService.incrementProgress(event.getUserId(), MetricType.COMMENTS_POSTED);
-                // Activity streak
-                achievementService.updateStreakProgress(event.getUserId(), MetricType.ACTIVITY_STREAK, today);
-                break;
-
-            case COMMENT_LIKED:
-                // Milestone: increment total likes received (event.getUserId() is already the
-                // comment author)
-                achievementService.incrementProgress(event.getUserId(), MetricType.TOTAL_LIKES_RECEIVED);
-                // Activity streak for the comment author
-                achievementService.updateStreakProgress(event.getUserId(), MetricType.ACTIVITY_STREAK, today);
-                break;
-
-            case PROBLEM_ANSWER_ACCEPTED:
-                // Milestone: increment accepted answers
-                achievementService.incrementProgress(event.getUserId(), MetricType.ACCEPTED_ANSWERS);
-                // Activity streak
-                achievementService.updateStreakProgress(event.getUserId(), MetricType.ACTIVITY_STREAK, today);
-                break;
-
-            case SUBMISSION_ACCEPTED:
-            case REVIEW_APPROVED:
-                // Milestone: increment assignments completed
-                achievementService.incrementProgress(event.getUserId(), MetricType.ASSIGNMENTS_COMPLETED);
-                // Streak: update assignment streak
-                achievementService.updateStreakProgress(event.getUserId(), MetricType.ASSIGNMENT_STREAK, today);
-                // Activity streak
-                achievementService.updateStreakProgress(event.getUserId(), MetricType.ACTIVITY_STREAK, today);
-                break;
-
-            case COMMENT_DISLIKED:
-            case PROBLEM_ANSWER_UNACCEPTED:
-            case ACHIEVEMENT_AWARDED:
-                break;
-
-            default:
-                // For any other events, just update activity streak
-                achievementService.updateStreakProgress(event.getUserId(), MetricType.ACTIVITY_STREAK, today);
-                break;
+        ProgressPlan plan = ProgressPlan.forEvent(event.getEventType(), LocalDate.now());
+        if (!plan.isEmpty()) {
+            achievementService.applyProgress(event.getUserId(), plan);
         }
     }
 }
@@ -3,15 +3,14 @@ package com.codepanel.services;
 import com.codepanel.config.GamificationRabbitConfig;
 import com.codepanel.models.dto.GamificationEvent;
 import com.codepanel.models.enums.ScoreEventType;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GamificationEventPublisher {
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
 
-    public GamificationEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public GamificationEventPublisher(OutboxService outboxService) {
+        this.outboxService = outboxService;
     }
 
     public void publish(ScoreEventType type, GamificationEvent payload) {
@@ -30,11 +29,6 @@ public class GamificationEventPublisher {
 
         System.out.println("Event payload: " + payload);
 
-        try {
-            rabbitTemplate.convertAndSend(GamificationRabbitConfig.EXCHANGE, routingKey, payload);
-        } catch (Exception e) {
-            System.out.println("Error publishing gamification event: " + e.getMessage());
-            e.printStackTrace();
-        }
+        outboxService.enqueue(GamificationRabbitConfig.EXCHANGE, routingKey, payload);
     }
 }
@@ -1,35 +1,68 @@
 package com.codepanel.services;
 
 import com.codepanel.models.User;
-import com.codepanel.models.ScoreEvent;
-import com.codepanel.models.UserScore;
+import com.codepanel.models.dto.GamificationEvent;
 import com.codepanel.models.enums.DifficultyLevel;
 import com.codepanel.models.enums.ScoreEventType;
-import com.codepanel.repositories.ScoreEventRepository;
-import com.codepanel.repositories.UserScoreRepository;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
+import com.codepanel.repositories.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
+@Slf4j
 public class GamificationService {
-    private final ScoreEventRepository scoreEventRepository;
-    private final UserScoreRepository userScoreRepository;
+    private final ScoreRollupService scoreRollupService;
     private final LeaderboardCacheService leaderboardCacheService;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final RecentKeys recentKeys = new RecentKeys(RECENT_KEYS_CAPACITY);
 
-    public GamificationService(ScoreEventRepository scoreEventRepository,
-            UserScoreRepository userScoreRepository,
-            LeaderboardCacheService leaderboardCacheService) {
-        this.scoreEventRepository = scoreEventRepository;
-        this.userScoreRepository = userScoreRepository;
+    private static final int RECENT_KEYS_CAPACITY = 10_000;
+    private static final String INSERT_SCORE_EVENT = "INSERT INTO score_events " +
+            "(id, user_id, event_type, difficulty, points, ref_type, ref_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+            "ON CONFLICT (user_id, event_type, ref_id) DO NOTHING";
+
+    public GamificationService(ScoreRollupService scoreRollupService,
+            LeaderboardCacheService leaderboardCacheService,
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate) {
+        this.scoreRollupService = scoreRollupService;
         this.leaderboardCacheService = leaderboardCacheService;
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static int basePoints(ScoreEventType type) {
+        return switch (type) {
+            case SUBMISSION_ACCEPTED -> 10;
+            case REVIEW_APPROVED -> 5;
+            case PROBLEM_ACCEPTED -> 0;
+            case COMMENT_CREATED -> 1;
+            case COMMENT_LIKED -> 2;
+            case COMMENT_DISLIKED -> -2;
+            case PROBLEM_ANSWER_ACCEPTED -> 10;
+            case PROBLEM_ANSWER_UNACCEPTED -> -10;
+            case PROBLEM_POSTED -> 0;
+            case ACHIEVEMENT_AWARDED -> 0;
+        };
     }
 
     private int difficultyMultiplier(DifficultyLevel difficulty) {
@@ -44,13 +77,20 @@ public class GamificationService {
         };
     }
 
+    /**
+     * Records one event unless (user, type, refId) was already recorded. The
+     * unique constraint on score_events decides; an LRU of recently recorded
+     * keys lets redelivered messages skip the database entirely.
+     *
+     * @return whether the event was recorded
+     */
     @Transactional
-    public void recordEvent(User user, ScoreEventType type, DifficultyLevel difficulty,
+    public boolean recordEvent(User user, ScoreEventType type, DifficultyLevel difficulty,
             int basePoints, String refType, java.util.UUID refId) {
-        // idempotency: avoid duplicates per (user,type,refId)
-        if (refId != null && scoreEventRepository.existsByUserAndEventTypeAndRefId(user, type, refId)) {
+        String key = refId != null ? eventKey(user.getId(), type, refId) : null;
+        if (key != null && recentKeys.contains(key)) {
             System.out.println("Event already recorded: " + user.getEmail() + " " + type + " " + difficulty + " " + refId);
-            return;
+            return false;
         }
 
         System.out.println("Recording event: " + user.getEmail() + " " + type + " " + difficulty + " " + basePoints
@@ -58,70 +98,138 @@ public class GamificationService {
 
         int points = basePoints * difficultyMultiplier(difficulty);
 
-        ScoreEvent event = new ScoreEvent();
-        event.setUser(user);
-        event.setEventType(type);
-        event.setDifficulty(difficulty);
-        event.setPoints(points);
-        event.setRefType(refType);
-        event.setRefId(refId);
-        scoreEventRepository.save(event);
-        System.out.println("Score event saved: " + event.getId());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        UUID eventId = UUID.randomUUID();
+        int inserted = jdbcTemplate.update(INSERT_SCORE_EVENT, eventId, user.getId(), type.name(),
+                difficulty != null ? difficulty.name() : null, points, refType, refId, now, now);
+        if (inserted == 0) {
+            recentKeys.add(key);
+            System.out.println("Event already recorded: " + user.getEmail() + " " + type + " " + difficulty + " " + refId);
+            return false;
+        }
+        if (key != null) {
+            AfterCommit.run(() -> recentKeys.add(key));
+        }
+        System.out.println("Score event saved: " + eventId);
 
         LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
-        UserScore score = userScoreRepository.findByUserAndWeekStart(user, weekStart);
-        if (score == null) {
-            score = new UserScore();
-            score.setUser(user);
-            score.setWeekStart(weekStart);
-            score.setPoints(0);
-        }
-        score.setPoints(score.getPoints() + points);
-        userScoreRepository.save(score);
-        System.out.println("User Score saved: " + score.getId());
+        YearMonth month = YearMonth.now();
+        scoreRollupService.addPoints(user.getId(), weekStart, month, points);
+        System.out.println("User Score updated for week " + weekStart);
 
-        // Update Redis leaderboards
+        // Update Redis leaderboards once the event is committed, so a rollback
+        // and redelivery does not count the points twice
         UUID userId = user.getId();
-        leaderboardCacheService.incrementWeekly(userId.toString(), points,
-                weekStart);
-        leaderboardCacheService.incrementMonthly(userId.toString(), points,
-                YearMonth.now());
-        leaderboardCacheService.incrementAllTime(userId.toString(), points);
-        System.out.println("Leaderboard updated");
+        AfterCommit.run(() -> {
+            leaderboardCacheService.incrementWeekly(userId.toString(), points,
+                    weekStart);
+            leaderboardCacheService.incrementMonthly(userId.toString(), points,
+                    month);
+            leaderboardCacheService.incrementAllTime(userId.toString(), points);
+            System.out.println("Leaderboard updated");
+        });
+        return true;
     }
 
-    @Transactional(readOnly = true)
-    public Page<UserScore> getWeeklyLeaderboard(LocalDate weekStart, int page, int size) {
-        LocalDate ws = (weekStart != null) ? weekStart : LocalDate.now().with(DayOfWeek.MONDAY);
-        try {
-            return userScoreRepository.findByWeekStartOrderByPointsDesc(ws, PageRequest.of(page, size));
-        } catch (Exception e) {
-            System.out.println("Error getting weekly leaderboard: " + e.getMessage());
-            return Page.empty();
+    /**
+     * Records a batch of events at once. Duplicates by (user, type, refId) are
+     * dropped within the batch, by the recent-keys LRU, and finally by the
+     * unique constraint as the batch inserts with ON CONFLICT DO NOTHING. Score
+     * events go in as one JDBC batch, rollups as one upsert per user, and
+     * leaderboard increments as one Redis pipeline after commit.
+     *
+     * @return the events that were recorded, in arrival order
+     */
+    @Transactional
+    public List<GamificationEvent> recordEvents(List<GamificationEvent> events) {
+        Map<String, GamificationEvent> unique = new LinkedHashMap<>();
+        List<GamificationEvent> candidates = new ArrayList<>();
+        for (GamificationEvent event : events) {
+            if (event.getUserId() == null || event.getEventType() == null) {
+                continue;
+            }
+            if (event.getRefId() == null) {
+                candidates.add(event);
+            } else if (unique.putIfAbsent(eventKey(event.getUserId(), event.getEventType(), event.getRefId()),
+                    event) == null) {
+                candidates.add(event);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return List.of();
         }
-    }
 
-    @Transactional(readOnly = true)
-    public List<Object[]> getMonthlyLeaderboard(YearMonth month, int limit) {
-        YearMonth targetMonth = (month != null) ? month : YearMonth.now();
-        LocalDate monthStart = targetMonth.atDay(1);
-        LocalDate monthEnd = targetMonth.atEndOfMonth();
+        Set<UUID> knownUsers = new HashSet<>(userRepository.findExistingIds(
+                candidates.stream().map(GamificationEvent::getUserId).collect(Collectors.toSet())));
 
-        try {
-            return scoreEventRepository.findMonthlyLeaderboard(monthStart, monthEnd, PageRequest.of(0, limit));
-        } catch (Exception e) {
-            System.out.println("Error getting monthly leaderboard: " + e.getMessage());
-            return List.of();
+        List<GamificationEvent> attempted = new ArrayList<>();
+        for (GamificationEvent event : candidates) {
+            if (!knownUsers.contains(event.getUserId())) {
+                log.debug("User not found for gamification event: {}", event.getUserId());
+            } else if (event.getRefId() != null
+                    && recentKeys.contains(eventKey(event.getUserId(), event.getEventType(), event.getRefId()))) {
+                log.debug("Event already recorded: {} {} {}", event.getUserId(), event.getEventType(),
+                        event.getRefId());
+            } else {
+                attempted.add(event);
+            }
+        }
+        if (attempted.isEmpty()) {
+            return attempted;
         }
-    }
 
-    @Transactional(readOnly = true)
-    public List<Object[]> getAllTimeLeaderboard(int limit) {
-        try {
-            return scoreEventRepository.findAllTimeLeaderboard(PageRequest.of(0, limit));
-        } catch (Exception e) {
-            System.out.println("Error getting all-time leaderboard: " + e.getMessage());
-            return List.of();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(attempted.size());
+        for (GamificationEvent event : attempted) {
+            int points = basePoints(event.getEventType()) * difficultyMultiplier(event.getDifficulty());
+            rows.add(new Object[] { UUID.randomUUID(), event.getUserId(), event.getEventType().name(),
+                    event.getDifficulty() != null ? event.getDifficulty().name() : null, points,
+                    event.getRefType(), event.getRefId(), now, now });
+        }
+        int[] inserted = jdbcTemplate.batchUpdate(INSERT_SCORE_EVENT, rows);
+
+        List<GamificationEvent> accepted = new ArrayList<>();
+        List<String> acceptedKeys = new ArrayList<>();
+        Map<UUID, Integer> pointsByUser = new HashMap<>();
+        for (int i = 0; i < attempted.size(); i++) {
+            GamificationEvent event = attempted.get(i);
+            String key = event.getRefId() != null
+                    ? eventKey(event.getUserId(), event.getEventType(), event.getRefId())
+                    : null;
+            if (inserted[i] > 0) {
+                accepted.add(event);
+                pointsByUser.merge(event.getUserId(), (Integer) rows.get(i)[4], Integer::sum);
+                if (key != null) {
+                    acceptedKeys.add(key);
+                }
+            } else {
+                if (key != null) {
+                    recentKeys.add(key);
+                }
+                log.debug("Event already recorded: {} {} {}", event.getUserId(), event.getEventType(),
+                        event.getRefId());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return accepted;
         }
+
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        YearMonth month = YearMonth.now();
+        pointsByUser.forEach((userId, points) -> scoreRollupService.addPoints(userId, weekStart, month, points));
+
+        Map<String, Integer> leaderboardDeltas = new HashMap<>();
+        pointsByUser.forEach((userId, points) -> leaderboardDeltas.put(userId.toString(), points));
+        AfterCommit.run(() -> {
+            leaderboardCacheService.incrementAll(leaderboardDeltas, weekStart, month);
+            acceptedKeys.forEach(recentKeys::add);
+        });
+
+        log.debug("Recorded {} of {} gamification events", accepted.size(), events.size());
+        return accepted;
+    }
+
+    private String eventKey(UUID userId, ScoreEventType type, UUID refId) {
+        return userId + ":" + type + ":" + refId;
     }
 }
@@ -1,11 +1,20 @@
 package com.codepanel.services;
 
+import com.codepanel.models.enums.LeaderboardPeriod;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.DefaultTypedTuple;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 @Service
@@ -28,6 +37,22 @@ public class LeaderboardCacheService {
         return "lb:alltime";
     }
 
+    private String currentKey(LeaderboardPeriod period) {
+        return switch (period) {
+            case WEEKLY -> weeklyKey(LocalDate.now().with(DayOfWeek.MONDAY));
+            case MONTHLY -> monthlyKey(YearMonth.now());
+            case ALL_TIME -> allTimeKey();
+        };
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class RankWindow {
+        private final long total;
+        private final Long rank;
+        private final Set<ZSetOperations.TypedTuple<String>> entries;
+    }
+
     public void incrementWeekly(String userId, double points, LocalDate weekStart) {
         try {
             String key = weeklyKey(weekStart);
@@ -55,18 +80,129 @@ public class LeaderboardCacheService {
         }
     }
 
-    public Set<String> topWeekly(LocalDate weekStart, long start, long end) {
-        String key = weeklyKey(weekStart);
-        return redis.opsForZSet().reverseRange(key, start, end);
+    /**
+     * Applies point deltas for many users to the weekly, monthly and all-time
+     * sets in a single pipelined round-trip.
+     */
+    public void incrementAll(Map<String, Integer> pointsByUser, LocalDate weekStart, YearMonth month) {
+        if (pointsByUser.isEmpty()) {
+            return;
+        }
+        try {
+            String weekly = weeklyKey(weekStart);
+            String monthly = monthlyKey(month);
+            String allTime = allTimeKey();
+            redis.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                pointsByUser.forEach((userId, points) -> {
+                    stringConnection.zIncrBy(weekly, points, userId);
+                    stringConnection.zIncrBy(monthly, points, userId);
+                    stringConnection.zIncrBy(allTime, points, userId);
+                });
+                return null;
+            });
+        } catch (Exception e) {
+            System.out.println("Failed to update leaderboard caches (Redis unavailable): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Entries ranked start..end (inclusive, 0-based) with their scores, highest
+     * first. Returns null when Redis is unavailable so callers can fall back.
+     */
+    public Set<ZSetOperations.TypedTuple<String>> topWeekly(LocalDate weekStart, long start, long end) {
+        return range(weeklyKey(weekStart), start, end);
+    }
+
+    public Set<ZSetOperations.TypedTuple<String>> topMonthly(YearMonth month, long start, long end) {
+        return range(monthlyKey(month), start, end);
+    }
+
+    public Set<ZSetOperations.TypedTuple<String>> topAllTime(long start, long end) {
+        return range(allTimeKey(), start, end);
+    }
+
+    /**
+     * Number of users on the weekly board, or null when Redis is unavailable
+     */
+    public Long weeklySize(LocalDate weekStart) {
+        return size(weeklyKey(weekStart));
+    }
+
+    public Long monthlySize(YearMonth month) {
+        return size(monthlyKey(month));
+    }
+
+    public Long allTimeSize() {
+        return size(allTimeKey());
+    }
+
+    /**
+     * The member's 0-based rank in the current period's set together with the
+     * entries up to k places above and below it. Rank is null and entries empty
+     * when the member has no score. Returns null when Redis is unavailable.
+     */
+    public RankWindow rankWindow(LeaderboardPeriod period, String userId, int k) {
+        try {
+            String key = currentKey(period);
+            Long total = redis.opsForZSet().zCard(key);
+            Long rank = redis.opsForZSet().reverseRank(key, userId);
+            if (rank == null) {
+                return new RankWindow(total != null ? total : 0, null, Set.of());
+            }
+            Set<ZSetOperations.TypedTuple<String>> entries = redis.opsForZSet()
+                    .reverseRangeWithScores(key, Math.max(rank - k, 0), rank + k);
+            return new RankWindow(total != null ? total : 0, rank, entries);
+        } catch (Exception e) {
+            System.out.println("Failed to read leaderboard rank (Redis unavailable): " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Replaces the weekly, monthly and all-time sets with the given totals.
+     * Each set is written to a temporary key and renamed over the live one so
+     * readers never see a half-built board.
+     */
+    public void replaceAll(Map<String, Long> weekly, LocalDate weekStart, Map<String, Long> monthly,
+            YearMonth month, Map<String, Long> allTime) {
+        replace(weeklyKey(weekStart), weekly);
+        replace(monthlyKey(month), monthly);
+        replace(allTimeKey(), allTime);
     }
 
-    public Set<String> topMonthly(YearMonth month, long start, long end) {
-        String key = monthlyKey(month);
-        return redis.opsForZSet().reverseRange(key, start, end);
+    private void replace(String key, Map<String, Long> totals) {
+        try {
+            if (totals.isEmpty()) {
+                redis.delete(key);
+                return;
+            }
+            String tempKey = key + ":rebuild";
+            Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+            totals.forEach((userId, points) -> tuples.add(new DefaultTypedTuple<>(userId, points.doubleValue())));
+            redis.delete(tempKey);
+            redis.opsForZSet().add(tempKey, tuples);
+            redis.rename(tempKey, key);
+        } catch (Exception e) {
+            System.out.println("Failed to rebuild leaderboard cache " + key + ": " + e.getMessage());
+        }
     }
 
-    public Set<String> topAllTime(long start, long end) {
-        String key = allTimeKey();
-        return redis.opsForZSet().reverseRange(key, start, end);
+    private Set<ZSetOperations.TypedTuple<String>> range(String key, long start, long end) {
+        try {
+            return redis.opsForZSet().reverseRangeWithScores(key, start, end);
+        } catch (Exception e) {
+            System.out.println("Failed to read leaderboard cache (Redis unavailable): " + e.getMessage());
+            return null;
+        }
+    }
+
+    private Long size(String key) {
+        try {
+            return redis.opsForZSet().zCard(key);
+        } catch (Exception e) {
+            System.out.println("Failed to read leaderboard cache (Redis unavailable): " + e.getMessage());
+            return null;
+        }
     }
 }
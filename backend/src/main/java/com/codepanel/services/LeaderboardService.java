@@ -0,0 +1,327 @@
+package com.codepanel.services;
+
+import com.codepanel.models.User;
+import com.codepanel.models.UserScore;
+import com.codepanel.models.dto.LeaderboardEntryResponse;
+import com.codepanel.models.dto.LeaderboardPositionResponse;
+import com.codepanel.models.dto.LeaderboardResponse;
+import com.codepanel.models.enums.LeaderboardPeriod;
+import com.codepanel.repositories.UserScoreMonthlyRepository;
+import com.codepanel.repositories.UserScoreRepository;
+import com.codepanel.repositories.UserScoreTotalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Serves leaderboards from the Redis sorted sets kept by
+ * {@link LeaderboardCacheService}. Postgres is only read when Redis is
+ * unavailable or has no set for the requested period, and to rebuild the sets
+ * after Redis comes back empty.
+ */
+@Service
+@Slf4j
+public class LeaderboardService {
+    private final LeaderboardCacheService leaderboardCacheService;
+    private final UserProfileCache userProfileCache;
+    private final UserScoreRepository userScoreRepository;
+    private final UserScoreMonthlyRepository userScoreMonthlyRepository;
+    private final UserScoreTotalRepository userScoreTotalRepository;
+    private final long fallbackTtlMillis;
+    private final Map<LeaderboardPeriod, FallbackBoard> fallbackBoards = new ConcurrentHashMap<>();
+
+    private static final int MAX_NEIGHBOURS = 50;
+
+    public LeaderboardService(LeaderboardCacheService leaderboardCacheService,
+            UserProfileCache userProfileCache,
+            UserScoreRepository userScoreRepository,
+            UserScoreMonthlyRepository userScoreMonthlyRepository,
+            UserScoreTotalRepository userScoreTotalRepository,
+            @Value("${app.leaderboard.fallback-ttl-ms:60000}") long fallbackTtlMillis) {
+        this.leaderboardCacheService = leaderboardCacheService;
+        this.userProfileCache = userProfileCache;
+        this.userScoreRepository = userScoreRepository;
+        this.userScoreMonthlyRepository = userScoreMonthlyRepository;
+        this.userScoreTotalRepository = userScoreTotalRepository;
+        this.fallbackTtlMillis = fallbackTtlMillis;
+    }
+
+    private static class FallbackBoard {
+        private final ScoreRankTree tree;
+        private final long loadedAt;
+
+        private FallbackBoard(ScoreRankTree tree, long loadedAt) {
+            this.tree = tree;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    public Page<LeaderboardEntryResponse> getWeeklyLeaderboard(LocalDate weekStart, int page, int size) {
+        LocalDate ws = (weekStart != null) ? weekStart : LocalDate.now().with(DayOfWeek.MONDAY);
+        PageRequest pageable = PageRequest.of(page, size);
+
+        Long total = leaderboardCacheService.weeklySize(ws);
+        if (total != null && total > 0) {
+            Set<ZSetOperations.TypedTuple<String>> rows = leaderboardCacheService.topWeekly(ws,
+                    pageable.getOffset(), pageable.getOffset() + size - 1);
+            if (rows != null) {
+                Map<UUID, UserProfileCache.Profile> profiles = userProfileCache.getProfiles(memberIds(rows));
+                List<LeaderboardEntryResponse> entries = new ArrayList<>();
+                for (ZSetOperations.TypedTuple<String> row : rows) {
+                    UserProfileCache.Profile profile = profiles.get(UUID.fromString(row.getValue()));
+                    if (profile != null) {
+                        entries.add(new LeaderboardEntryResponse(row.getValue(), toEntryUserInfo(profile),
+                                ws.toString(), row.getScore().intValue()));
+                    }
+                }
+                return new PageImpl<>(entries, pageable, total);
+            }
+        }
+
+        try {
+            Page<UserScore> scores = userScoreRepository.findByWeekStartOrderByPointsDesc(ws, pageable);
+            Map<UUID, UserProfileCache.Profile> profiles = userProfileCache.getProfiles(
+                    scores.getContent().stream().map(us -> us.getUser().getId()).toList());
+            List<LeaderboardEntryResponse> entries = new ArrayList<>();
+            for (UserScore score : scores.getContent()) {
+                UserProfileCache.Profile profile = profiles.get(score.getUser().getId());
+                if (profile != null) {
+                    entries.add(new LeaderboardEntryResponse(score.getUser().getId().toString(),
+                            toEntryUserInfo(profile), ws.toString(), score.getPoints()));
+                }
+            }
+            return new PageImpl<>(entries, pageable, scores.getTotalElements());
+        } catch (Exception e) {
+            log.error("Error getting weekly leaderboard", e);
+            return Page.empty();
+        }
+    }
+
+    public List<LeaderboardResponse> getMonthlyLeaderboard(YearMonth month, int limit) {
+        YearMonth targetMonth = (month != null) ? month : YearMonth.now();
+        if (limit < 1) {
+            return List.of();
+        }
+
+        List<LeaderboardResponse> cached = fromCache(leaderboardCacheService.monthlySize(targetMonth),
+                () -> leaderboardCacheService.topMonthly(targetMonth, 0, limit - 1));
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            return fromRows(userScoreMonthlyRepository.findTopByMonthStart(targetMonth.atDay(1),
+                    PageRequest.of(0, limit)));
+        } catch (Exception e) {
+            log.error("Error getting monthly leaderboard", e);
+            return List.of();
+        }
+    }
+
+    public List<LeaderboardResponse> getAllTimeLeaderboard(int limit) {
+        if (limit < 1) {
+            return List.of();
+        }
+        List<LeaderboardResponse> cached = fromCache(leaderboardCacheService.allTimeSize(),
+                () -> leaderboardCacheService.topAllTime(0, limit - 1));
+        if (cached != null) {
+            return cached;
+        }
+
+        try {
+            return fromRows(userScoreTotalRepository.findTop(PageRequest.of(0, limit)));
+        } catch (Exception e) {
+            log.error("Error getting all-time leaderboard", e);
+            return List.of();
+        }
+    }
+
+    /**
+     * Rebuilds the current week, current month and all-time sets from
+     * the score rollup tables when Redis has no all-time set, e.g. after a restart
+     * without persistence. Older periods are served from Postgres.
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${app.leaderboard.rebuild-check-interval-ms:60000}")
+    public void rebuildIfEmpty() {
+        Long size = leaderboardCacheService.allTimeSize();
+        if (size == null || size > 0) {
+            return;
+        }
+        try {
+            LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+            YearMonth month = YearMonth.now();
+            Map<String, Long> allTime = periodTotals(LeaderboardPeriod.ALL_TIME, weekStart, month);
+            if (allTime.isEmpty()) {
+                return;
+            }
+            Map<String, Long> monthly = periodTotals(LeaderboardPeriod.MONTHLY, weekStart, month);
+            Map<String, Long> weekly = periodTotals(LeaderboardPeriod.WEEKLY, weekStart, month);
+            leaderboardCacheService.replaceAll(weekly, weekStart, monthly, month, allTime);
+            log.info("Rebuilt leaderboard caches for {} users", allTime.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild leaderboard caches", e);
+        }
+    }
+
+    /**
+     * The user's rank and points in the current period with up to k neighbours
+     * on either side. Served by ZREVRANK/ZREVRANGE, or by an in-memory
+     * order-statistic tree loaded from the score rollups when Redis has no set.
+     */
+    public LeaderboardPositionResponse getPosition(LeaderboardPeriod period, UUID userId, int k) {
+        int window = Math.max(0, Math.min(k, MAX_NEIGHBOURS));
+        String member = userId.toString();
+
+        LeaderboardCacheService.RankWindow cached = leaderboardCacheService.rankWindow(period, member, window);
+        if (cached != null && cached.getTotal() > 0) {
+            if (cached.getRank() == null) {
+                return new LeaderboardPositionResponse(period.getPath(), member, null, null, cached.getTotal(),
+                        List.of());
+            }
+            int firstRank = (int) Math.max(cached.getRank() - window, 0) + 1;
+            List<ScoreRankTree.Entry> entries = cached.getEntries().stream()
+                    .map(row -> new ScoreRankTree.Entry(row.getValue(), row.getScore().longValue()))
+                    .toList();
+            return toPosition(period, member, cached.getRank().intValue() + 1, cached.getTotal(), firstRank, entries);
+        }
+
+        ScoreRankTree tree = fallbackTree(period);
+        Integer rank = tree.rank(member);
+        if (rank == null) {
+            return new LeaderboardPositionResponse(period.getPath(), member, null, null, (long) tree.size(),
+                    List.of());
+        }
+        int firstRank = Math.max(rank - window, 0);
+        return toPosition(period, member, rank + 1, tree.size(), firstRank + 1,
+                tree.range(firstRank, rank + window));
+    }
+
+    private LeaderboardPositionResponse toPosition(LeaderboardPeriod period, String member, int rank, long total,
+            int firstRank, List<ScoreRankTree.Entry> entries) {
+        Map<UUID, UserProfileCache.Profile> profiles = userProfileCache.getProfiles(
+                entries.stream().map(entry -> UUID.fromString(entry.getMember())).toList());
+        List<LeaderboardResponse> neighbours = new ArrayList<>();
+        Integer points = null;
+        int entryRank = firstRank;
+        for (ScoreRankTree.Entry entry : entries) {
+            if (entry.getMember().equals(member)) {
+                points = (int) entry.getScore();
+            }
+            UserProfileCache.Profile profile = profiles.get(UUID.fromString(entry.getMember()));
+            if (profile != null) {
+                neighbours.add(new LeaderboardResponse(toUserInfo(profile), (int) entry.getScore(), entryRank));
+            }
+            entryRank++;
+        }
+        return new LeaderboardPositionResponse(period.getPath(), member, rank, points, total, neighbours);
+    }
+
+    /**
+     * Tree for the current period, reloaded from Postgres once it is older
+     * than the configured TTL
+     */
+    private ScoreRankTree fallbackTree(LeaderboardPeriod period) {
+        long now = System.currentTimeMillis();
+        FallbackBoard board = fallbackBoards.get(period);
+        if (board != null && board.loadedAt + fallbackTtlMillis > now) {
+            return board.tree;
+        }
+        ScoreRankTree tree = new ScoreRankTree();
+        periodTotals(period, LocalDate.now().with(DayOfWeek.MONDAY), YearMonth.now()).forEach(tree::put);
+        fallbackBoards.put(period, new FallbackBoard(tree, now));
+        return tree;
+    }
+
+    private Map<String, Long> periodTotals(LeaderboardPeriod period, LocalDate weekStart, YearMonth month) {
+        return switch (period) {
+            case WEEKLY -> totals(userScoreRepository.findPointsByWeekStart(weekStart));
+            case MONTHLY -> totals(userScoreMonthlyRepository.findPointsByMonthStart(month.atDay(1)));
+            case ALL_TIME -> totals(userScoreTotalRepository.findAllPoints());
+        };
+    }
+
+    private List<LeaderboardResponse> fromCache(Long size,
+            Supplier<Set<ZSetOperations.TypedTuple<String>>> range) {
+        if (size == null || size == 0) {
+            return null;
+        }
+        Set<ZSetOperations.TypedTuple<String>> rows = range.get();
+        if (rows == null) {
+            return null;
+        }
+        Map<UUID, UserProfileCache.Profile> profiles = userProfileCache.getProfiles(memberIds(rows));
+        List<LeaderboardResponse> entries = new ArrayList<>();
+        int rank = 1;
+        for (ZSetOperations.TypedTuple<String> row : rows) {
+            UserProfileCache.Profile profile = profiles.get(UUID.fromString(row.getValue()));
+            if (profile != null) {
+                entries.add(new LeaderboardResponse(toUserInfo(profile), row.getScore().intValue(), rank));
+            }
+            rank++;
+        }
+        return entries;
+    }
+
+    private List<LeaderboardResponse> fromRows(List<Object[]> rows) {
+        List<LeaderboardResponse> entries = new ArrayList<>();
+        int rank = 1;
+        for (Object[] row : rows) {
+            User user = (User) row[0];
+            Number points = (Number) row[1];
+            LeaderboardResponse.UserInfo userInfo = new LeaderboardResponse.UserInfo(
+                    user.getId().toString(),
+                    user.getFirstName(),
+                    user.getLastName(),
+                    user.getEmail(),
+                    user.getProfilePictureUrl());
+            entries.add(new LeaderboardResponse(userInfo, points.intValue(), rank++));
+        }
+        return entries;
+    }
+
+    private List<UUID> memberIds(Set<ZSetOperations.TypedTuple<String>> rows) {
+        return rows.stream().map(row -> UUID.fromString(row.getValue())).toList();
+    }
+
+    private Map<String, Long> totals(List<Object[]> rows) {
+        Map<String, Long> totals = new HashMap<>();
+        for (Object[] row : rows) {
+            totals.put(row[0].toString(), ((Number) row[1]).longValue());
+        }
+        return totals;
+    }
+
+    private LeaderboardEntryResponse.UserInfo toEntryUserInfo(UserProfileCache.Profile profile) {
+        return new LeaderboardEntryResponse.UserInfo(
+                profile.getId().toString(),
+                profile.getFirstName(),
+                profile.getLastName(),
+                profile.getProfilePictureUrl());
+    }
+
+    private LeaderboardResponse.UserInfo toUserInfo(UserProfileCache.Profile profile) {
+        return new LeaderboardResponse.UserInfo(
+                profile.getId().toString(),
+                profile.getFirstName(),
+                profile.getLastName(),
+                profile.getEmail(),
+                profile.getProfilePictureUrl());
+    }
+}
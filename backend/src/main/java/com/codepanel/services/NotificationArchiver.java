@@ -0,0 +1,59 @@
+package com.codepanel.services;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * Moves read notifications older than the retention window from notifications into
+ * notifications_archive, in small batches so each statement holds its locks briefly.
+ */
+@Service
+@Slf4j
+public class NotificationArchiver {
+    private static final String COLUMNS = "id, created_at, updated_at, recipient_id, type, title, message, " +
+            "is_read, related_entity_id, related_entity_type, action_url, read_at";
+
+    private static final String ARCHIVE_BATCH = "WITH moved AS (" +
+            "DELETE FROM notifications WHERE id IN (" +
+            "SELECT id FROM notifications WHERE is_read = true AND created_at < ? " +
+            "ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+            "RETURNING " + COLUMNS + ") " +
+            "INSERT INTO notifications_archive (" + COLUMNS + ") SELECT " + COLUMNS + " FROM moved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public NotificationArchiver(JdbcTemplate jdbcTemplate,
+            @Value("${app.notifications.archive.retention-days:90}") int retentionDays,
+            @Value("${app.notifications.archive.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.notifications.archive.cron:0 30 3 * * *}")
+    public void archiveReadNotifications() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        long archived = 0;
+        try {
+            int moved;
+            do {
+                moved = jdbcTemplate.update(ARCHIVE_BATCH, cutoff, batchSize);
+                archived += moved;
+            } while (moved == batchSize);
+        } catch (Exception e) {
+            log.error("Archiving failed after {} rows", archived, e);
+            return;
+        }
+        if (archived > 0) {
+            log.info("Archived {} read notifications older than {} days", archived, retentionDays);
+        }
+    }
+}
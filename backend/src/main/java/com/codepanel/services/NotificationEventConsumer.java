@@ -7,28 +7,42 @@ import com.codepanel.models.events.AssignmentGradedEvent;
 import com.codepanel.models.events.AssignmentSubmittedEvent;
 import com.codepanel.models.events.CommentCreatedEvent;
 import com.codepanel.models.events.EmailNotificationEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 @Component
+@Slf4j
 public class NotificationEventConsumer {
 
     private final NotificationService notificationService;
     private final NotificationEventPublisher notificationEventPublisher;
     // private final EmailService emailService;
     private final WebSocketNotificationService webSocketService;
+    private final RabbitTemplate rabbitTemplate;
 
     public NotificationEventConsumer(NotificationService notificationService,
             NotificationEventPublisher notificationEventPublisher,
             // EmailService emailService,
-            WebSocketNotificationService webSocketService) {
+            WebSocketNotificationService webSocketService,
+            RabbitTemplate rabbitTemplate) {
         this.notificationService = notificationService;
         this.notificationEventPublisher = notificationEventPublisher;
         // this.emailService = emailService;
         this.webSocketService = webSocketService;
+        this.rabbitTemplate = rabbitTemplate;
     }
 
-    @RabbitListener(queues = NotificationRabbitConfig.COMMENT_NOTIFICATION_QUEUE)
+    @RabbitListener(queues = NotificationRabbitConfig.COMMENT_NOTIFICATION_QUEUE,
+            autoStartup = "#{!${app.notifications.batch.enabled:false}}")
     public void handleCommentCreatedEvent(CommentCreatedEvent event) {
         try {
             System.out.println("Processing comment created event: " + event);
@@ -39,12 +53,15 @@ public class NotificationEventConsumer {
                 System.out.println("Successfully created notification with ID: " + notification.getId() +
                         " for comment: " + event.getCommentId());
 
-                // Send real-time WebSocket notification
-                webSocketService.sendNotificationToUser(event.getPostAuthorId(), notification);
+                // Offline users pick the notification up from the list when they reconnect
+                if (webSocketService.isUserOnline(event.getPostAuthorId())) {
+                    // Send real-time WebSocket notification
+                    webSocketService.sendNotificationToUser(event.getPostAuthorId(), notification);
 
-                // Update unread count
-                Long unreadCount = notificationService.getUnreadCount(notification.getRecipient());
-                webSocketService.sendUnreadCountToUser(event.getPostAuthorId(), unreadCount);
+                    // Update unread count
+                    Long unreadCount = notificationService.getUnreadCount(notification.getRecipient());
+                    webSocketService.sendUnreadCountToUser(event.getPostAuthorId(), unreadCount);
+                }
             } else {
                 System.out.println("No notification created for comment event: " + event);
             }
@@ -55,7 +72,8 @@ public class NotificationEventConsumer {
         }
     }
 
-    @RabbitListener(queues = NotificationRabbitConfig.ASSIGNMENT_NOTIFICATION_QUEUE)
+    @RabbitListener(queues = NotificationRabbitConfig.ASSIGNMENT_NOTIFICATION_QUEUE,
+            autoStartup = "#{!${app.notifications.batch.enabled:false}}")
     public void handleAssignmentGradedEvent(AssignmentGradedEvent event) {
         try {
             System.out.println("Processing assignment graded event: " + event);
@@ -66,12 +84,15 @@ public class NotificationEventConsumer {
                 System.out
                         .println("Successfully created notification for graded assignment: " + event.getSubmissionId());
 
-                // Send real-time WebSocket notification
-                webSocketService.sendNotificationToUser(event.getStudentId(), notification);
+                // Offline users pick the notification up from the list when they reconnect
+                if (webSocketService.isUserOnline(event.getStudentId())) {
+                    // Send real-time WebSocket notification
+                    webSocketService.sendNotificationToUser(event.getStudentId(), notification);
 
-                // Update unread count
-                Long unreadCount = notificationService.getUnreadCount(notification.getRecipient());
-                webSocketService.sendUnreadCountToUser(event.getStudentId(), unreadCount);
+                    // Update unread count
+                    Long unreadCount = notificationService.getUnreadCount(notification.getRecipient());
+                    webSocketService.sendUnreadCountToUser(event.getStudentId(), unreadCount);
+                }
             } else {
                 System.out.println("No notification created for graded assignment event: " + event);
             }
@@ -82,7 +103,8 @@ public class NotificationEventConsumer {
         }
     }
 
-    @RabbitListener(queues = NotificationRabbitConfig.ASSIGNMENT_NOTIFICATION_QUEUE)
+    @RabbitListener(queues = NotificationRabbitConfig.ASSIGNMENT_NOTIFICATION_QUEUE,
+            autoStartup = "#{!${app.notifications.batch.enabled:false}}")
     public void handleAssignmentSubmittedEvent(AssignmentSubmittedEvent event) {
         try {
             System.out.println("Processing assignment submitted event: " + event);
@@ -94,13 +116,16 @@ public class NotificationEventConsumer {
                         .println("Successfully created notification for submitted assignment: "
                                 + event.getSubmissionId());
 
-                // Send real-time WebSocket notification
-                webSocketService.sendNotificationToUser(event.getInstructorId(), notification);
+                // Offline users pick the notification up from the list when they reconnect
+                if (webSocketService.isUserOnline(event.getInstructorId())) {
+                    // Send real-time WebSocket notification
+                    webSocketService.sendNotificationToUser(event.getInstructorId(), notification);
 
-                // Update unread count
-                Long unreadCount = notificationService.getUnreadCount(notification.getRecipient());
-                System.out.println("Unread count: " + unreadCount);
-                webSocketService.sendUnreadCountToUser(event.getInstructorId(), unreadCount);
+                    // Update unread count
+                    Long unreadCount = notificationService.getUnreadCount(notification.getRecipient());
+                    System.out.println("Unread count: " + unreadCount);
+                    webSocketService.sendUnreadCountToUser(event.getInstructorId(), unreadCount);
+                }
             } else {
                 System.out.println("No notification created for submitted assignment event: " + event);
             }
@@ -111,7 +136,8 @@ public class NotificationEventConsumer {
         }
     }
 
-    @RabbitListener(queues = NotificationRabbitConfig.ACHIEVEMENT_NOTIFICATION_QUEUE)
+    @RabbitListener(queues = NotificationRabbitConfig.ACHIEVEMENT_NOTIFICATION_QUEUE,
+            autoStartup = "#{!${app.notifications.batch.enabled:false}}")
     public void handleAchievementAwardedEvent(AchievementAwardedEvent event) {
         try {
             System.out.println("Processing achievement awarded event: " + event);
@@ -123,12 +149,15 @@ public class NotificationEventConsumer {
                         .println("Successfully created notification for achievement awarded: "
                                 + event.getAchievementId());
 
-                // Send real-time WebSocket notification
-                webSocketService.sendNotificationToUser(event.getUserId(), notification);
+                // Offline users pick the notification up from the list when they reconnect
+                if (webSocketService.isUserOnline(event.getUserId())) {
+                    // Send real-time WebSocket notification
+                    webSocketService.sendNotificationToUser(event.getUserId(), notification);
 
-                // Update unread count
-                Long unreadCount = notificationService.getUnreadCount(notification.getRecipient());
-                webSocketService.sendUnreadCountToUser(event.getUserId(), unreadCount);
+                    // Update unread count
+                    Long unreadCount = notificationService.getUnreadCount(notification.getRecipient());
+                    webSocketService.sendUnreadCountToUser(event.getUserId(), unreadCount);
+                }
             } else {
                 System.out.println("No notification created for achievement awarded event: " + event);
             }
@@ -139,6 +168,76 @@ public class NotificationEventConsumer {
         }
     }
 
+    /**
+     * Batch mode, enabled with app.notifications.batch.enabled: drains up to
+     * app.notifications.batch.size messages from all notification queues, inserts them together
+     * and pushes one frame per recipient.
+     */
+    @RabbitListener(queues = {
+            NotificationRabbitConfig.COMMENT_NOTIFICATION_QUEUE,
+            NotificationRabbitConfig.ASSIGNMENT_NOTIFICATION_QUEUE,
+            NotificationRabbitConfig.ACHIEVEMENT_NOTIFICATION_QUEUE },
+            containerFactory = NotificationRabbitConfig.BATCH_CONTAINER_FACTORY,
+            autoStartup = "${app.notifications.batch.enabled:false}")
+    public void handleEvents(List<Message> messages) {
+        log.info("Processing notification batch of {} events", messages.size());
+
+        List<Message> converted = new ArrayList<>(messages.size());
+        List<Object> events = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            try {
+                events.add(rabbitTemplate.getMessageConverter().fromMessage(message));
+                converted.add(message);
+            } catch (Exception e) {
+                log.error("Unreadable notification message {}", message.getMessageProperties().getMessageId(), e);
+                deadLetter(message);
+            }
+        }
+
+        Map<UUID, List<Notification>> created;
+        try {
+            created = notificationService.createNotifications(events);
+        } catch (Exception e) {
+            log.warn("Notification batch insert failed, retrying events one by one", e);
+            created = createEachOrDeadLetter(converted, events);
+        }
+
+        Map<UUID, Long> unreadCounts = notificationService.addToUnreadCounts(created);
+        created.forEach((recipientId, notifications) -> {
+            if (webSocketService.isUserOnline(recipientId)) {
+                webSocketService.sendNotificationsToUser(recipientId, notifications, unreadCounts.get(recipientId));
+            }
+        });
+    }
+
+    /**
+     * Inserts every event in its own transaction so a single bad event only
+     * dead-letters its own message instead of sending the batch back forever.
+     */
+    private Map<UUID, List<Notification>> createEachOrDeadLetter(List<Message> messages, List<Object> events) {
+        Map<UUID, List<Notification>> created = new LinkedHashMap<>();
+        for (int i = 0; i < events.size(); i++) {
+            try {
+                notificationService.createNotifications(List.of(events.get(i))).forEach((recipientId, notifications) ->
+                        created.computeIfAbsent(recipientId, id -> new ArrayList<>()).addAll(notifications));
+            } catch (Exception e) {
+                log.error("Failed to create notification for event {}", events.get(i), e);
+                deadLetter(messages.get(i));
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Routes a message to the dead-letter queue of the queue it came from,
+     * the same place the broker puts rejected or expired messages.
+     */
+    private void deadLetter(Message message) {
+        String queue = message.getMessageProperties().getConsumerQueue();
+        rabbitTemplate.send(NotificationRabbitConfig.NOTIFICATIONS_DLX,
+                NotificationRabbitConfig.deadLetterQueueOf(queue), message);
+    }
+
     // @RabbitListener(queues = NotificationRabbitConfig.EMAIL_NOTIFICATION_QUEUE)
     // public void handleEmailNotificationEvent(EmailNotificationEvent event) {
     // try {
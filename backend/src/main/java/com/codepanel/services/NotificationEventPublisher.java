@@ -6,27 +6,22 @@ import com.codepanel.models.events.AssignmentGradedEvent;
 import com.codepanel.models.events.AssignmentSubmittedEvent;
 import com.codepanel.models.events.CommentCreatedEvent;
 import com.codepanel.models.events.EmailNotificationEvent;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 
 @Service
 public class NotificationEventPublisher {
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxService outboxService;
 
-    public NotificationEventPublisher(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
+    public NotificationEventPublisher(OutboxService outboxService) {
+        this.outboxService = outboxService;
     }
 
     public void publishCommentCreated(CommentCreatedEvent event) {
-        try {
-            System.out.println("Publishing comment created event for comment ID: " + event.getCommentId());
-            rabbitTemplate.convertAndSend(
-                    NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
-                    NotificationRabbitConfig.COMMENT_CREATED_ROUTING_KEY,
-                    event);
-        } catch (Exception e) {
-            System.out.println("Failed to publish comment created event: " + e.getMessage());
-        }
+        System.out.println("Publishing comment created event for comment ID: " + event.getCommentId());
+        outboxService.enqueue(
+                NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
+                NotificationRabbitConfig.COMMENT_CREATED_ROUTING_KEY,
+                event);
     }
 
     // public void publishAssignmentDue(AssignmentDueEvent event) {
@@ -42,50 +37,34 @@ public class NotificationEventPublisher {
     // }
 
     public void publishAssignmentGraded(AssignmentGradedEvent event) {
-        try {
-            System.out.println("Publishing assignment graded event for submission ID: " + event.getSubmissionId());
-            rabbitTemplate.convertAndSend(
-                    NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
-                    NotificationRabbitConfig.ASSIGNMENT_GRADED_ROUTING_KEY,
-                    event);
-        } catch (Exception e) {
-            System.out.println("Failed to publish assignment graded event: " + e.getMessage());
-        }
+        System.out.println("Publishing assignment graded event for submission ID: " + event.getSubmissionId());
+        outboxService.enqueue(
+                NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
+                NotificationRabbitConfig.ASSIGNMENT_GRADED_ROUTING_KEY,
+                event);
     }
 
     public void publishAssignmentSubmitted(AssignmentSubmittedEvent event) {
-        try {
-            System.out.println("Publishing assignment submitted event for submission ID: " + event.getSubmissionId());
-            rabbitTemplate.convertAndSend(
-                    NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
-                    NotificationRabbitConfig.ASSIGNMENT_SUBMITTED_ROUTING_KEY,
-                    event);
-        } catch (Exception e) {
-            System.out.println("Failed to publish assignment submitted event: " + e.getMessage());
-        }
+        System.out.println("Publishing assignment submitted event for submission ID: " + event.getSubmissionId());
+        outboxService.enqueue(
+                NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
+                NotificationRabbitConfig.ASSIGNMENT_SUBMITTED_ROUTING_KEY,
+                event);
     }
 
     public void publishAchievementAwarded(AchievementAwardedEvent event) {
-        try {
-            System.out.println("Publishing achievement awarded event for user ID: " + event.getUserId());
-            rabbitTemplate.convertAndSend(
-                    NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
-                    NotificationRabbitConfig.ACHIEVEMENT_AWARDED_ROUTING_KEY,
-                    event);
-        } catch (Exception e) {
-            System.out.println("Failed to publish achievement awarded event: " + e.getMessage());
-        }
+        System.out.println("Publishing achievement awarded event for user ID: " + event.getUserId());
+        outboxService.enqueue(
+                NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
+                NotificationRabbitConfig.ACHIEVEMENT_AWARDED_ROUTING_KEY,
+                event);
     }
 
     public void publishEmailNotification(EmailNotificationEvent event) {
-        try {
-            System.out.println("Publishing email notification event for recipient: " + event.getRecipientEmail());
-            rabbitTemplate.convertAndSend(
-                    NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
-                    NotificationRabbitConfig.EMAIL_NOTIFICATION_ROUTING_KEY,
-                    event);
-        } catch (Exception e) {
-            System.out.println("Failed to publish email notification event: " + e.getMessage());
-        }
+        System.out.println("Publishing email notification event for recipient: " + event.getRecipientEmail());
+        outboxService.enqueue(
+                NotificationRabbitConfig.NOTIFICATIONS_EXCHANGE,
+                NotificationRabbitConfig.EMAIL_NOTIFICATION_ROUTING_KEY,
+                event);
     }
 }
@@ -2,6 +2,8 @@ package com.codepanel.services;
 
 import com.codepanel.models.Notification;
 import com.codepanel.models.User;
+import com.codepanel.models.dto.CursorPage;
+import com.codepanel.models.dto.PageCursor;
 import com.codepanel.models.enums.NotificationType;
 import com.codepanel.models.events.AchievementAwardedEvent;
 import com.codepanel.models.events.AssignmentGradedEvent;
@@ -10,14 +12,23 @@ import com.codepanel.models.events.CommentCreatedEvent;
 import com.codepanel.repositories.NotificationRepository;
 import com.codepanel.repositories.UserRepository;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.CacheEvict;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 @Service
 @Slf4j
@@ -25,14 +36,16 @@ public class NotificationService {
 
     private final NotificationRepository notificationRepository;
     private final UserRepository userRepository;
+    private final UnreadCountService unreadCountService;
 
-    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository) {
+    public NotificationService(NotificationRepository notificationRepository, UserRepository userRepository,
+            UnreadCountService unreadCountService) {
         this.notificationRepository = notificationRepository;
         this.userRepository = userRepository;
+        this.unreadCountService = unreadCountService;
     }
 
     @Transactional
-    @CacheEvict(cacheNames = {"notifUnreadCount"}, key = "#event.postAuthorId")
     public Notification createCommentNotification(CommentCreatedEvent event) {
         System.out.println("Creating comment notification for event: " + event);
         
@@ -44,134 +57,255 @@ public class NotificationService {
         User recipient = userRepository.findById(event.getPostAuthorId())
                 .orElseThrow(() -> new RuntimeException("Post author not found: " + event.getPostAuthorId()));
 
-        Notification notification = Notification.builder()
-                .recipient(recipient)
-                .type(NotificationType.COMMENT)
-                .title("New comment on your problem post")
-                .message(String.format("%s commented on your post \"%s\": %s", 
-                        event.getCommentAuthorName(),
-                        event.getProblemPostTitle(),
-                        truncateMessage(event.getCommentContent(), 200)))
-                .relatedEntityId(event.getProblemPostId())
-                .relatedEntityType("PROBLEM_POST")
-                .actionUrl("/problems/" + event.getProblemPostId())
-                .isRead(false)
-                .build();
+        Notification notification = commentNotification(event, recipient);
 
         Notification savedNotification = notificationRepository.save(notification);
+        AfterCommit.run(() -> unreadCountService.add(recipient.getId(), 1));
         System.out.println("Created notification with ID: " + savedNotification.getId());
         
         return savedNotification;
     }
 
     @Transactional
-    @CacheEvict(cacheNames = {"notifUnreadCount"}, key = "#event.studentId")
     public Notification createAssignmentGradedNotification(AssignmentGradedEvent event) {
         System.out.println("Creating assignment graded notification for event: " + event);
         
         User recipient = userRepository.findById(event.getStudentId())
                 .orElseThrow(() -> new RuntimeException("Student not found: " + event.getStudentId()));
 
-        Notification notification = Notification.builder()
-                .recipient(recipient)
-                .type(NotificationType.ASSIGNMENT_GRADED)
-                .title("Assignment graded")
-                .message(String.format("Your assignment \"%s\" has been graded. Score: %d/100", 
-                        event.getAssignmentTitle(),
-                        event.getScore()))
-                .relatedEntityId(event.getSubmissionId())
-                .relatedEntityType("ASSIGNMENT_SUBMISSION")
-                .actionUrl("/submissions/" + event.getSubmissionId())
-                .isRead(false)
-                .build();
+        Notification notification = assignmentGradedNotification(event, recipient);
 
         Notification savedNotification = notificationRepository.save(notification);
+        AfterCommit.run(() -> unreadCountService.add(recipient.getId(), 1));
         System.out.println("Created assignment graded notification with ID: " + savedNotification.getId());
         
         return savedNotification;
     }
 
     @Transactional
-    @CacheEvict(cacheNames = {"notifUnreadCount"}, key = "#event.instructorId")
     public Notification createAssignmentSubmittedNotification(AssignmentSubmittedEvent event) {
         System.out.println("Creating assignment submitted notification for event: " + event);
         
         User recipient = userRepository.findById(event.getInstructorId())
                 .orElseThrow(() -> new RuntimeException("Instructor not found: " + event.getInstructorId()));
 
-        Notification notification = Notification.builder()
-                .recipient(recipient)
-                .type(NotificationType.ASSIGNMENT_SUBMITTED)
-                .title("New assignment submission")
-                .message(String.format("%s submitted their solution for assignment \"%s\"", 
-                        event.getStudentName(),
-                        event.getAssignmentTitle()))
-                .relatedEntityId(event.getSubmissionId())
-                .relatedEntityType("ASSIGNMENT_SUBMISSION")
-                .actionUrl("/submissions/" + event.getSubmissionId())
-                .isRead(false)
-                .build();
+        Notification notification = assignmentSubmittedNotification(event, recipient);
 
         Notification savedNotification = notificationRepository.save(notification);
+        AfterCommit.run(() -> unreadCountService.add(recipient.getId(), 1));
         System.out.println("Created assignment submitted notification with ID: " + savedNotification.getId());
         
         return savedNotification;
     }
 
     @Transactional
-    @CacheEvict(cacheNames = {"notifUnreadCount"}, key = "#event.userId")
     public Notification createAchievementAwardedNotification(AchievementAwardedEvent event) {
         System.out.println("Creating achievement awarded notification for event: " + event);
         
         User recipient = userRepository.findById(event.getUserId())
                 .orElseThrow(() -> new RuntimeException("User not found: " + event.getUserId()));
 
-        Notification notification = Notification.builder()
-                .recipient(recipient)
-                .type(NotificationType.ACHIEVEMENT_AWARDED)
-                .title("Achievement unlocked!")
-                .message(String.format("Congratulations! You've earned the \"%s\" achievement and gained %d points!", 
-                        event.getAchievementName(),
-                        event.getPointsReward()))
-                .relatedEntityId(event.getAchievementId())
-                .relatedEntityType("ACHIEVEMENT")
-                .actionUrl(null)
-                .isRead(false)
-                .build();
+        Notification notification = achievementAwardedNotification(event, recipient);
 
         Notification savedNotification = notificationRepository.save(notification);
+        AfterCommit.run(() -> unreadCountService.add(recipient.getId(), 1));
         System.out.println("Created achievement awarded notification with ID: " + savedNotification.getId());
         
         return savedNotification;
     }
 
+    /**
+     * Creates the notifications for a batch of events in one insert batch, grouped by recipient.
+     * Self-comments, unknown event types and recipients that no longer exist are skipped.
+     */
+    @Transactional
+    public Map<UUID, List<Notification>> createNotifications(List<?> events) {
+        Map<UUID, List<Object>> eventsByRecipient = new LinkedHashMap<>();
+        for (Object event : events) {
+            UUID recipientId = recipientOf(event);
+            if (recipientId != null) {
+                eventsByRecipient.computeIfAbsent(recipientId, id -> new ArrayList<>()).add(event);
+            }
+        }
+        if (eventsByRecipient.isEmpty()) {
+            return Map.of();
+        }
+
+        Set<UUID> existing = new HashSet<>(userRepository.findExistingIds(eventsByRecipient.keySet()));
+        List<Notification> drafts = new ArrayList<>();
+        for (Map.Entry<UUID, List<Object>> entry : eventsByRecipient.entrySet()) {
+            if (!existing.contains(entry.getKey())) {
+                log.warn("Skipping {} notifications - recipient not found: {}", entry.getValue().size(),
+                        entry.getKey());
+                continue;
+            }
+            User recipient = userRepository.getReferenceById(entry.getKey());
+            for (Object event : entry.getValue()) {
+                drafts.add(buildNotification(event, recipient));
+            }
+        }
+
+        Map<UUID, List<Notification>> created = new LinkedHashMap<>();
+        for (Notification notification : notificationRepository.saveAll(drafts)) {
+            created.computeIfAbsent(notification.getRecipient().getId(), id -> new ArrayList<>()).add(notification);
+        }
+        log.debug("Created {} notifications for {} recipients", drafts.size(), created.size());
+        return created;
+    }
+
+    /**
+     * Adds each recipient's new notifications to their unread counter. Call after the insert has
+     * committed. Returns the resulting count per recipient.
+     */
+    public Map<UUID, Long> addToUnreadCounts(Map<UUID, List<Notification>> created) {
+        Map<UUID, Long> deltas = new HashMap<>();
+        created.forEach((recipientId, notifications) -> deltas.put(recipientId, (long) notifications.size()));
+        return unreadCountService.add(deltas);
+    }
+
     @Transactional(readOnly = true)
     public Page<Notification> getUserNotifications(User user, Pageable pageable) {
         return notificationRepository.findByRecipientOrderByCreatedAtDesc(user, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<Notification> getUserNotificationFeed(User user, String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (after != null && after.getSortKey() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        int pageSize = CursorPage.clampSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Notification> notifications = after == null
+                ? notificationRepository.findFeedByRecipient(user, limit)
+                : notificationRepository.findFeedByRecipientAfter(user, after.getSortKey(), after.getId(), limit);
+
+        return CursorPage.of(notifications, pageSize,
+                notification -> new PageCursor(notification.getCreatedAt(), notification.getId()),
+                Function.identity());
+    }
+
     @Transactional(readOnly = true)
     public Page<Notification> getUnreadNotifications(User user, Pageable pageable) {
         return notificationRepository.findUnreadByRecipientOrderByCreatedAtDesc(user, pageable);
     }
 
-    @Transactional(readOnly = true)
-    @Cacheable(cacheNames = "notifUnreadCount", key = "#user.id")
     public Long getUnreadCount(User user) {
-        return notificationRepository.countUnreadByRecipient(user);
+        return unreadCountService.get(user.getId());
     }
 
     @Transactional
-    @CacheEvict(cacheNames = {"notifUnreadCount"}, key = "#user.id")
     public boolean markAsRead(UUID notificationId, User user) {
-        int updated = notificationRepository.markAsReadById(notificationId, user);
-        return updated > 0;
+        int updated = notificationRepository.markUnreadAsReadById(notificationId, user);
+        if (updated > 0) {
+            AfterCommit.run(() -> unreadCountService.add(user.getId(), -updated));
+            return true;
+        }
+        return notificationRepository.existsByIdAndRecipient(notificationId, user);
     }
 
     @Transactional
-    @CacheEvict(cacheNames = {"notifUnreadCount"}, key = "#user.id")
     public int markAllAsRead(User user) {
-        return notificationRepository.markAllAsReadByRecipient(user);
+        int updated = notificationRepository.markAllAsReadByRecipient(user);
+        if (updated > 0) {
+            AfterCommit.run(() -> unreadCountService.add(user.getId(), -updated));
+        }
+        return updated;
+    }
+
+    private UUID recipientOf(Object event) {
+        if (event instanceof CommentCreatedEvent comment) {
+            if (comment.getCommentAuthorId().equals(comment.getPostAuthorId())) {
+                return null;
+            }
+            return comment.getPostAuthorId();
+        }
+        if (event instanceof AssignmentGradedEvent graded) {
+            return graded.getStudentId();
+        }
+        if (event instanceof AssignmentSubmittedEvent submitted) {
+            return submitted.getInstructorId();
+        }
+        if (event instanceof AchievementAwardedEvent awarded) {
+            return awarded.getUserId();
+        }
+        log.warn("Skipping notification - unsupported event: {}", event);
+        return null;
+    }
+
+    private Notification buildNotification(Object event, User recipient) {
+        if (event instanceof CommentCreatedEvent comment) {
+            return commentNotification(comment, recipient);
+        }
+        if (event instanceof AssignmentGradedEvent graded) {
+            return assignmentGradedNotification(graded, recipient);
+        }
+        if (event instanceof AssignmentSubmittedEvent submitted) {
+            return assignmentSubmittedNotification(submitted, recipient);
+        }
+        return achievementAwardedNotification((AchievementAwardedEvent) event, recipient);
+    }
+
+    private Notification commentNotification(CommentCreatedEvent event, User recipient) {
+        return Notification.builder()
+                .recipient(recipient)
+                .type(NotificationType.COMMENT)
+                .title("New comment on your problem post")
+                .message(String.format("%s commented on your post \"%s\": %s", 
+                        event.getCommentAuthorName(),
+                        event.getProblemPostTitle(),
+                        truncateMessage(event.getCommentContent(), 200)))
+                .relatedEntityId(event.getProblemPostId())
+                .relatedEntityType("PROBLEM_POST")
+                .actionUrl("/problems/" + event.getProblemPostId())
+                .isRead(false)
+                .build();
+    }
+
+    private Notification assignmentGradedNotification(AssignmentGradedEvent event, User recipient) {
+        return Notification.builder()
+                .recipient(recipient)
+                .type(NotificationType.ASSIGNMENT_GRADED)
+                .title("Assignment graded")
+                .message(String.format("Your assignment \"%s\" has been graded. Score: %d/100", 
+                        event.getAssignmentTitle(),
+                        event.getScore()))
+                .relatedEntityId(event.getSubmissionId())
+                .relatedEntityType("ASSIGNMENT_SUBMISSION")
+                .actionUrl("/submissions/" + event.getSubmissionId())
+                .isRead(false)
+                .build();
+    }
+
+    private Notification assignmentSubmittedNotification(AssignmentSubmittedEvent event, User recipient) {
+        return Notification.builder()
+                .recipient(recipient)
+                .type(NotificationType.ASSIGNMENT_SUBMITTED)
+                .title("New assignment submission")
+                .message(String.format("%s submitted their solution for assignment \"%s\"", 
+                        event.getStudentName(),
+                        event.getAssignmentTitle()))
+                .relatedEntityId(event.getSubmissionId())
+                .relatedEntityType("ASSIGNMENT_SUBMISSION")
+                .actionUrl("/submissions/" + event.getSubmissionId())
+                .isRead(false)
+                .build();
+    }
+
+    private Notification achievementAwardedNotification(AchievementAwardedEvent event, User recipient) {
+        return Notification.builder()
+                .recipient(recipient)
+                .type(NotificationType.ACHIEVEMENT_AWARDED)
+                .title("Achievement unlocked!")
+                .message(String.format("Congratulations! You've earned the \"%s\" achievement and gained %d points!", 
+                        event.getAchievementName(),
+                        event.getPointsReward()))
+                .relatedEntityId(event.getAchievementId())
+                .relatedEntityType("ACHIEVEMENT")
+                .actionUrl(null)
+                .isRead(false)
+                .build();
     }
 
     private String truncateMessage(String message, int maxLength) {
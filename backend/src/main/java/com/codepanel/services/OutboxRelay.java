@@ -0,0 +1,124 @@
+package com.codepanel.services;
+
+import com.codepanel.models.OutboxMessage;
+import com.codepanel.repositories.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes outbox messages in batches. Each batch is claimed with
+ * FOR UPDATE SKIP LOCKED so several instances can relay side by side, sent
+ * with publisher confirms, and only deleted once the broker acks it. Nacked
+ * or timed-out messages are retried with exponential backoff.
+ */
+@Service
+@Slf4j
+public class OutboxRelay {
+    private static final long MAX_BACKOFF_SECONDS = 300;
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMillis;
+
+    public OutboxRelay(OutboxMessageRepository outboxMessageRepository,
+            RabbitTemplate rabbitTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.outbox.batch-size:100}") int batchSize,
+            @Value("${app.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMillis) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMillis = confirmTimeoutMillis;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer relayed;
+            do {
+                relayed = transactionTemplate.execute(status -> relayBatch());
+            } while (relayed != null && relayed == batchSize);
+        } catch (Exception e) {
+            log.error("Outbox relay failed", e);
+        }
+    }
+
+    private int relayBatch() {
+        List<OutboxMessage> batch = outboxMessageRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Map<OutboxMessage, CorrelationData> sent = new LinkedHashMap<>();
+        for (OutboxMessage outboxMessage : batch) {
+            CorrelationData correlation = new CorrelationData(outboxMessage.getId().toString());
+            try {
+                rabbitTemplate.send(outboxMessage.getExchange(), outboxMessage.getRoutingKey(),
+                        toMessage(outboxMessage), correlation);
+                sent.put(outboxMessage, correlation);
+            } catch (Exception e) {
+                scheduleRetry(outboxMessage, e.getMessage());
+            }
+        }
+
+        List<UUID> delivered = new ArrayList<>();
+        for (Map.Entry<OutboxMessage, CorrelationData> entry : sent.entrySet()) {
+            try {
+                CorrelationData.Confirm confirm = entry.getValue().getFuture()
+                        .get(confirmTimeoutMillis, TimeUnit.MILLISECONDS);
+                if (confirm.isAck()) {
+                    delivered.add(entry.getKey().getId());
+                } else {
+                    scheduleRetry(entry.getKey(), "Nacked: " + confirm.getReason());
+                }
+            } catch (Exception e) {
+                scheduleRetry(entry.getKey(), "No confirm: " + e.getMessage());
+            }
+        }
+
+        if (!delivered.isEmpty()) {
+            outboxMessageRepository.deleteAllByIdInBatch(delivered);
+        }
+        return batch.size();
+    }
+
+    private Message toMessage(OutboxMessage outboxMessage) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setMessageId(outboxMessage.getId().toString());
+        if (outboxMessage.getPayloadType() != null) {
+            properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, outboxMessage.getPayloadType());
+        }
+        return new Message(outboxMessage.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    private void scheduleRetry(OutboxMessage outboxMessage, String error) {
+        int attempts = outboxMessage.getAttempts() + 1;
+        long backoffSeconds = Math.min(1L << Math.min(attempts, 16), MAX_BACKOFF_SECONDS);
+        outboxMessage.setAttempts(attempts);
+        outboxMessage.setAvailableAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+        outboxMessage.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        log.warn("Outbox message {} not delivered (attempt {}): {}", outboxMessage.getId(), attempts, error);
+    }
+}
@@ -0,0 +1,43 @@
+package com.codepanel.services;
+
+import com.codepanel.models.OutboxMessage;
+import com.codepanel.repositories.OutboxMessageRepository;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+/**
+ * Entry point of the transactional outbox. Events are serialized with the
+ * broker's message converter and stored in the caller's transaction, so they
+ * are published if and only if that transaction commits, and the request
+ * never waits on RabbitMQ. {@link OutboxRelay} does the actual publishing.
+ */
+@Service
+public class OutboxService {
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final RabbitTemplate rabbitTemplate;
+
+    public OutboxService(OutboxMessageRepository outboxMessageRepository, RabbitTemplate rabbitTemplate) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.rabbitTemplate = rabbitTemplate;
+    }
+
+    @Transactional
+    public void enqueue(String exchange, String routingKey, Object payload) {
+        Message message = rabbitTemplate.getMessageConverter().toMessage(payload, new MessageProperties());
+
+        OutboxMessage outboxMessage = new OutboxMessage();
+        outboxMessage.setExchange(exchange);
+        outboxMessage.setRoutingKey(routingKey);
+        outboxMessage.setPayloadType(message.getMessageProperties().getHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME));
+        outboxMessage.setPayload(new String(message.getBody(), StandardCharsets.UTF_8));
+        outboxMessage.setAvailableAt(LocalDateTime.now());
+        outboxMessageRepository.save(outboxMessage);
+    }
+}
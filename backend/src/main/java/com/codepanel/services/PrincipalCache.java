@@ -0,0 +1,92 @@
+package com.codepanel.services;
+
+import com.codepanel.models.SocialLinks;
+import com.codepanel.models.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived in-process cache of authenticated users keyed by email, so request
+ * authentication does not load the user (and its eager skills/interests) every call.
+ * Profile changes evict the entry; the TTL bounds staleness for anything else.
+ * The cached user is never handed out: every call gets its own copy, so a caller
+ * mutating its principal cannot leak the change into other requests.
+ */
+@Service
+public class PrincipalCache {
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserDetailsService userDetailsService;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public PrincipalCache(UserDetailsService userDetailsService,
+            @Value("${app.principal-cache.ttl-ms:60000}") long ttlMillis) {
+        this.userDetailsService = userDetailsService;
+        this.ttlMillis = ttlMillis;
+    }
+
+    private static class Entry {
+        private final UserDetails userDetails;
+        private final long expiresAt;
+
+        private Entry(UserDetails userDetails, long expiresAt) {
+            this.userDetails = userDetails;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    public UserDetails loadUserByUsername(String email) {
+        long now = System.currentTimeMillis();
+        Entry entry = entries.get(email);
+        if (entry != null && entry.expiresAt > now) {
+            return copyOf(entry.userDetails);
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        if (entries.size() >= MAX_ENTRIES) {
+            entries.values().removeIf(expired -> expired.expiresAt <= now);
+            if (entries.size() >= MAX_ENTRIES) {
+                entries.clear();
+            }
+        }
+        entries.put(email, new Entry(userDetails, now + ttlMillis));
+        return copyOf(userDetails);
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            entries.remove(email);
+        }
+    }
+
+    static UserDetails copyOf(UserDetails userDetails) {
+        if (!(userDetails instanceof User user)) {
+            return userDetails;
+        }
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setCreatedAt(user.getCreatedAt());
+        copy.setUpdatedAt(user.getUpdatedAt());
+        copy.setFirstName(user.getFirstName());
+        copy.setLastName(user.getLastName());
+        copy.setEmail(user.getEmail());
+        copy.setPassword(user.getPassword());
+        copy.setRole(user.getRole());
+        copy.setProfilePictureUrl(user.getProfilePictureUrl());
+        copy.setBio(user.getBio());
+        copy.setSkills(user.getSkills() != null ? new ArrayList<>(user.getSkills()) : null);
+        copy.setInterests(user.getInterests() != null ? new ArrayList<>(user.getInterests()) : null);
+        SocialLinks links = user.getSocialLinks();
+        copy.setSocialLinks(links != null
+                ? new SocialLinks(links.getGithub(), links.getLinkedin(), links.getTwitter(), links.getWebsite())
+                : null);
+        return copy;
+    }
+}
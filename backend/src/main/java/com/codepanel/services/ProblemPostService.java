@@ -6,6 +6,9 @@ import com.codepanel.models.Tag;
 import com.codepanel.models.User;
 import com.codepanel.models.dto.CategoryResponse;
 import com.codepanel.models.dto.CreateProblemPostRequest;
+import com.codepanel.models.dto.CursorPage;
+import com.codepanel.models.dto.FacetCountsResponse;
+import com.codepanel.models.dto.PageCursor;
 import com.codepanel.models.dto.TagResponse;
 import com.codepanel.models.dto.UpdateProblemPostRequest;
 import com.codepanel.models.dto.ProblemPostResponse;
@@ -18,11 +21,14 @@ import com.codepanel.models.enums.ScoreEventType;
 import com.codepanel.repositories.CategoryRepository;
 import com.codepanel.repositories.TagRepository;
 import com.codepanel.repositories.ProblemPostRepository;
+import com.codepanel.repositories.ProblemPostRepository.ProblemPostListRow;
 import com.codepanel.repositories.ProblemPostCommentRepository;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -31,7 +37,10 @@ import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -46,17 +55,23 @@ public class ProblemPostService {
     private final TagRepository tagRepository;
     private final ProblemPostCommentRepository problemPostCommentRepository;
     private final GamificationEventPublisher gamificationEventPublisher;
+    private final SearchService searchService;
+    private final FacetIndexService facetIndexService;
 
     public ProblemPostService(ProblemPostRepository problemPostRepository,
             CategoryRepository categoryRepository,
             TagRepository tagRepository,
             ProblemPostCommentRepository problemPostCommentRepository,
-            GamificationEventPublisher gamificationEventPublisher) {
+            GamificationEventPublisher gamificationEventPublisher,
+            SearchService searchService,
+            FacetIndexService facetIndexService) {
         this.problemPostRepository = problemPostRepository;
         this.categoryRepository = categoryRepository;
         this.tagRepository = tagRepository;
         this.problemPostCommentRepository = problemPostCommentRepository;
         this.gamificationEventPublisher = gamificationEventPublisher;
+        this.searchService = searchService;
+        this.facetIndexService = facetIndexService;
     }
 
     @CacheEvict(cacheNames = "problemPostsByPage", allEntries = true)
@@ -89,6 +104,7 @@ public class ProblemPostService {
         }
 
         ProblemPost savedPost = problemPostRepository.save(problemPost);
+        facetIndexService.indexProblemPost(savedPost);
 
         gamificationEventPublisher.publish(
                 ScoreEventType.PROBLEM_POSTED,
@@ -105,9 +121,27 @@ public class ProblemPostService {
 
     @Cacheable(cacheNames = "problemPostsByPage", key = "T(String).format('%d:%d:%s', #pageable.pageNumber, #pageable.pageSize, #pageable.sort)")
     public ProblemPostsPageSlice getAllProblemPosts(Pageable pageable) {
-        Page<ProblemPost> problemPosts = problemPostRepository.findAllWithRelations(pageable);
-        List<ProblemPostResponse> content = problemPosts.map(this::mapToResponse).getContent();
-        return new ProblemPostsPageSlice(content, problemPosts.getTotalElements());
+        Page<UUID> ids = problemPostRepository.findPageIds(pageable);
+        return new ProblemPostsPageSlice(mapToListResponses(ids.getContent()), ids.getTotalElements());
+    }
+
+    /**
+     * Keyset-paginated feed ordered by (createdAt, id) descending. No total count
+     * is computed and deep pages cost the same as the first one.
+     */
+    public CursorPage<ProblemPostResponse> getProblemPostFeed(String cursor, int size) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (after != null && after.getSortKey() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        int pageSize = CursorPage.clampSize(size);
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<PageCursor> keys = after == null
+                ? problemPostRepository.findFeedKeys(limit)
+                : problemPostRepository.findFeedKeysAfter(after.getSortKey(), after.getId(), limit);
+
+        return CursorPage.ofKeys(keys, pageSize, this::mapToListResponses);
     }
 
     @Cacheable(cacheNames = "problemPostById", key = "#id")
@@ -119,18 +153,32 @@ public class ProblemPostService {
         return mapToResponse(problemPost);
     }
 
+    public FacetCountsResponse getFacetCounts(ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds) {
+        return facetIndexService.problemPostFacets(language, difficulty, categoryId, tagIds);
+    }
+
     public Page<ProblemPostResponse> getProblemPostsByUser(User user, Pageable pageable) {
-        Page<ProblemPost> problemPosts = problemPostRepository.findByUserOrderByCreatedAtDesc(user, pageable);
-        return problemPosts.map(this::mapToResponse);
+        Page<UUID> ids = problemPostRepository.findPageIdsByUser(user, pageable);
+        return new PageImpl<>(mapToListResponses(ids.getContent()), pageable, ids.getTotalElements());
     }
 
     public Page<ProblemPostResponse> searchProblemPosts(String query, ProgrammingLanguage language,
             DifficultyLevel difficulty, UUID categoryId,
             List<UUID> tagIds, Pageable pageable) {
         try {
-            Page<ProblemPost> problemPosts = problemPostRepository.searchProblemPosts(
-                    query, language, difficulty, categoryId, tagIds, pageable);
-            return problemPosts.map(this::mapToResponse);
+            // Plain facet browsing in creation order is answered by the in-memory index
+            Sort.Order createdAtOrder = pageable.getSort().getOrderFor("createdAt");
+            boolean facetBrowse = (query == null || query.isBlank()) && createdAtOrder != null
+                    && pageable.getSort().stream().count() == 1;
+            Page<UUID> ids = facetBrowse
+                    ? facetIndexService.findProblemPostIds(language, difficulty, categoryId, tagIds, pageable,
+                            createdAtOrder.isDescending()).orElse(null)
+                    : null;
+            if (ids == null) {
+                ids = searchService.searchProblemPostIds(query, language, difficulty, categoryId, tagIds, pageable);
+            }
+            return new PageImpl<>(mapToListResponses(ids.getContent()), pageable, ids.getTotalElements());
         } catch (Exception e) {
             System.out.println("Error searching problem posts: " + e.getMessage());
             return Page.empty();
@@ -261,6 +309,7 @@ public class ProblemPostService {
         }
 
         ProblemPost updatedPost = problemPostRepository.save(problemPost);
+        facetIndexService.indexProblemPost(updatedPost);
         return mapToResponse(updatedPost);
     }
 
@@ -280,6 +329,78 @@ public class ProblemPostService {
         }
 
         problemPostRepository.delete(problemPost);
+        facetIndexService.removeProblemPost(id);
+    }
+
+    private List<ProblemPostResponse> mapToListResponses(List<UUID> ids) {
+        return mapRowsToResponses(problemPostRepository.findListRowsInOrder(ids));
+    }
+
+    /**
+     * List view of a page of posts: projection rows plus one grouped query each
+     * for tags and comment counts. Code bodies are left out; the detail view
+     * loads them.
+     */
+    private List<ProblemPostResponse> mapRowsToResponses(List<ProblemPostListRow> rows) {
+        if (rows.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<UUID> ids = rows.stream().map(ProblemPostListRow::getId).collect(Collectors.toList());
+
+        Map<UUID, List<TagResponse>> tagsByPost = new HashMap<>();
+        for (Object[] row : problemPostRepository.findTagRowsByProblemPostIds(ids)) {
+            TagResponse tagResponse = new TagResponse();
+            tagResponse.setId((UUID) row[1]);
+            tagResponse.setName((String) row[2]);
+            tagResponse.setDescription((String) row[3]);
+            tagResponse.setColor((String) row[4]);
+            tagsByPost.computeIfAbsent((UUID) row[0], key -> new ArrayList<>()).add(tagResponse);
+        }
+
+        Map<UUID, Long> commentCounts = new HashMap<>();
+        for (Object[] row : problemPostRepository.countCommentsByProblemPostIds(ids)) {
+            commentCounts.put((UUID) row[0], (Long) row[1]);
+        }
+
+        List<ProblemPostResponse> responses = new ArrayList<>(rows.size());
+        for (ProblemPostListRow row : rows) {
+            ProblemPostResponse response = new ProblemPostResponse();
+            response.setId(row.getId());
+            response.setTitle(row.getTitle());
+            response.setDescription(row.getDescription());
+            response.setLanguage(row.getLanguage());
+            response.setDifficultyLevel(row.getDifficultyLevel());
+            response.setCreatedAt(row.getCreatedAt());
+            response.setUpdatedAt(row.getUpdatedAt());
+
+            if (row.getCategoryId() != null) {
+                CategoryResponse categoryResponse = new CategoryResponse();
+                categoryResponse.setId(row.getCategoryId());
+                categoryResponse.setName(row.getCategoryName());
+                categoryResponse.setDescription(row.getCategoryDescription());
+                categoryResponse.setColor(row.getCategoryColor());
+                response.setCategory(categoryResponse);
+            }
+
+            response.setTags(tagsByPost.getOrDefault(row.getId(), new ArrayList<>()));
+            response.setAuthor(new ProblemPostResponse.UserInfo(row.getAuthorId(), row.getAuthorFirstName(),
+                    row.getAuthorLastName(), row.getAuthorEmail(), row.getAuthorProfilePictureUrl()));
+            response.setCommentCount(commentCounts.getOrDefault(row.getId(), 0L));
+
+            if (row.getAcceptedAnswerId() != null) {
+                ProblemPostResponse.AcceptedAnswer acceptedAnswer = new ProblemPostResponse.AcceptedAnswer();
+                acceptedAnswer.setId(row.getAcceptedAnswerId());
+                acceptedAnswer.setComment(row.getAcceptedAnswerComment());
+                acceptedAnswer.setCreatedAt(row.getAcceptedAnswerCreatedAt());
+                acceptedAnswer.setAuthor(new ProblemPostResponse.UserInfo(row.getAcceptedAnswerAuthorId(),
+                        row.getAcceptedAnswerAuthorFirstName(), row.getAcceptedAnswerAuthorLastName(),
+                        row.getAcceptedAnswerAuthorEmail(), row.getAcceptedAnswerAuthorProfilePictureUrl()));
+                response.setAcceptedAnswer(acceptedAnswer);
+            }
+
+            responses.add(response);
+        }
+        return responses;
     }
 
     private ProblemPostResponse mapToResponse(ProblemPost problemPost) {
@@ -4,13 +4,16 @@ import com.codepanel.models.User;
 import com.codepanel.models.dto.ProfileResponse;
 import com.codepanel.models.dto.UpdateProfileRequest;
 import com.codepanel.repositories.UserRepository;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -19,11 +22,16 @@ public class ProfileService {
     private final UserRepository userRepository;
     private final S3Service s3Service;
     private final SkillsInterestsService skillsInterestsService;
+    private final UserProfileCache userProfileCache;
+    private final PrincipalCache principalCache;
 
-    public ProfileService(UserRepository userRepository, S3Service s3Service, SkillsInterestsService skillsInterestsService) {
+    public ProfileService(UserRepository userRepository, S3Service s3Service, SkillsInterestsService skillsInterestsService,
+            UserProfileCache userProfileCache, PrincipalCache principalCache) {
         this.userRepository = userRepository;
         this.s3Service = s3Service;
         this.skillsInterestsService = skillsInterestsService;
+        this.userProfileCache = userProfileCache;
+        this.principalCache = principalCache;
     }
 
     @Transactional(readOnly = true)
@@ -39,7 +47,8 @@ public class ProfileService {
     }
 
     @Transactional
-    public ProfileResponse updateProfile(User user, UpdateProfileRequest request) {
+    public ProfileResponse updateProfile(User principal, UpdateProfileRequest request) {
+        User user = reload(principal);
         user.setFirstName(request.getFirstName());
         user.setLastName(request.getLastName());
         user.setBio(request.getBio());
@@ -67,11 +76,13 @@ public class ProfileService {
         user.setSocialLinks(request.getSocialLinks());
 
         User savedUser = userRepository.save(user);
+        evictAfterCommit(savedUser);
         return mapToProfileResponse(savedUser);
     }
 
     @Transactional
-    public ProfileResponse uploadProfilePicture(User user, MultipartFile file) throws IOException {
+    public ProfileResponse uploadProfilePicture(User principal, MultipartFile file) throws IOException {
+        User user = reload(principal);
         try {
             // Delete old profile picture if exists
             if (user.getProfilePictureUrl() != null) {
@@ -84,6 +95,7 @@ public class ProfileService {
             // Update user with new profile picture URL
             user.setProfilePictureUrl(profilePictureUrl);
             User savedUser = userRepository.save(user);
+            evictAfterCommit(savedUser);
 
             return mapToProfileResponse(savedUser);
         } catch (Exception e) {
@@ -93,7 +105,8 @@ public class ProfileService {
     }
 
     @Transactional
-    public ProfileResponse removeProfilePicture(User user) {
+    public ProfileResponse removeProfilePicture(User principal) {
+        User user = reload(principal);
         // Delete profile picture from S3
         if (user.getProfilePictureUrl() != null) {
             s3Service.deleteProfileImage(user.getProfilePictureUrl());
@@ -102,10 +115,29 @@ public class ProfileService {
         // Remove profile picture URL from user
         user.setProfilePictureUrl(null);
         User savedUser = userRepository.save(user);
+        evictAfterCommit(savedUser);
 
         return mapToProfileResponse(savedUser);
     }
 
+    /**
+     * The authenticated principal is a detached copy from {@link PrincipalCache};
+     * writes go through a managed instance loaded in this transaction instead.
+     */
+    private User reload(User principal) {
+        return userRepository.findById(principal.getId())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    }
+
+    private void evictAfterCommit(User user) {
+        UUID userId = user.getId();
+        String email = user.getEmail();
+        AfterCommit.run(() -> {
+            userProfileCache.evict(userId);
+            principalCache.evict(email);
+        });
+    }
+
     private ProfileResponse mapToProfileResponse(User user) {
         try {
             List<String> skills = user.getSkills() != null ? user.getSkills() : new ArrayList<>();
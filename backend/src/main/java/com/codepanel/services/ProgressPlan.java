@@ -0,0 +1,85 @@
+package com.codepanel.services;
+
+import com.codepanel.models.enums.MetricType;
+import com.codepanel.models.enums.ScoreEventType;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Every achievement progress change one gamification event causes for its
+ * user: milestone increments and streak updates across all affected metrics,
+ * applied together by {@link AchievementService#applyProgress}.
+ */
+@Getter
+public class ProgressPlan {
+    private final LocalDate actionDate;
+    private final Map<MetricType, Integer> increments = new EnumMap<>(MetricType.class);
+    private final Set<MetricType> streaks = EnumSet.noneOf(MetricType.class);
+
+    public ProgressPlan(LocalDate actionDate) {
+        this.actionDate = actionDate;
+    }
+
+    public ProgressPlan increment(MetricType metricType, int amount) {
+        increments.merge(metricType, amount, Integer::sum);
+        return this;
+    }
+
+    public ProgressPlan streak(MetricType metricType) {
+        streaks.add(metricType);
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return increments.isEmpty() && streaks.isEmpty();
+    }
+
+    public static ProgressPlan forEvent(ScoreEventType eventType, LocalDate today) {
+        ProgressPlan plan = new ProgressPlan(today);
+        switch (eventType) {
+            case PROBLEM_POSTED:
+                plan.increment(MetricType.PROBLEMS_POSTED, 1)
+                        .streak(MetricType.PROBLEM_POSTING_STREAK)
+                        .streak(MetricType.ACTIVITY_STREAK);
+                break;
+
+            case COMMENT_CREATED:
+                plan.increment(MetricType.COMMENTS_POSTED, 1)
+                        .streak(MetricType.ACTIVITY_STREAK);
+                break;
+
+            case COMMENT_LIKED:
+                // the event's user is already the comment author
+                plan.increment(MetricType.TOTAL_LIKES_RECEIVED, 1)
+                        .streak(MetricType.ACTIVITY_STREAK);
+                break;
+
+            case PROBLEM_ANSWER_ACCEPTED:
+                plan.increment(MetricType.ACCEPTED_ANSWERS, 1)
+                        .streak(MetricType.ACTIVITY_STREAK);
+                break;
+
+            case SUBMISSION_ACCEPTED:
+            case REVIEW_APPROVED:
+                plan.increment(MetricType.ASSIGNMENTS_COMPLETED, 1)
+                        .streak(MetricType.ASSIGNMENT_STREAK)
+                        .streak(MetricType.ACTIVITY_STREAK);
+                break;
+
+            case COMMENT_DISLIKED:
+            case PROBLEM_ANSWER_UNACCEPTED:
+            case ACHIEVEMENT_AWARDED:
+                break;
+
+            default:
+                plan.streak(MetricType.ACTIVITY_STREAK);
+                break;
+        }
+        return plan;
+    }
+}
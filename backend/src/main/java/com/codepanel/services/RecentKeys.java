@@ -0,0 +1,30 @@
+package com.codepanel.services;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded, thread-safe set of recently seen keys that evicts the least
+ * recently used entry once full. Only a fast path: a miss says nothing, so
+ * callers still need an authoritative check behind it.
+ */
+class RecentKeys {
+    private final Map<String, Boolean> keys;
+
+    RecentKeys(int capacity) {
+        this.keys = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    synchronized boolean contains(String key) {
+        return keys.get(key) != null;
+    }
+
+    synchronized void add(String key) {
+        keys.put(key, Boolean.TRUE);
+    }
+}
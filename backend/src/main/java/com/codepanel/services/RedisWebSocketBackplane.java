@@ -0,0 +1,77 @@
+package com.codepanel.services;
+
+import com.codepanel.config.WebSocketConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Routes user messages to the node holding the user's session: local sessions are served directly,
+ * remote ones get the message on their node channel (ws:node:nodeId) and deliver it from there.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(name = "app.websocket.broker", havingValue = WebSocketConfig.BROKER_REDIS)
+public class RedisWebSocketBackplane implements MessageListener {
+    private static final String NODE_CHANNEL_PREFIX = "ws:node:";
+
+    private final StringRedisTemplate redis;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketSessionRegistry sessionRegistry;
+    private final ObjectMapper objectMapper;
+
+    public RedisWebSocketBackplane(StringRedisTemplate redis, RedisMessageListenerContainer listenerContainer,
+            SimpMessagingTemplate messagingTemplate, WebSocketSessionRegistry sessionRegistry,
+            ObjectMapper objectMapper) {
+        this.redis = redis;
+        this.messagingTemplate = messagingTemplate;
+        this.sessionRegistry = sessionRegistry;
+        this.objectMapper = objectMapper;
+        listenerContainer.addMessageListener(this, new ChannelTopic(NODE_CHANNEL_PREFIX + sessionRegistry.getNodeId()));
+    }
+
+    public void sendToUser(String userId, String destination, Object payload) {
+        Set<String> nodes = sessionRegistry.nodesFor(userId);
+        String envelope = null;
+        for (String node : nodes) {
+            if (node.equals(sessionRegistry.getNodeId())) {
+                messagingTemplate.convertAndSendToUser(userId, destination, payload);
+                continue;
+            }
+            try {
+                if (envelope == null) {
+                    envelope = objectMapper.writeValueAsString(
+                            Map.of("userId", userId, "destination", destination, "payload", payload));
+                }
+                redis.convertAndSend(NODE_CHANNEL_PREFIX + node, envelope);
+            } catch (Exception e) {
+                log.error("Failed to route WebSocket message for user {} to node {}", userId, node, e);
+            }
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            JsonNode envelope = objectMapper.readTree(message.getBody());
+            String userId = envelope.get("userId").asText();
+            if (sessionRegistry.isLocal(userId)) {
+                messagingTemplate.convertAndSendToUser(userId, envelope.get("destination").asText(),
+                        envelope.get("payload"));
+            }
+        } catch (Exception e) {
+            log.error("Failed to deliver routed WebSocket message", e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.codepanel.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-memory order-statistic tree of member scores, ranked like a Redis
+ * ZREVRANGE: highest score first, ties broken by member descending. It is a
+ * treap whose nodes track subtree sizes, so updates, rank lookups and range
+ * reads by rank are all O(log n).
+ */
+class ScoreRankTree {
+
+    @Getter
+    @AllArgsConstructor
+    static class Entry {
+        private final String member;
+        private final long score;
+    }
+
+    private static class Node {
+        private final String member;
+        private final long score;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private Node left;
+        private Node right;
+        private int size = 1;
+
+        private Node(String member, long score) {
+            this.member = member;
+            this.score = score;
+        }
+    }
+
+    private final Map<String, Long> scores = new HashMap<>();
+    private Node root;
+
+    synchronized int size() {
+        return scores.size();
+    }
+
+    synchronized Long score(String member) {
+        return scores.get(member);
+    }
+
+    /**
+     * Sets a member's score, replacing any previous one
+     */
+    synchronized void put(String member, long score) {
+        Long previous = scores.put(member, score);
+        if (previous != null) {
+            root = remove(root, member, previous);
+        }
+        root = insert(root, new Node(member, score));
+    }
+
+    /**
+     * 0-based rank of the member, highest score first, or null when absent
+     */
+    synchronized Integer rank(String member) {
+        Long score = scores.get(member);
+        if (score == null) {
+            return null;
+        }
+        int rank = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(member, score, node);
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left);
+                if (cmp == 0) {
+                    return rank;
+                }
+                rank++;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Entries ranked start..end inclusive, highest score first
+     */
+    synchronized List<Entry> range(int start, int end) {
+        List<Entry> entries = new ArrayList<>();
+        int from = Math.max(start, 0);
+        int to = Math.min(end, size(root) - 1);
+        for (int rank = from; rank <= to; rank++) {
+            Node node = select(rank);
+            entries.add(new Entry(node.member, node.score));
+        }
+        return entries;
+    }
+
+    private Node select(int rank) {
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (rank < leftSize) {
+                node = node.left;
+            } else if (rank == leftSize) {
+                return node;
+            } else {
+                rank -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        throw new IllegalStateException("Rank out of bounds");
+    }
+
+    private int compare(String member, long score, Node node) {
+        if (score != node.score) {
+            return score > node.score ? -1 : 1;
+        }
+        return node.member.compareTo(member);
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(inserted.member, inserted.score, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private Node remove(Node node, String member, long score) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(member, score, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, member, score);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, member, score);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+}
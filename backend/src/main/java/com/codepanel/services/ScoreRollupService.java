@@ -0,0 +1,73 @@
+package com.codepanel.services;
+
+import com.codepanel.repositories.UserScoreMonthlyRepository;
+import com.codepanel.repositories.UserScoreRepository;
+import com.codepanel.repositories.UserScoreTotalRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.UUID;
+
+/**
+ * Keeps the weekly, monthly and all-time score rollups in step with
+ * score_events. Increments join the caller's transaction so a rollup never
+ * commits without its events; a periodic job re-derives the monthly and
+ * all-time rows from score_events and corrects any drift.
+ */
+@Service
+@Slf4j
+public class ScoreRollupService {
+    private final UserScoreRepository userScoreRepository;
+    private final UserScoreMonthlyRepository userScoreMonthlyRepository;
+    private final UserScoreTotalRepository userScoreTotalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final long reconcileGraceMillis;
+
+    public ScoreRollupService(UserScoreRepository userScoreRepository,
+            UserScoreMonthlyRepository userScoreMonthlyRepository,
+            UserScoreTotalRepository userScoreTotalRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${app.scores.reconcile-grace-ms:300000}") long reconcileGraceMillis) {
+        this.userScoreRepository = userScoreRepository;
+        this.userScoreMonthlyRepository = userScoreMonthlyRepository;
+        this.userScoreTotalRepository = userScoreTotalRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.reconcileGraceMillis = reconcileGraceMillis;
+    }
+
+    @Transactional
+    public void addPoints(UUID userId, LocalDate weekStart, YearMonth month, int points) {
+        userScoreRepository.addPoints(userId, weekStart, points);
+        userScoreMonthlyRepository.addPoints(userId, month.atDay(1), points);
+        userScoreTotalRepository.addPoints(userId, points);
+    }
+
+    /**
+     * Verifies the monthly and all-time rollups against score_events, filling
+     * in missing rows and correcting ones that drifted. The first run after
+     * deploy backfills both tables. Both run in one transaction; a failure
+     * rolls it back and is logged outside of it.
+     */
+    @Scheduled(initialDelayString = "${app.scores.reconcile-initial-delay-ms:30000}",
+            fixedDelayString = "${app.scores.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minusNanos(reconcileGraceMillis * 1_000_000);
+            int[] reconciled = transactionTemplate.execute(status -> new int[] {
+                    userScoreMonthlyRepository.reconcile(cutoff),
+                    userScoreTotalRepository.reconcile(cutoff) });
+            if (reconciled != null && (reconciled[0] > 0 || reconciled[1] > 0)) {
+                log.info("Reconciled score rollups: {} monthly rows, {} total rows", reconciled[0], reconciled[1]);
+            }
+        } catch (Exception e) {
+            log.error("Failed to reconcile score rollups", e);
+        }
+    }
+}
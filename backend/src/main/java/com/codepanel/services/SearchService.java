@@ -0,0 +1,136 @@
+package com.codepanel.services;
+
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked full-text search over the generated {@code search_vector} columns
+ * maintained by {@link com.codepanel.config.SearchIndexInitializer}. Returns a
+ * page of ids; callers hydrate the entities for just that page.
+ */
+@Service
+public class SearchService {
+
+    private static final Map<String, String> PROBLEM_POST_SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "title", "title");
+
+    private static final Map<String, String> ASSIGNMENT_SORT_COLUMNS = Map.of(
+            "createdAt", "created_at",
+            "updatedAt", "updated_at",
+            "title", "title",
+            "dueDate", "due_date");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public SearchService(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Page<UUID> searchProblemPostIds(String query, ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds, Pageable pageable) {
+        return search("problem_posts", "problem_post_tags", "problem_post_id", new ArrayList<>(),
+                PROBLEM_POST_SORT_COLUMNS, "created_at DESC",
+                query, language, difficulty, categoryId, tagIds, pageable);
+    }
+
+    public Page<UUID> searchAssignmentIds(String query, ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds, Pageable pageable) {
+        List<String> conditions = new ArrayList<>();
+        conditions.add("e.is_active = true");
+        return search("assignments", "assignment_tags", "assignment_id", conditions,
+                ASSIGNMENT_SORT_COLUMNS, "due_date ASC NULLS LAST",
+                query, language, difficulty, categoryId, tagIds, pageable);
+    }
+
+    /**
+     * Turns free text into a prefix-matching tsquery ("bin tre" becomes
+     * {@code bin:* & tre:*}). Returns null when nothing searchable remains.
+     */
+    static String toPrefixTsQuery(String query) {
+        if (query == null) {
+            return null;
+        }
+        String tsQuery = Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return tsQuery.isEmpty() ? null : tsQuery;
+    }
+
+    private Page<UUID> search(String table, String tagTable, String tagOwnerColumn, List<String> conditions,
+            Map<String, String> sortColumns, String defaultOrder,
+            String query, ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds, Pageable pageable) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery != null) {
+            conditions.add("e.search_vector @@ to_tsquery('simple', :tsQuery)");
+            params.addValue("tsQuery", tsQuery);
+        }
+        if (language != null) {
+            // ProgrammingLanguage is mapped without @Enumerated, so it is stored as its ordinal
+            conditions.add("e.language = :language");
+            params.addValue("language", language.ordinal());
+        }
+        if (difficulty != null) {
+            conditions.add("e.difficulty_level = :difficulty");
+            params.addValue("difficulty", difficulty.name());
+        }
+        if (categoryId != null) {
+            conditions.add("e.category_id = :categoryId");
+            params.addValue("categoryId", categoryId);
+        }
+        if (tagIds != null && !tagIds.isEmpty()) {
+            conditions.add("EXISTS (SELECT 1 FROM " + tagTable + " t WHERE t." + tagOwnerColumn
+                    + " = e.id AND t.tag_id IN (:tagIds))");
+            params.addValue("tagIds", tagIds);
+        }
+
+        String where = conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+
+        List<String> orderBy = new ArrayList<>();
+        if (tsQuery != null) {
+            orderBy.add("ts_rank(e.search_vector, to_tsquery('simple', :tsQuery)) DESC");
+        }
+        for (Sort.Order order : pageable.getSort()) {
+            String column = sortColumns.get(order.getProperty());
+            if (column != null) {
+                orderBy.add("e." + column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        if (orderBy.isEmpty() || (tsQuery != null && orderBy.size() == 1)) {
+            orderBy.add("e." + defaultOrder);
+        }
+        orderBy.add("e.id");
+
+        params.addValue("limit", pageable.getPageSize());
+        params.addValue("offset", pageable.getOffset());
+
+        List<UUID> ids = jdbcTemplate.queryForList(
+                "SELECT e.id FROM " + table + " e" + where +
+                        " ORDER BY " + String.join(", ", orderBy) +
+                        " LIMIT :limit OFFSET :offset",
+                params, UUID.class);
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table + " e" + where, params, Long.class);
+
+        return new PageImpl<>(ids, pageable, total != null ? total : 0);
+    }
+}
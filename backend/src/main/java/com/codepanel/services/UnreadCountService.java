@@ -0,0 +1,188 @@
+package com.codepanel.services;
+
+import com.codepanel.repositories.NotificationRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Per-user unread notification counts kept as Redis counters. Counters are seeded from Postgres on
+ * first read, moved by deltas afterwards and periodically checked against the table.
+ */
+@Service
+@Slf4j
+public class UnreadCountService {
+    private static final String KEY_PREFIX = "notif:unread:";
+    private static final int RECONCILE_CHUNK = 500;
+
+    // Only move counters that have been seeded, so a delta never turns a missing key into a wrong count
+    private static final RedisScript<Long> ADD_IF_PRESENT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return -1 end " +
+                    "local v = redis.call('INCRBY', KEYS[1], ARGV[1]) " +
+                    "if v < 0 then redis.call('SET', KEYS[1], 0) v = 0 end " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+                    "return v",
+            Long.class);
+
+    private static final RedisScript<Long> DELETE_IF_EQUALS = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) end return 0",
+            Long.class);
+
+    private final StringRedisTemplate redis;
+    private final NotificationRepository notificationRepository;
+    private final Duration ttl;
+
+    public UnreadCountService(StringRedisTemplate redis, NotificationRepository notificationRepository,
+            @Value("${app.notifications.unread.ttl-seconds:86400}") long ttlSeconds) {
+        this.redis = redis;
+        this.notificationRepository = notificationRepository;
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+    }
+
+    private String key(UUID userId) {
+        return KEY_PREFIX + userId;
+    }
+
+    public long get(UUID userId) {
+        try {
+            String cached = redis.opsForValue().get(key(userId));
+            if (cached != null) {
+                return Long.parseLong(cached);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read unread counter (Redis unavailable): {}", e.getMessage());
+            return countFromDatabase(List.of(userId)).getOrDefault(userId, 0L);
+        }
+        return seed(countFromDatabase(List.of(userId))).getOrDefault(userId, 0L);
+    }
+
+    public void add(UUID userId, long delta) {
+        add(Map.of(userId, delta));
+    }
+
+    /**
+     * Applies the deltas after the matching rows have committed and returns the resulting counts.
+     * Users without a counter yet are counted once, in a single grouped query.
+     */
+    public Map<UUID, Long> add(Map<UUID, Long> deltas) {
+        Map<UUID, Long> counts = new HashMap<>();
+        List<UUID> unseeded = new ArrayList<>();
+        try {
+            String ttlSeconds = String.valueOf(ttl.getSeconds());
+            for (Map.Entry<UUID, Long> entry : deltas.entrySet()) {
+                Long value = redis.execute(ADD_IF_PRESENT, List.of(key(entry.getKey())),
+                        String.valueOf(entry.getValue()), ttlSeconds);
+                if (value == null || value < 0) {
+                    unseeded.add(entry.getKey());
+                } else {
+                    counts.put(entry.getKey(), value);
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to update unread counters (Redis unavailable): {}", e.getMessage());
+            counts.putAll(countFromDatabase(deltas.keySet()));
+            return counts;
+        }
+        if (!unseeded.isEmpty()) {
+            counts.putAll(seed(countFromDatabase(unseeded)));
+        }
+        return counts;
+    }
+
+    /**
+     * Drops counters that disagree with the table; the next read reseeds them. A counter is only
+     * dropped if it still holds the value that was compared, so concurrent deltas are not lost.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.unread.reconcile-ms:600000}",
+            initialDelayString = "${app.notifications.unread.reconcile-ms:600000}")
+    public void reconcile() {
+        int dropped = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(RECONCILE_CHUNK).build();
+        try (Cursor<String> cursor = redis.scan(options)) {
+            List<String> keys = new ArrayList<>(RECONCILE_CHUNK);
+            while (cursor.hasNext()) {
+                keys.add(cursor.next());
+                if (keys.size() == RECONCILE_CHUNK || !cursor.hasNext()) {
+                    dropped += reconcileChunk(keys);
+                    keys.clear();
+                }
+            }
+        } catch (Exception e) {
+            log.error("Unread counter reconciliation failed", e);
+            return;
+        }
+        if (dropped > 0) {
+            log.info("Dropped {} drifted unread counters", dropped);
+        }
+    }
+
+    private int reconcileChunk(List<String> keys) {
+        List<String> values = redis.opsForValue().multiGet(keys);
+        if (values == null) {
+            return 0;
+        }
+        List<UUID> userIds = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            userIds.add(UUID.fromString(key.substring(KEY_PREFIX.length())));
+        }
+        Map<UUID, Long> actual = countFromDatabase(userIds);
+
+        int dropped = 0;
+        for (int i = 0; i < keys.size(); i++) {
+            String cached = values.get(i);
+            if (cached == null || cached.equals(String.valueOf(actual.getOrDefault(userIds.get(i), 0L)))) {
+                continue;
+            }
+            Long deleted = redis.execute(DELETE_IF_EQUALS, List.of(keys.get(i)), cached);
+            if (deleted != null && deleted > 0) {
+                dropped++;
+            }
+        }
+        return dropped;
+    }
+
+    private Map<UUID, Long> seed(Map<UUID, Long> counts) {
+        Map<UUID, Long> seeded = new HashMap<>(counts);
+        try {
+            for (Map.Entry<UUID, Long> entry : counts.entrySet()) {
+                String key = key(entry.getKey());
+                Boolean created = redis.opsForValue().setIfAbsent(key, String.valueOf(entry.getValue()), ttl);
+                if (!Boolean.TRUE.equals(created)) {
+                    // Someone else seeded it first; theirs may already include later deltas
+                    String current = redis.opsForValue().get(key);
+                    if (current != null) {
+                        seeded.put(entry.getKey(), Long.parseLong(current));
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Failed to seed unread counters (Redis unavailable): {}", e.getMessage());
+        }
+        return seeded;
+    }
+
+    private Map<UUID, Long> countFromDatabase(Collection<UUID> userIds) {
+        Map<UUID, Long> counts = new HashMap<>();
+        for (UUID userId : userIds) {
+            counts.put(userId, 0L);
+        }
+        for (Object[] row : notificationRepository.countUnreadByRecipientIds(userIds)) {
+            counts.put((UUID) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,90 @@
+package com.codepanel.services;
+
+import com.codepanel.repositories.UserRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small in-process cache of user display data for views that list many users
+ * at once, such as leaderboards. Misses are loaded in one query.
+ */
+@Service
+public class UserProfileCache {
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final UserRepository userRepository;
+    private final long ttlMillis;
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+    public UserProfileCache(UserRepository userRepository,
+            @Value("${app.profile-cache.ttl-ms:300000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Profile {
+        private UUID id;
+        private String firstName;
+        private String lastName;
+        private String email;
+        private String profilePictureUrl;
+    }
+
+    private static class Entry {
+        private final Profile profile;
+        private final long expiresAt;
+
+        private Entry(Profile profile, long expiresAt) {
+            this.profile = profile;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    /**
+     * Profiles for the given users keyed by id. Unknown users are left out.
+     */
+    public Map<UUID, Profile> getProfiles(Collection<UUID> userIds) {
+        long now = System.currentTimeMillis();
+        Map<UUID, Profile> profiles = new HashMap<>();
+        List<UUID> misses = new ArrayList<>();
+        for (UUID userId : userIds) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.expiresAt > now) {
+                profiles.put(userId, entry.profile);
+            } else {
+                misses.add(userId);
+            }
+        }
+        if (misses.isEmpty()) {
+            return profiles;
+        }
+
+        if (entries.size() + misses.size() > MAX_ENTRIES) {
+            entries.clear();
+        }
+        long expiresAt = now + ttlMillis;
+        for (Object[] row : userRepository.findProfileRowsByIdIn(misses)) {
+            Profile profile = new Profile((UUID) row[0], (String) row[1], (String) row[2], (String) row[3],
+                    (String) row[4]);
+            entries.put(profile.getId(), new Entry(profile, expiresAt));
+            profiles.put(profile.getId(), profile);
+        }
+        return profiles;
+    }
+
+    public void evict(UUID userId) {
+        entries.remove(userId);
+    }
+}
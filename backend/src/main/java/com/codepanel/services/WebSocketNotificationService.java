@@ -1,24 +1,38 @@
 package com.codepanel.services;
 
 import com.codepanel.models.Notification;
+import com.codepanel.models.dto.NotificationBatchResponse;
 import com.codepanel.models.dto.NotificationResponse;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
+@Slf4j
 public class WebSocketNotificationService {
     private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectProvider<RedisWebSocketBackplane> backplane;
+    private final WebSocketSessionRegistry sessionRegistry;
+
+    /**
+     * Lets callers skip building and sending pushes nobody would receive
+     */
+    public boolean isUserOnline(UUID userId) {
+        return sessionRegistry.isOnline(userId.toString());
+    }
 
     public void sendNotificationToUser(UUID userId, Notification notification) {
         try {
             NotificationResponse response = mapToResponse(notification);
 
-            messagingTemplate.convertAndSendToUser(
-                    userId.toString(),
+            sendToUser(
+                    userId,
                     "/queue/notifications",
                     response);
         } catch (Exception e) {
@@ -27,11 +41,30 @@ public class WebSocketNotificationService {
         }
     }
 
+    /**
+     * One frame carrying several new notifications and the resulting unread count
+     */
+    public void sendNotificationsToUser(UUID userId, List<Notification> notifications, Long unreadCount) {
+        try {
+            NotificationBatchResponse response = NotificationBatchResponse.builder()
+                    .notifications(notifications.stream().map(this::mapToResponse).toList())
+                    .unreadCount(unreadCount)
+                    .build();
+
+            sendToUser(
+                    userId,
+                    "/queue/notification-batch",
+                    response);
+        } catch (Exception e) {
+            log.warn("Failed to send WebSocket notification batch to user {}", userId, e);
+        }
+    }
+
     public void sendUnreadCountToUser(UUID userId, Long unreadCount) {
         System.out.println("Sending unread count to user: " + userId + " with count: " + unreadCount);
         try {
-            messagingTemplate.convertAndSendToUser(
-                    userId.toString(),
+            sendToUser(
+                    userId,
                     "/queue/unread-count",
                     unreadCount);
             System.out.println("Unread count sent to user: " + userId + " with count: " + unreadCount);
@@ -41,6 +74,15 @@ public class WebSocketNotificationService {
         }
     }
 
+    private void sendToUser(UUID userId, String destination, Object payload) {
+        RedisWebSocketBackplane redisBackplane = backplane.getIfAvailable();
+        if (redisBackplane != null) {
+            redisBackplane.sendToUser(userId.toString(), destination, payload);
+        } else {
+            messagingTemplate.convertAndSendToUser(userId.toString(), destination, payload);
+        }
+    }
+
     private NotificationResponse mapToResponse(Notification notification) {
         return NotificationResponse.builder()
                 .id(notification.getId())
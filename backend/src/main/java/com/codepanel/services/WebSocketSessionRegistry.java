@@ -0,0 +1,155 @@
+package com.codepanel.services;
+
+import com.codepanel.config.WebSocketConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Presence registry: tracks which users have a WebSocket session on this node. With a shared
+ * broker (relay or redis) or app.websocket.presence.redis it also publishes user -> node
+ * membership in a sorted set (ws:presence:userId) scored by each node's last heartbeat or client
+ * ping. Readers ignore members older than the TTL, so a node that died stops counting even while
+ * other nodes keep the key alive; its member is trimmed on the next write.
+ */
+@Service
+@Slf4j
+public class WebSocketSessionRegistry {
+    private static final String NODES_KEY_PREFIX = "ws:presence:";
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Set<String>> localSessions = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redis;
+    private final boolean shared;
+    private final Duration ttl;
+
+    public WebSocketSessionRegistry(StringRedisTemplate redis,
+            @Value("${app.websocket.broker:simple}") String brokerMode,
+            @Value("${app.websocket.presence.redis:false}") boolean presenceInRedis,
+            @Value("${app.websocket.registry.ttl-ms:90000}") long ttlMs) {
+        this.redis = redis;
+        this.shared = presenceInRedis || !WebSocketConfig.BROKER_SIMPLE.equals(brokerMode);
+        this.ttl = Duration.ofMillis(ttlMs);
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void connected(String userId, String sessionId) {
+        localSessions.compute(userId, (id, sessions) -> {
+            Set<String> updated = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            updated.add(sessionId);
+            if (sessions == null) {
+                register(userId);
+            }
+            return updated;
+        });
+    }
+
+    public void disconnected(String userId, String sessionId) {
+        localSessions.computeIfPresent(userId, (id, sessions) -> {
+            sessions.remove(sessionId);
+            if (!sessions.isEmpty()) {
+                return sessions;
+            }
+            unregister(userId);
+            return null;
+        });
+    }
+
+    public boolean isLocal(String userId) {
+        return localSessions.containsKey(userId);
+    }
+
+    /**
+     * Whether the user has a session on any node. Errs towards online if Redis cannot be reached.
+     */
+    public boolean isOnline(String userId) {
+        if (isLocal(userId) || !shared) {
+            return isLocal(userId);
+        }
+        try {
+            Long nodes = redis.opsForZSet().count(NODES_KEY_PREFIX + userId, freshSince(), Double.POSITIVE_INFINITY);
+            return nodes != null && nodes > 0;
+        } catch (Exception e) {
+            log.warn("Failed to read presence (Redis unavailable): {}", e.getMessage());
+            return true;
+        }
+    }
+
+    /**
+     * Client ping: refreshes the user's shared entry ahead of the next heartbeat
+     */
+    public void touch(String userId) {
+        if (isLocal(userId)) {
+            register(userId);
+        }
+    }
+
+    /**
+     * Nodes holding a session for the user; just this node's view when presence is not shared
+     */
+    public Set<String> nodesFor(String userId) {
+        if (!shared) {
+            return isLocal(userId) ? Set.of(nodeId) : Set.of();
+        }
+        try {
+            Set<String> nodes = redis.opsForZSet().rangeByScore(NODES_KEY_PREFIX + userId, freshSince(),
+                    Double.POSITIVE_INFINITY);
+            return nodes != null ? nodes : Set.of();
+        } catch (Exception e) {
+            log.warn("Failed to read WebSocket session registry (Redis unavailable): {}", e.getMessage());
+            return isLocal(userId) ? Set.of(nodeId) : Set.of();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.websocket.registry.heartbeat-ms:30000}")
+    public void heartbeat() {
+        if (!shared) {
+            return;
+        }
+        localSessions.keySet().forEach(this::register);
+    }
+
+    private void register(String userId) {
+        if (!shared) {
+            return;
+        }
+        try {
+            String key = NODES_KEY_PREFIX + userId;
+            long now = System.currentTimeMillis();
+            redis.opsForZSet().add(key, nodeId, now);
+            redis.opsForZSet().removeRangeByScore(key, Double.NEGATIVE_INFINITY, now - ttl.toMillis());
+            redis.expire(key, ttl);
+        } catch (Exception e) {
+            log.warn("Failed to register WebSocket session (Redis unavailable): {}", e.getMessage());
+        }
+    }
+
+    private void unregister(String userId) {
+        if (!shared) {
+            return;
+        }
+        try {
+            redis.opsForZSet().remove(NODES_KEY_PREFIX + userId, nodeId);
+        } catch (Exception e) {
+            log.warn("Failed to unregister WebSocket session (Redis unavailable): {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Oldest heartbeat score that still counts as a live session
+     */
+    private double freshSince() {
+        return System.currentTimeMillis() - ttl.toMillis();
+    }
+}
@@ -0,0 +1,128 @@
+package com.codepanel.models.dto;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsSortKeyAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 9, 14, 30, 15, 123_456_000);
+        UUID id = UUID.randomUUID();
+
+        PageCursor decoded = PageCursor.decode(new PageCursor(createdAt, id).encode());
+
+        assertThat(decoded.getSortKey()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void roundTripsNullSortKey() {
+        UUID id = UUID.randomUUID();
+
+        PageCursor decoded = PageCursor.decode(new PageCursor(null, id).encode());
+
+        assertThat(decoded.getSortKey()).isNull();
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void encodesUrlSafeWithoutPadding() {
+        String token = new PageCursor(LocalDateTime.now(), UUID.randomUUID()).encode();
+
+        assertThat(token).doesNotContain("+", "/", "=");
+    }
+
+    @Test
+    void blankTokenMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+        assertThat(PageCursor.decode("   ")).isNull();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        for (String token : List.of("not-base64!", "bm8tc2VwYXJhdG9y", "Zm9vfGJhcg")) {
+            assertThatThrownBy(() -> PageCursor.decode(token))
+                    .isInstanceOf(ResponseStatusException.class)
+                    .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                            .isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+    }
+
+    @Test
+    void cursorPageDropsTheLookaheadRowAndPointsAtTheLastKeptRow() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<PageCursor> rows = List.of(
+                new PageCursor(base.plusMinutes(3), UUID.randomUUID()),
+                new PageCursor(base.plusMinutes(2), UUID.randomUUID()),
+                new PageCursor(base.plusMinutes(1), UUID.randomUUID()));
+
+        CursorPage<PageCursor> page = CursorPage.of(rows, 2, Function.identity(), Function.identity());
+
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(page.getContent()).containsExactly(rows.get(0), rows.get(1));
+        assertThat(PageCursor.decode(page.getNextCursor()).getId()).isEqualTo(rows.get(1).getId());
+    }
+
+    @Test
+    void cursorPageWithoutLookaheadRowIsLast() {
+        List<PageCursor> rows = List.of(new PageCursor(LocalDateTime.now(), UUID.randomUUID()));
+
+        CursorPage<PageCursor> page = CursorPage.of(rows, 2, Function.identity(), Function.identity());
+
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getContent()).containsExactlyElementsOf(rows);
+    }
+
+    @Test
+    void keyedPageTakesCursorFromKeysWhenHydratedRowsWereDeleted() {
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<PageCursor> keys = List.of(
+                new PageCursor(base.plusMinutes(3), UUID.randomUUID()),
+                new PageCursor(base.plusMinutes(2), UUID.randomUUID()),
+                new PageCursor(base.plusMinutes(1), UUID.randomUUID()));
+        UUID deleted = keys.get(1).getId();
+        List<List<UUID>> hydrated = new ArrayList<>();
+
+        CursorPage<UUID> page = CursorPage.ofKeys(keys, 2, ids -> {
+            hydrated.add(ids);
+            return ids.stream().filter(id -> !id.equals(deleted)).toList();
+        });
+
+        assertThat(hydrated).containsExactly(List.of(keys.get(0).getId(), deleted));
+        assertThat(page.getContent()).containsExactly(keys.get(0).getId());
+        assertThat(page.isHasNext()).isTrue();
+        assertThat(PageCursor.decode(page.getNextCursor()).getId()).isEqualTo(deleted);
+    }
+
+    @Test
+    void keyedPageWithoutLookaheadKeyIsLast() {
+        List<PageCursor> keys = List.of(new PageCursor(LocalDateTime.now(), UUID.randomUUID()));
+
+        CursorPage<UUID> page = CursorPage.ofKeys(keys, 2, ids -> ids);
+
+        assertThat(page.isHasNext()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+        assertThat(page.getContent()).containsExactly(keys.get(0).getId());
+    }
+
+    @Test
+    void clampsPageSize() {
+        assertThat(CursorPage.clampSize(0)).isEqualTo(1);
+        assertThat(CursorPage.clampSize(-5)).isEqualTo(1);
+        assertThat(CursorPage.clampSize(20)).isEqualTo(20);
+        assertThat(CursorPage.clampSize(1_000)).isEqualTo(CursorPage.MAX_SIZE);
+    }
+}
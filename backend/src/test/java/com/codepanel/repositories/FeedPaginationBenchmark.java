@@ -0,0 +1,219 @@
+package com.codepanel.repositories;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.models.ProblemPost;
+import com.codepanel.models.User;
+import com.codepanel.models.base.BaseEntity;
+import com.codepanel.models.dto.PageCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Offset page 500 against keyset page 500 for the problem-post, assignment,
+ * comment and notification feeds. Not picked up by a plain test run; run it
+ * explicitly, e.g.
+ * {@code mvn test -Dtest=FeedPaginationBenchmark -Dbenchmark.feeds.rows=100000}.
+ * Each feed gets benchmark.feeds.rows rows; the comments belong to one post and
+ * the notifications to one recipient. Both sides hydrate the same page, and the
+ * offset side also runs its count query, as the paged endpoints do.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class FeedPaginationBenchmark {
+
+    private static final long ROWS = Long.getLong("benchmark.feeds.rows", 100_000L);
+    private static final int PAGE = 500;
+    private static final int SIZE = 20;
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private ProblemPostRepository problemPostRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private ProblemPostCommentRepository commentRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnly;
+    private User user;
+    private ProblemPost post;
+
+    @Test
+    void offsetVersusCursorAtPage500() {
+        seed();
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        problemPostFeed();
+        assignmentFeed();
+        commentFeed();
+        notificationFeed();
+    }
+
+    private void seed() {
+        assertThat(ROWS).isGreaterThan((long) (PAGE + 1) * SIZE);
+
+        jdbcTemplate.update("INSERT INTO users (id, created_at, updated_at, first_name, last_name, email, password, " +
+                "role) VALUES (gen_random_uuid(), now(), now(), 'Bench', 'User', 'feeds@example.com', 'secret', " +
+                "'INSTRUCTOR')");
+        user = userRepository.findByEmail("feeds@example.com").orElseThrow();
+
+        jdbcTemplate.update("INSERT INTO problem_posts (id, created_at, updated_at, title, description, language, " +
+                "difficulty_level, user_id) " +
+                "SELECT gen_random_uuid(), now() - g * interval '1 second', now(), 'Post ' || g, 'Description', 0, " +
+                "'EASY', ? FROM generate_series(0, ? - 1) g", user.getId(), ROWS);
+        jdbcTemplate.update("INSERT INTO assignments (id, created_at, updated_at, title, description, language, " +
+                "difficulty_level, instructor_id, due_date, is_active) " +
+                "SELECT gen_random_uuid(), now(), now(), 'Assignment ' || g, 'Description', 0, 'EASY', ?, " +
+                "now() + g * interval '1 second', true FROM generate_series(0, ? - 1) g", user.getId(), ROWS);
+        post = problemPostRepository.findById(
+                problemPostRepository.findFeedKeys(PageRequest.of(0, 1)).get(0).getId()).orElseThrow();
+        jdbcTemplate.update("INSERT INTO problem_post_comments (id, created_at, updated_at, problem_post_id, " +
+                "user_id, comment, likes, dislikes) " +
+                "SELECT gen_random_uuid(), now() - g * interval '1 second', now(), ?, ?, 'Comment ' || g, 0, 0 " +
+                "FROM generate_series(0, ? - 1) g", post.getId(), user.getId(), ROWS);
+        jdbcTemplate.update("INSERT INTO notifications (id, created_at, updated_at, recipient_id, type, title, " +
+                "message, is_read) " +
+                "SELECT gen_random_uuid(), now() - g * interval '1 second', now(), ?, 'COMMENT', 'Title', " +
+                "'Message', false FROM generate_series(0, ? - 1) g", user.getId(), ROWS);
+        List.of("users", "problem_posts", "assignments", "problem_post_comments", "notifications")
+                .forEach(table -> jdbcTemplate.execute("ANALYZE " + table));
+    }
+
+    private void problemPostFeed() {
+        Pageable offsetPage = PageRequest.of(PAGE, SIZE, Sort.by(Sort.Direction.DESC, "createdAt"));
+        PageCursor cursor = last(problemPostRepository.findFeedKeys(PageRequest.of(PAGE - 1, SIZE)));
+
+        compare("Problem post feed",
+                () -> problemPostRepository.findListRowsInOrder(
+                        problemPostRepository.findPageIds(offsetPage).getContent()).stream()
+                        .map(ProblemPostRepository.ProblemPostListRow::getId).toList(),
+                () -> problemPostRepository.findListRowsInOrder(ids(problemPostRepository.findFeedKeysAfter(
+                        cursor.getSortKey(), cursor.getId(), PageRequest.of(0, SIZE + 1)))).stream()
+                        .map(ProblemPostRepository.ProblemPostListRow::getId).toList());
+    }
+
+    private void assignmentFeed() {
+        PageCursor cursor = last(assignmentRepository.findFeedKeys(PageRequest.of(PAGE - 1, SIZE)));
+
+        compare("Assignment feed",
+                () -> entityIds(assignmentRepository.findByIsActiveTrueOrderByDueDateAsc(
+                        PageRequest.of(PAGE, SIZE)).getContent()),
+                () -> entityIds(assignmentRepository.findAllWithRelationsInOrder(ids(
+                        assignmentRepository.findFeedKeysAfter(cursor.getSortKey(), cursor.getId(),
+                                PageRequest.of(0, SIZE + 1))))));
+    }
+
+    private void commentFeed() {
+        PageCursor cursor = cursorOf(last(commentRepository.findFeedByProblemPostId(post.getId(),
+                PageRequest.of(PAGE - 1, SIZE))));
+
+        compare("Comment feed",
+                () -> entityIds(commentRepository.findByProblemPostOrderByCreatedAtDesc(post,
+                        PageRequest.of(PAGE, SIZE)).getContent()),
+                () -> entityIds(commentRepository.findFeedByProblemPostIdAfter(post.getId(), cursor.getSortKey(),
+                        cursor.getId(), PageRequest.of(0, SIZE + 1))));
+    }
+
+    private void notificationFeed() {
+        PageCursor cursor = cursorOf(last(notificationRepository.findFeedByRecipient(user,
+                PageRequest.of(PAGE - 1, SIZE))));
+
+        compare("Notification feed",
+                () -> entityIds(notificationRepository.findByRecipientOrderByCreatedAtDesc(user,
+                        PageRequest.of(PAGE, SIZE)).getContent()),
+                () -> entityIds(notificationRepository.findFeedByRecipientAfter(user, cursor.getSortKey(),
+                        cursor.getId(), PageRequest.of(0, SIZE + 1))));
+    }
+
+    /**
+     * Checks that both strategies land on the same page, then times each.
+     * The keyset side reads one lookahead row, as the feed endpoints do.
+     */
+    private void compare(String feed, Supplier<List<UUID>> offset, Supplier<List<UUID>> keyset) {
+        List<UUID> offsetIds = readOnly.execute(status -> offset.get());
+        List<UUID> keysetIds = readOnly.execute(status -> keyset.get());
+        assertThat(keysetIds).hasSizeGreaterThanOrEqualTo(SIZE);
+        assertThat(keysetIds.subList(0, SIZE)).isEqualTo(offsetIds);
+
+        long[] offsetNanos = time(offset);
+        long[] keysetNanos = time(keyset);
+        System.out.printf("%s page %d over %,d rows: offset p50 %.2f ms, p95 %.2f ms; " +
+                        "cursor p50 %.2f ms, p95 %.2f ms%n", feed, PAGE, ROWS,
+                percentile(offsetNanos, 50), percentile(offsetNanos, 95),
+                percentile(keysetNanos, 50), percentile(keysetNanos, 95));
+    }
+
+    private long[] time(Supplier<List<UUID>> page) {
+        long[] nanos = new long[ITERATIONS];
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            readOnly.execute(status -> page.get());
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        return nanos;
+    }
+
+    private static <T> T last(List<T> rows) {
+        assertThat(rows).hasSize(SIZE);
+        return rows.get(rows.size() - 1);
+    }
+
+    private static PageCursor cursorOf(BaseEntity row) {
+        return new PageCursor(row.getCreatedAt(), row.getId());
+    }
+
+    /**
+     * Ids of the keys that get hydrated; the lookahead key is only read, as in
+     * CursorPage.ofKeys
+     */
+    private static List<UUID> ids(List<PageCursor> keys) {
+        return keys.stream().limit(SIZE).map(PageCursor::getId).toList();
+    }
+
+    private static List<UUID> entityIds(List<? extends BaseEntity> rows) {
+        return rows.stream().map(BaseEntity::getId).toList();
+    }
+
+    private double percentile(long[] sorted, int percentile) {
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
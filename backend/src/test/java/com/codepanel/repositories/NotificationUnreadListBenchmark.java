@@ -0,0 +1,99 @@
+package com.codepanel.repositories;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.models.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unread-list latency over a large notifications table. Not picked up by a
+ * plain test run; run it explicitly, e.g.
+ * {@code mvn test -Dtest=NotificationUnreadListBenchmark -Dbenchmark.notifications.rows=10000000}.
+ * Rows are spread evenly over benchmark.notifications.users recipients, one
+ * in ten unread.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationUnreadListBenchmark {
+
+    private static final long ROWS = Long.getLong("benchmark.notifications.rows", 10_000_000L);
+    private static final int USERS = Integer.getInteger("benchmark.notifications.users", 10_000);
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void unreadListLatency() {
+        seed();
+        User recipient = userRepository.findByEmail("bench-0@example.com").orElseThrow();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        long[] nanos = new long[ITERATIONS];
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            readOnly.executeWithoutResult(status -> {
+                notificationRepository.findUnreadByRecipientOrderByCreatedAtDesc(recipient, PageRequest.of(0, 20));
+                notificationRepository.countUnreadByRecipient(recipient);
+            });
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(nanos);
+        System.out.printf("Unread list over %,d notifications: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms%n", ROWS,
+                percentile(nanos, 50), percentile(nanos, 95), percentile(nanos, 99));
+
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT * FROM notifications " +
+                "WHERE recipient_id = ? AND is_read = false ORDER BY created_at DESC LIMIT 20", String.class,
+                recipient.getId());
+        plan.forEach(System.out::println);
+        assertThat(String.join("\n", plan)).contains("idx_notifications_recipient_read_created");
+    }
+
+    private void seed() {
+        jdbcTemplate.update("INSERT INTO users (id, created_at, updated_at, first_name, last_name, email, password, " +
+                "role) SELECT gen_random_uuid(), now(), now(), 'Bench', 'User', 'bench-' || g || '@example.com', " +
+                "'secret', 'STUDENT' FROM generate_series(0, ? - 1) g", USERS);
+        jdbcTemplate.update("INSERT INTO notifications (id, created_at, updated_at, recipient_id, type, title, " +
+                "message, is_read) " +
+                "SELECT gen_random_uuid(), now() - g * interval '1 second', now(), u.id, 'COMMENT', 'Title', " +
+                "'Message', (g / ?) % 10 <> 0 " +
+                "FROM generate_series(0, ? - 1) g " +
+                "JOIN (SELECT id, CAST(substring(email FROM 'bench-([0-9]+)@') AS int) AS n FROM users " +
+                "WHERE email LIKE 'bench-%') u ON u.n = g % ?", USERS, ROWS, USERS);
+        jdbcTemplate.execute("ANALYZE notifications");
+    }
+
+    private double percentile(long[] sorted, int percentile) {
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,129 @@
+package com.codepanel.repositories;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.models.Category;
+import com.codepanel.models.ProblemPost;
+import com.codepanel.models.ProblemPostComment;
+import com.codepanel.models.Tag;
+import com.codepanel.models.User;
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import com.codepanel.models.enums.Role;
+import com.codepanel.repositories.ProblemPostRepository.ProblemPostListRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProblemPostRepositoryTest {
+
+    @Autowired
+    private ProblemPostRepository problemPostRepository;
+
+    @Autowired
+    private ProblemPostCommentRepository commentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Test
+    void listRowsFollowIdOrderAndCarryAuthorCategoryAndAcceptedAnswer() {
+        User author = userRepository.save(user("Ada"));
+        User answerer = userRepository.save(user("Grace"));
+        Category category = new Category();
+        category.setName("category-" + UUID.randomUUID());
+        category.setColor("#fff");
+        category = categoryRepository.save(category);
+
+        ProblemPost answered = post(author, category, Set.of());
+        ProblemPost plain = post(author, null, Set.of());
+        ProblemPostComment answer = comment(answered, answerer);
+        answered.setAcceptedAnswer(answer);
+        answered = problemPostRepository.save(answered);
+
+        List<ProblemPostListRow> rows = problemPostRepository.findListRowsInOrder(
+                List.of(plain.getId(), UUID.randomUUID(), answered.getId()));
+
+        assertThat(rows).extracting(ProblemPostListRow::getId).containsExactly(plain.getId(), answered.getId());
+        ProblemPostListRow plainRow = rows.get(0);
+        assertThat(plainRow.getAuthorFirstName()).isEqualTo("Ada");
+        assertThat(plainRow.getCategoryId()).isNull();
+        assertThat(plainRow.getAcceptedAnswerId()).isNull();
+        ProblemPostListRow answeredRow = rows.get(1);
+        assertThat(answeredRow.getCategoryName()).isEqualTo(category.getName());
+        assertThat(answeredRow.getAcceptedAnswerId()).isEqualTo(answer.getId());
+        assertThat(answeredRow.getAcceptedAnswerAuthorFirstName()).isEqualTo("Grace");
+    }
+
+    @Test
+    void tagsAndCommentCountsAreGroupedPerPost() {
+        User author = userRepository.save(user("Ada"));
+        Tag java = tagRepository.save(new Tag("java-" + UUID.randomUUID(), null, "#f00"));
+        Tag sql = tagRepository.save(new Tag("sql-" + UUID.randomUUID(), null, "#0f0"));
+        ProblemPost tagged = post(author, null, Set.of(java, sql));
+        ProblemPost untagged = post(author, null, Set.of());
+        comment(tagged, author);
+        comment(tagged, author);
+        List<UUID> ids = List.of(tagged.getId(), untagged.getId());
+
+        assertThat(problemPostRepository.findTagRowsByProblemPostIds(ids))
+                .extracting(row -> row[0], row -> row[1])
+                .containsExactlyInAnyOrder(tuple(tagged.getId(), java.getId()), tuple(tagged.getId(), sql.getId()));
+        assertThat(problemPostRepository.countCommentsByProblemPostIds(ids))
+                .extracting(row -> row[0], row -> row[1])
+                .containsExactly(tuple(tagged.getId(), 2L));
+    }
+
+    private ProblemPost post(User author, Category category, Set<Tag> tags) {
+        ProblemPost post = new ProblemPost();
+        post.setTitle("Title");
+        post.setDescription("Description");
+        post.setCode("int main() {}");
+        post.setLanguage(ProgrammingLanguage.JAVA);
+        post.setDifficultyLevel(DifficultyLevel.EASY);
+        post.setUser(author);
+        post.setCategory(category);
+        post.setTags(new HashSet<>(tags));
+        return problemPostRepository.save(post);
+    }
+
+    private ProblemPostComment comment(ProblemPost post, User user) {
+        ProblemPostComment comment = new ProblemPostComment();
+        comment.setProblemPost(post);
+        comment.setUser(user);
+        comment.setComment("Try this");
+        comment.setCode("return 42;");
+        return commentRepository.save(comment);
+    }
+
+    private User user(String firstName) {
+        User user = new User();
+        user.setFirstName(firstName);
+        user.setLastName("Tester");
+        user.setEmail("posts-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,115 @@
+package com.codepanel.repositories;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.models.User;
+import com.codepanel.models.UserAchievementProgress;
+import com.codepanel.models.enums.MetricType;
+import com.codepanel.models.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserAchievementProgressRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 100;
+
+    @Autowired
+    private UserAchievementProgressRepository progressRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Every caller must see a distinct new value, otherwise two of them would
+     * evaluate the same threshold range and award an achievement twice.
+     */
+    @Test
+    void concurrentIncrementsReturnDistinctValuesAndLoseNothing() throws Exception {
+        User user = userRepository.save(user());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        List<Integer> returned = runConcurrently(() -> {
+            List<Integer> values = new ArrayList<>();
+            for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                values.add(transactionTemplate.execute(status ->
+                        progressRepository.incrementAndGet(user.getId(), MetricType.COMMENTS_POSTED.name(), 1)));
+            }
+            return values;
+        });
+
+        int expected = THREADS * INCREMENTS_PER_THREAD;
+        assertThat(returned).containsExactlyInAnyOrderElementsOf(
+                IntStream.rangeClosed(1, expected).boxed().toList());
+        assertThat(progressRepository.findByUserIdAndMetricType(user.getId(), MetricType.COMMENTS_POSTED))
+                .get()
+                .extracting(UserAchievementProgress::getCurrentValue)
+                .isEqualTo(expected);
+    }
+
+    @Test
+    void concurrentFirstStreakUpdatesShareOneRow() throws Exception {
+        User user = userRepository.save(user());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        List<MetricType> streaks = List.of(MetricType.ACTIVITY_STREAK, MetricType.PROBLEM_POSTING_STREAK);
+
+        List<Integer> lockedRows = runConcurrently(() -> List.of(transactionTemplate.execute(status -> {
+            streaks.forEach(metricType -> progressRepository.insertIfAbsent(user.getId(), metricType.name()));
+            return progressRepository.findByUserIdAndMetricTypesForUpdate(user.getId(), streaks).size();
+        })));
+
+        assertThat(lockedRows).hasSize(THREADS).containsOnly(streaks.size());
+        assertThat(progressRepository.findByUserId(user.getId())).hasSize(streaks.size());
+    }
+
+    private List<Integer> runConcurrently(Callable<List<Integer>> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<List<Integer>>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tasks.add(task);
+            }
+            List<Integer> results = new ArrayList<>();
+            for (Future<List<Integer>> future : executor.invokeAll(tasks)) {
+                results.addAll(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private User user() {
+        User user = new User();
+        user.setFirstName("Progress");
+        user.setLastName("Tester");
+        user.setEmail("progress-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,84 @@
+package com.codepanel.repositories;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.models.User;
+import com.codepanel.models.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserScoreRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int INCREMENTS_PER_THREAD = 250;
+
+    @Autowired
+    private UserScoreRepository userScoreRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void concurrentAddPointsLoseNoIncrements() throws Exception {
+        User user = userRepository.save(user());
+        LocalDate weekStart = LocalDate.now().with(DayOfWeek.MONDAY);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                tasks.add(() -> {
+                    for (int i = 0; i < INCREMENTS_PER_THREAD; i++) {
+                        transactionTemplate.executeWithoutResult(status ->
+                                userScoreRepository.addPoints(user.getId(), weekStart, 3));
+                    }
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(userScoreRepository.findByUserAndWeekStart(user, weekStart).getPoints())
+                .isEqualTo(THREADS * INCREMENTS_PER_THREAD * 3);
+    }
+
+    private User user() {
+        User user = new User();
+        user.setFirstName("Score");
+        user.setLastName("Tester");
+        user.setEmail("score-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,87 @@
+package com.codepanel.services;
+
+import com.codepanel.models.Achievement;
+import com.codepanel.models.enums.MetricType;
+import com.codepanel.repositories.AchievementRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AchievementThresholdIndexTest {
+
+    private AchievementThresholdIndex index;
+
+    @BeforeEach
+    void setUp() {
+        AchievementRepository repository = mock(AchievementRepository.class);
+        when(repository.findAll()).thenReturn(List.of(
+                achievement("Ten", MetricType.COMMENTS_POSTED, 10),
+                achievement("One", MetricType.COMMENTS_POSTED, 1),
+                achievement("Five", MetricType.COMMENTS_POSTED, 5),
+                achievement("Also five", MetricType.COMMENTS_POSTED, 5),
+                achievement("Poster", MetricType.PROBLEMS_POSTED, 1),
+                achievement("No target", MetricType.COMMENTS_POSTED, null)));
+        index = new AchievementThresholdIndex(repository);
+        index.refresh();
+    }
+
+    private Achievement achievement(String name, MetricType metricType, Integer targetValue) {
+        Achievement achievement = new Achievement();
+        achievement.setId(UUID.randomUUID());
+        achievement.setName(name);
+        achievement.setMetricType(metricType);
+        achievement.setTargetValue(targetValue);
+        return achievement;
+    }
+
+    private List<String> crossed(MetricType metricType, int oldValue, int newValue) {
+        return index.crossed(metricType, oldValue, newValue).stream()
+                .map(AchievementThresholdIndex.Threshold::getName)
+                .toList();
+    }
+
+    @Test
+    void crossedIncludesNewValueAndExcludesOldValue() {
+        assertThat(crossed(MetricType.COMMENTS_POSTED, 0, 1)).containsExactly("One");
+        assertThat(crossed(MetricType.COMMENTS_POSTED, 1, 4)).isEmpty();
+        assertThat(crossed(MetricType.COMMENTS_POSTED, 4, 10)).containsExactlyInAnyOrder("Five", "Also five", "Ten");
+        assertThat(crossed(MetricType.COMMENTS_POSTED, 10, 50)).isEmpty();
+    }
+
+    @Test
+    void crossedReturnsLowestFirstAcrossBigJumps() {
+        assertThat(crossed(MetricType.COMMENTS_POSTED, 0, 100).get(0)).isEqualTo("One");
+        assertThat(crossed(MetricType.COMMENTS_POSTED, 0, 100)).hasSize(4).endsWith("Ten");
+    }
+
+    @Test
+    void crossedIsEmptyWhenValueDoesNotGrowOrMetricHasNoAchievements() {
+        assertThat(crossed(MetricType.COMMENTS_POSTED, 5, 5)).isEmpty();
+        assertThat(crossed(MetricType.COMMENTS_POSTED, 10, 0)).isEmpty();
+        assertThat(crossed(MetricType.TOTAL_POINTS, 0, 1000)).isEmpty();
+        assertThat(crossed(MetricType.PROBLEMS_POSTED, 0, 1)).containsExactly("Poster");
+    }
+
+    @Test
+    void firstAboveFindsFirstTargetGreaterThanValue() {
+        AchievementThresholdIndex.Threshold[] table = {
+                threshold(1), threshold(5), threshold(5), threshold(10) };
+
+        assertThat(AchievementThresholdIndex.firstAbove(table, 0)).isZero();
+        assertThat(AchievementThresholdIndex.firstAbove(table, 1)).isEqualTo(1);
+        assertThat(AchievementThresholdIndex.firstAbove(table, 4)).isEqualTo(1);
+        assertThat(AchievementThresholdIndex.firstAbove(table, 5)).isEqualTo(3);
+        assertThat(AchievementThresholdIndex.firstAbove(table, 10)).isEqualTo(4);
+        assertThat(AchievementThresholdIndex.firstAbove(new AchievementThresholdIndex.Threshold[0], 3)).isZero();
+    }
+
+    private AchievementThresholdIndex.Threshold threshold(int targetValue) {
+        return new AchievementThresholdIndex.Threshold(UUID.randomUUID(), "t" + targetValue, null, targetValue, 0);
+    }
+}
@@ -0,0 +1,184 @@
+package com.codepanel.services;
+
+import com.codepanel.StatementCounter;
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.config.SearchIndexInitializer;
+import com.codepanel.models.Assignment;
+import com.codepanel.models.AssignmentSubmission;
+import com.codepanel.models.Category;
+import com.codepanel.models.Tag;
+import com.codepanel.models.User;
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import com.codepanel.models.enums.Role;
+import com.codepanel.models.enums.SubmissionStatus;
+import com.codepanel.repositories.AssignmentRepository;
+import com.codepanel.repositories.AssignmentSubmissionRepository;
+import com.codepanel.repositories.CategoryRepository;
+import com.codepanel.repositories.TagRepository;
+import com.codepanel.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every assignment list page must cost a fixed number of statements: the id
+ * page, its count, one fetch-joined load and the grouped per-page lookups,
+ * whatever the page size. Each seeded assignment has its own instructor so a
+ * per-row load of the instructor's collections would show up as growth.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ TestcontainersConfiguration.class, StatementCounter.class, AssignmentService.class, SearchService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AssignmentListStatementCountTest {
+
+    private static final int ASSIGNMENTS = 25;
+    private static final int MAX_STATEMENTS_PER_PAGE = 10;
+
+    @MockitoBean
+    private NotificationEventPublisher notificationEventPublisher;
+
+    @MockitoBean
+    private GamificationEventPublisher gamificationEventPublisher;
+
+    @MockitoBean
+    private AssignmentOverlayService assignmentOverlayService;
+
+    @MockitoBean
+    private FacetIndexService facetIndexService;
+
+    @Autowired
+    private AssignmentService assignmentService;
+
+    @Autowired
+    private StatementCounter statementCounter;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private AssignmentSubmissionRepository submissionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User owner;
+    private User student;
+    private String titleWord;
+
+    @BeforeEach
+    void seed() {
+        new SearchIndexInitializer(jdbcTemplate).run();
+
+        owner = userRepository.save(user(Role.INSTRUCTOR));
+        student = userRepository.save(user(Role.STUDENT));
+        User classmate = userRepository.save(user(Role.STUDENT));
+        Category category = new Category();
+        category.setName("category-" + UUID.randomUUID());
+        category.setColor("#fff");
+        category = categoryRepository.save(category);
+        titleWord = "counted" + UUID.randomUUID().toString().substring(0, 8);
+
+        for (int i = 0; i < ASSIGNMENTS; i++) {
+            User instructor = userRepository.save(user(Role.INSTRUCTOR));
+            Tag tag = tagRepository.save(new Tag("tag-" + UUID.randomUUID(), null, "#f00"));
+            Assignment assignment = assignmentRepository.save(
+                    assignment(titleWord + " " + i, instructor, category, Set.of(tag), i));
+            submissionRepository.save(submission(assignment, student));
+            submissionRepository.save(submission(assignment, classmate));
+            assignmentRepository.save(assignment("Owned " + i, owner, category, Set.of(tag), ASSIGNMENTS + i));
+        }
+    }
+
+    @Test
+    void allAssignmentsPageCostsTheSameStatementsAtAnySize() {
+        assertFixedStatementsPerPage(size -> assertThat(
+                assignmentService.getAllAssignments(PageRequest.of(0, size)).getContent()).hasSize(size));
+    }
+
+    @Test
+    void myAssignmentsPageCostsTheSameStatementsAtAnySize() {
+        assertFixedStatementsPerPage(size -> assertThat(
+                assignmentService.getMyAssignments(owner, PageRequest.of(0, size)).getContent()).hasSize(size));
+    }
+
+    @Test
+    void searchPageCostsTheSameStatementsAtAnySize() {
+        assertFixedStatementsPerPage(size -> assertThat(assignmentService.searchAssignments(
+                titleWord, null, null, null, null, PageRequest.of(0, size), student).getContent())
+                .hasSize(size)
+                .allSatisfy(assignment -> assertThat(assignment.getHasSubmitted()).isTrue()));
+    }
+
+    private void assertFixedStatementsPerPage(IntConsumer loadPage) {
+        List<Integer> counts = List.of(5, 20).stream()
+                .map(size -> {
+                    statementCounter.reset();
+                    loadPage.accept(size);
+                    return statementCounter.count();
+                })
+                .toList();
+
+        assertThat(counts.get(1)).isEqualTo(counts.get(0)).isLessThanOrEqualTo(MAX_STATEMENTS_PER_PAGE);
+    }
+
+    private Assignment assignment(String title, User instructor, Category category, Set<Tag> tags, int dueInDays) {
+        Assignment assignment = new Assignment();
+        assignment.setTitle(title);
+        assignment.setDescription("Description");
+        assignment.setLanguage(ProgrammingLanguage.JAVA);
+        assignment.setDifficultyLevel(DifficultyLevel.EASY);
+        assignment.setInstructor(instructor);
+        assignment.setCategory(category);
+        assignment.setTags(new HashSet<>(tags));
+        assignment.setDueDate(LocalDateTime.now().plusDays(dueInDays));
+        assignment.setIsActive(true);
+        return assignment;
+    }
+
+    private AssignmentSubmission submission(Assignment assignment, User student) {
+        AssignmentSubmission submission = new AssignmentSubmission();
+        submission.setAssignment(assignment);
+        submission.setStudent(student);
+        submission.setCode("return 42;");
+        submission.setStatus(SubmissionStatus.PENDING_REVIEW);
+        return submission;
+    }
+
+    private User user(Role role) {
+        User user = new User();
+        user.setFirstName("Count");
+        user.setLastName("Tester");
+        user.setEmail("statements-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,89 @@
+package com.codepanel.services;
+
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class FacetIndexBroadcasterTest {
+
+    private final StringRedisTemplate redis = mock(StringRedisTemplate.class);
+    private final FacetIndexService sender = mock(FacetIndexService.class);
+    private final FacetIndexService receiver = mock(FacetIndexService.class);
+    private final FacetIndexBroadcaster senderNode = broadcaster(sender);
+    private final FacetIndexBroadcaster receiverNode = broadcaster(receiver);
+
+    private FacetIndexBroadcaster broadcaster(FacetIndexService facetIndexService) {
+        return new FacetIndexBroadcaster(redis, mock(RedisMessageListenerContainer.class), facetIndexService,
+                new ObjectMapper());
+    }
+
+    private DefaultMessage lastPublished() {
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(redis).convertAndSend(eq(FacetIndexBroadcaster.CHANNEL), body.capture());
+        return new DefaultMessage(FacetIndexBroadcaster.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                body.getValue().getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void upsertReachesOtherNodes() {
+        FacetIndex.FacetDocument document = new FacetIndex.FacetDocument(UUID.randomUUID(),
+                ProgrammingLanguage.PYTHON, DifficultyLevel.HARD, UUID.randomUUID(),
+                Set.of(UUID.randomUUID(), UUID.randomUUID()));
+
+        senderNode.publishUpsert(FacetIndexService.PROBLEM_POSTS, document);
+        receiverNode.onMessage(lastPublished(), null);
+
+        ArgumentCaptor<FacetIndex.FacetDocument> applied = ArgumentCaptor.forClass(FacetIndex.FacetDocument.class);
+        verify(receiver).applyUpsert(eq(FacetIndexService.PROBLEM_POSTS), applied.capture());
+        assertThat(applied.getValue()).usingRecursiveComparison().isEqualTo(document);
+    }
+
+    @Test
+    void upsertWithoutOptionalFacetsReachesOtherNodes() {
+        FacetIndex.FacetDocument document = new FacetIndex.FacetDocument(UUID.randomUUID(), null, null, null,
+                Set.of());
+
+        senderNode.publishUpsert(FacetIndexService.ASSIGNMENTS, document);
+        receiverNode.onMessage(lastPublished(), null);
+
+        ArgumentCaptor<FacetIndex.FacetDocument> applied = ArgumentCaptor.forClass(FacetIndex.FacetDocument.class);
+        verify(receiver).applyUpsert(eq(FacetIndexService.ASSIGNMENTS), applied.capture());
+        assertThat(applied.getValue()).usingRecursiveComparison().isEqualTo(document);
+    }
+
+    @Test
+    void removeReachesOtherNodes() {
+        UUID id = UUID.randomUUID();
+
+        senderNode.publishRemove(FacetIndexService.ASSIGNMENTS, id);
+        receiverNode.onMessage(lastPublished(), null);
+
+        verify(receiver).applyRemove(FacetIndexService.ASSIGNMENTS, id);
+    }
+
+    @Test
+    void ownUpdatesAreIgnored() {
+        senderNode.publishRemove(FacetIndexService.ASSIGNMENTS, UUID.randomUUID());
+        senderNode.onMessage(lastPublished(), null);
+
+        verify(sender, never()).applyRemove(anyString(), any());
+        verify(sender, never()).applyUpsert(anyString(), any());
+    }
+}
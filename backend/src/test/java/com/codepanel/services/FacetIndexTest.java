@@ -0,0 +1,173 @@
+package com.codepanel.services;
+
+import com.codepanel.models.dto.FacetCountsResponse;
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTest {
+
+    private final UUID category = UUID.randomUUID();
+    private final UUID tagA = UUID.randomUUID();
+    private final UUID tagB = UUID.randomUUID();
+
+    private FacetIndex.FacetDocument document(ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, UUID... tags) {
+        return new FacetIndex.FacetDocument(UUID.randomUUID(), language, difficulty, categoryId, Set.of(tags));
+    }
+
+    @Test
+    void notReadyUntilBuilt() {
+        FacetIndex index = new FacetIndex();
+
+        assertThat(index.isReady()).isFalse();
+        index.rebuild(List.of());
+        assertThat(index.isReady()).isTrue();
+    }
+
+    @Test
+    void searchIntersectsFacetsAndMatchesAnyTag() {
+        FacetIndex.FacetDocument javaEasyA = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, category, tagA);
+        FacetIndex.FacetDocument javaHardB = document(ProgrammingLanguage.JAVA, DifficultyLevel.HARD, null, tagB);
+        FacetIndex.FacetDocument pythonEasy = document(ProgrammingLanguage.PYTHON, DifficultyLevel.EASY, category);
+        FacetIndex index = new FacetIndex();
+        index.rebuild(List.of(javaEasyA, javaHardB, pythonEasy));
+
+        assertThat(index.search(ProgrammingLanguage.JAVA, null, null, null, 0, 10, false).getIds())
+                .containsExactly(javaEasyA.getId(), javaHardB.getId());
+        assertThat(index.search(null, DifficultyLevel.EASY, category, null, 0, 10, false).getIds())
+                .containsExactly(javaEasyA.getId(), pythonEasy.getId());
+        assertThat(index.search(null, null, null, List.of(tagA, tagB), 0, 10, false).getIds())
+                .containsExactly(javaEasyA.getId(), javaHardB.getId());
+        assertThat(index.search(ProgrammingLanguage.CPP, null, null, null, 0, 10, false).getTotal()).isZero();
+    }
+
+    @Test
+    void searchPagesNewestFirst() {
+        FacetIndex.FacetDocument first = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null);
+        FacetIndex.FacetDocument second = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null);
+        FacetIndex.FacetDocument third = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null);
+        FacetIndex index = new FacetIndex();
+        index.rebuild(List.of(first, second, third));
+
+        FacetIndex.FacetPage page = index.search(null, null, null, null, 1, 1, true);
+
+        assertThat(page.getIds()).containsExactly(second.getId());
+        assertThat(page.getTotal()).isEqualTo(3);
+        assertThat(index.search(null, null, null, null, 2, 5, false).getIds()).containsExactly(third.getId());
+    }
+
+    @Test
+    void upsertReplacesInPlaceAndRemoveHidesDocument() {
+        FacetIndex.FacetDocument first = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null);
+        FacetIndex.FacetDocument second = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null);
+        FacetIndex index = new FacetIndex();
+        index.rebuild(List.of(first, second));
+
+        index.upsert(new FacetIndex.FacetDocument(first.getId(), ProgrammingLanguage.PYTHON,
+                DifficultyLevel.HARD, null, Set.of()));
+        index.remove(second.getId());
+
+        assertThat(index.search(null, null, null, null, 0, 10, false).getIds()).containsExactly(first.getId());
+        assertThat(index.search(ProgrammingLanguage.JAVA, null, null, null, 0, 10, false).getTotal()).isZero();
+        assertThat(index.search(ProgrammingLanguage.PYTHON, DifficultyLevel.HARD, null, null, 0, 10, false)
+                .getIds()).containsExactly(first.getId());
+    }
+
+    @Test
+    void countsOnlyIncludeMatchingValues() {
+        FacetIndex index = new FacetIndex();
+        index.rebuild(List.of(
+                document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, category, tagA),
+                document(ProgrammingLanguage.JAVA, DifficultyLevel.HARD, null, tagA, tagB),
+                document(ProgrammingLanguage.PYTHON, DifficultyLevel.EASY, category)));
+
+        FacetCountsResponse counts = index.counts(ProgrammingLanguage.JAVA, null, null, null);
+
+        assertThat(counts.getTotal()).isEqualTo(2);
+        assertThat(counts.getLanguages()).containsOnlyKeys(ProgrammingLanguage.JAVA);
+        assertThat(counts.getDifficulties())
+                .containsEntry(DifficultyLevel.EASY, 1)
+                .containsEntry(DifficultyLevel.HARD, 1);
+        assertThat(counts.getCategories()).containsExactlyEntriesOf(Map.of(category, 1));
+        assertThat(counts.getTags()).containsEntry(tagA, 2).containsEntry(tagB, 1);
+    }
+
+    @Test
+    void rebuildReplaysUpdatesMadeWhileSnapshotWasRead() {
+        FacetIndex.FacetDocument kept = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null);
+        FacetIndex.FacetDocument deleted = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null);
+        FacetIndex index = new FacetIndex();
+        index.rebuild(List.of(kept, deleted));
+
+        index.beginRebuild();
+        List<FacetIndex.FacetDocument> staleSnapshot = List.of(kept, deleted);
+        FacetIndex.FacetDocument created = document(ProgrammingLanguage.PYTHON, DifficultyLevel.EASY, null);
+        index.upsert(created);
+        index.remove(deleted.getId());
+        index.rebuild(staleSnapshot);
+
+        assertThat(index.search(null, null, null, null, 0, 10, false).getIds())
+                .containsExactly(kept.getId(), created.getId());
+    }
+
+    @Test
+    void abortedRebuildStopsJournaling() {
+        FacetIndex.FacetDocument document = document(ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null);
+        FacetIndex index = new FacetIndex();
+
+        index.beginRebuild();
+        index.upsert(document);
+        index.abortRebuild();
+        index.rebuild(List.of());
+
+        assertThat(index.search(null, null, null, null, 0, 10, false).getTotal()).isZero();
+    }
+
+    @Test
+    void nthSetBitSkipsWholeWords() {
+        BitSet bits = new BitSet();
+        bits.set(3);
+        bits.set(64);
+        bits.set(130);
+        bits.set(131);
+
+        assertThat(FacetIndex.nthSetBit(bits, 0)).isEqualTo(3);
+        assertThat(FacetIndex.nthSetBit(bits, 1)).isEqualTo(64);
+        assertThat(FacetIndex.nthSetBit(bits, 3)).isEqualTo(131);
+        assertThat(FacetIndex.nthSetBit(bits, 4)).isEqualTo(-1);
+        assertThat(FacetIndex.nthSetBit(new BitSet(), 0)).isEqualTo(-1);
+    }
+
+    @Test
+    void deepPagesMatchAcrossWordsInBothDirections() {
+        List<FacetIndex.FacetDocument> documents = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            documents.add(document(i % 3 == 0 ? ProgrammingLanguage.PYTHON : ProgrammingLanguage.JAVA,
+                    DifficultyLevel.EASY, null));
+        }
+        FacetIndex index = new FacetIndex();
+        index.rebuild(documents);
+        List<UUID> java = documents.stream()
+                .filter(document -> document.getLanguage() == ProgrammingLanguage.JAVA)
+                .map(FacetIndex.FacetDocument::getId)
+                .toList();
+
+        assertThat(index.search(ProgrammingLanguage.JAVA, null, null, null, 200, 5, false).getIds())
+                .containsExactlyElementsOf(java.subList(200, 205));
+        assertThat(index.search(ProgrammingLanguage.JAVA, null, null, null, 200, 5, true).getIds())
+                .containsExactly(java.get(java.size() - 201), java.get(java.size() - 202),
+                        java.get(java.size() - 203), java.get(java.size() - 204), java.get(java.size() - 205));
+        assertThat(index.search(ProgrammingLanguage.JAVA, null, null, null, java.size(), 5, false).getIds())
+                .isEmpty();
+    }
+}
@@ -0,0 +1,128 @@
+package com.codepanel.services;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.models.dto.GamificationEvent;
+import com.codepanel.models.enums.ScoreEventType;
+import com.codepanel.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Throughput of GamificationEventListener's per-message path (onEvent, one
+ * recordEvent transaction per event) against its batch path (onEvents, one
+ * recordEvents transaction per batch). Not picked up by a plain test run; run
+ * it explicitly, e.g.
+ * {@code mvn test -Dtest=GamificationBatchBenchmark -Dbenchmark.gamification.events=20000}.
+ * Score events and rollups go to Postgres; achievements and the Redis
+ * leaderboards are mocked, so only the database side of batching is measured.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ TestcontainersConfiguration.class, GamificationService.class, ScoreRollupService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class GamificationBatchBenchmark {
+
+    private static final int EVENTS = Integer.getInteger("benchmark.gamification.events", 10_000);
+    private static final int USERS = Integer.getInteger("benchmark.gamification.users", 100);
+    private static final int BATCH_SIZE = Integer.getInteger("benchmark.gamification.batch-size", 100);
+    private static final int WARMUP_EVENTS = 1_000;
+
+    @MockitoBean
+    private LeaderboardCacheService leaderboardCacheService;
+
+    @Autowired
+    private GamificationService gamificationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+
+    @Test
+    void batchedVersusPerMessageThroughput() {
+        List<UUID> userIds = seedUsers();
+        RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.getMessageConverter()).thenReturn(converter);
+        GamificationEventListener listener = new GamificationEventListener(gamificationService, userRepository,
+                mock(AchievementService.class), rabbitTemplate, new TransactionTemplate(transactionManager));
+
+        perMessage(listener, events(userIds, WARMUP_EVENTS));
+        batched(listener, events(userIds, WARMUP_EVENTS));
+
+        double perMessage = perMessage(listener, events(userIds, EVENTS));
+        double batched = batched(listener, events(userIds, EVENTS));
+        System.out.printf("%,d events over %,d users: per-message %,.0f events/s, batched (%d per batch) " +
+                "%,.0f events/s, %.1fx%n", EVENTS, USERS, perMessage, BATCH_SIZE, batched, batched / perMessage);
+
+        Long recorded = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM score_events", Long.class);
+        assertThat(recorded).isEqualTo(2L * (WARMUP_EVENTS + EVENTS));
+    }
+
+    private double perMessage(GamificationEventListener listener, List<GamificationEvent> events) {
+        long start = System.nanoTime();
+        events.forEach(listener::onEvent);
+        return eventsPerSecond(events.size(), System.nanoTime() - start);
+    }
+
+    private double batched(GamificationEventListener listener, List<GamificationEvent> events) {
+        List<Message> messages = events.stream()
+                .map(event -> converter.toMessage(event, new MessageProperties()))
+                .toList();
+        long start = System.nanoTime();
+        for (int from = 0; from < messages.size(); from += BATCH_SIZE) {
+            listener.onEvents(messages.subList(from, Math.min(from + BATCH_SIZE, messages.size())));
+        }
+        return eventsPerSecond(events.size(), System.nanoTime() - start);
+    }
+
+    private List<GamificationEvent> events(List<UUID> userIds, int count) {
+        List<GamificationEvent> events = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            events.add(GamificationEvent.builder()
+                    .eventType(ScoreEventType.COMMENT_CREATED)
+                    .userId(userIds.get(i % userIds.size()))
+                    .refType("COMMENT")
+                    .refId(UUID.randomUUID())
+                    .build());
+        }
+        return events;
+    }
+
+    private List<UUID> seedUsers() {
+        jdbcTemplate.update("INSERT INTO users (id, created_at, updated_at, first_name, last_name, email, password, " +
+                "role) SELECT gen_random_uuid(), now(), now(), 'Bench', 'User', 'gamification-' || g || " +
+                "'@example.com', 'secret', 'STUDENT' FROM generate_series(0, ? - 1) g", USERS);
+        return jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE 'gamification-%'", UUID.class);
+    }
+
+    private double eventsPerSecond(int events, long nanos) {
+        return events / (nanos / 1_000_000_000.0);
+    }
+}
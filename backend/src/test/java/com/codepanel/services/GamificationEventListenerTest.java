@@ -0,0 +1,128 @@
+package com.codepanel.services;
+
+import com.codepanel.config.GamificationRabbitConfig;
+import com.codepanel.models.dto.GamificationEvent;
+import com.codepanel.models.enums.ScoreEventType;
+import com.codepanel.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GamificationEventListenerTest {
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private GamificationService gamificationService;
+    private AchievementService achievementService;
+    private RabbitTemplate rabbitTemplate;
+    private PlatformTransactionManager transactionManager;
+    private GamificationEventListener listener;
+
+    @BeforeEach
+    void setUp() {
+        gamificationService = mock(GamificationService.class);
+        achievementService = mock(AchievementService.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        when(rabbitTemplate.getMessageConverter()).thenReturn(converter);
+        listener = new GamificationEventListener(gamificationService, mock(UserRepository.class),
+                achievementService, rabbitTemplate, new TransactionTemplate(transactionManager));
+    }
+
+    private GamificationEvent event() {
+        return GamificationEvent.builder()
+                .eventType(ScoreEventType.COMMENT_CREATED)
+                .userId(UUID.randomUUID())
+                .refType("COMMENT")
+                .refId(UUID.randomUUID())
+                .build();
+    }
+
+    private Message message(Object payload) {
+        return converter.toMessage(payload, new MessageProperties());
+    }
+
+    @Test
+    void unreadableMessageIsDeadLetteredAndTheRestRecorded() {
+        GamificationEvent event = event();
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, GamificationEvent.class.getName());
+        Message bad = new Message("{not json".getBytes(StandardCharsets.UTF_8), properties);
+
+        listener.onEvents(List.of(message(event), bad));
+
+        verify(gamificationService).recordEvents(List.of(event));
+        verify(rabbitTemplate).send("", GamificationRabbitConfig.DLQ, bad);
+    }
+
+    @Test
+    void messageOfAnotherTypeIsDeadLettered() {
+        Message other = message("not an event");
+
+        listener.onEvents(List.of(other));
+
+        verify(rabbitTemplate).send("", GamificationRabbitConfig.DLQ, other);
+    }
+
+    @Test
+    void failedBatchIsRetriedOneEventAtATime() {
+        GamificationEvent good = event();
+        GamificationEvent poison = event();
+        Message poisonMessage = message(poison);
+        when(gamificationService.recordEvents(List.of(good, poison)))
+                .thenThrow(new IllegalStateException("deadlock"));
+        when(gamificationService.recordEvents(List.of(good))).thenReturn(List.of());
+        when(gamificationService.recordEvents(List.of(poison)))
+                .thenThrow(new IllegalStateException("deadlock"));
+
+        listener.onEvents(List.of(message(good), poisonMessage));
+
+        verify(gamificationService).recordEvents(List.of(good));
+        verify(rabbitTemplate).send("", GamificationRabbitConfig.DLQ, poisonMessage);
+    }
+
+    @Test
+    void progressFailureRollsBackTheRecordedEvent() {
+        GamificationEvent good = event();
+        GamificationEvent poison = event();
+        Message poisonMessage = message(poison);
+        when(gamificationService.recordEvents(List.of(good, poison))).thenReturn(List.of(good, poison));
+        when(gamificationService.recordEvents(List.of(good))).thenReturn(List.of(good));
+        when(gamificationService.recordEvents(List.of(poison))).thenReturn(List.of(poison));
+        doThrow(new IllegalStateException("lock timeout"))
+                .when(achievementService).applyProgress(eq(poison.getUserId()), any(ProgressPlan.class));
+
+        listener.onEvents(List.of(message(good), poisonMessage));
+
+        verify(transactionManager, times(2)).rollback(any());
+        verify(transactionManager).commit(any());
+        verify(rabbitTemplate).send("", GamificationRabbitConfig.DLQ, poisonMessage);
+    }
+
+    @Test
+    void healthyBatchIsNotDeadLettered() {
+        listener.onEvents(List.of(message(event()), message(event())));
+
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class));
+    }
+}
@@ -0,0 +1,98 @@
+package com.codepanel.services;
+
+import com.codepanel.models.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request authentication cost of the JWT filter, before and after the
+ * signing key and parser were reused and the token parsed once. The user
+ * lookup is an in-memory stub on both sides, so the difference is token
+ * handling plus the principal copy. Not run by surefire; after
+ * {@code mvn test-compile}, run the {@link #main} method with the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtAuthenticationBenchmark {
+
+    private static final String EMAIL = "ada@example.com";
+
+    private String secretKey;
+    private String token;
+    private UserDetailsService userDetailsService;
+    private JwtService jwtService;
+    private PrincipalCache principalCache;
+
+    @Setup
+    public void setUp() {
+        secretKey = Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+        jwtService = JwtServiceTest.jwtService(secretKey, 3_600_000);
+        token = jwtService.generateToken(JwtServiceTest.user(EMAIL));
+        User user = JwtServiceTest.user(EMAIL);
+        userDetailsService = email -> user;
+        principalCache = new PrincipalCache(userDetailsService, 3_600_000);
+    }
+
+    /**
+     * The filter as it was: extractUsername, then isTokenValid (which parsed
+     * for the subject and again for the expiry), with the key decoded and a
+     * parser built for every parse and the user loaded on every request.
+     */
+    @Benchmark
+    public UserDetails before() {
+        String email = legacyClaims(token).getSubject();
+        UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        boolean valid = legacyClaims(token).getSubject().equals(userDetails.getUsername())
+                && !legacyClaims(token).getExpiration().before(new Date());
+        return valid ? userDetails : null;
+    }
+
+    @Benchmark
+    public UserDetails after() {
+        Claims claims = jwtService.parseAndValidate(token);
+        if (claims == null) {
+            return null;
+        }
+        UserDetails userDetails = principalCache.loadUserByUsername(claims.getSubject());
+        return jwtService.isTokenValid(claims, userDetails) ? userDetails : null;
+    }
+
+    private Claims legacyClaims(String jwt) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        return Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(jwt).getBody();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtAuthenticationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,107 @@
+package com.codepanel.services;
+
+import com.codepanel.models.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtServiceTest {
+
+    private static final String SECRET = randomSecret();
+
+    private static String randomSecret() {
+        return Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+    }
+
+    static JwtService jwtService(String secret, long expirationMs) {
+        JwtService jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "secretKey", secret);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", expirationMs);
+        ReflectionTestUtils.setField(jwtService, "refreshTokenExpiration", expirationMs * 10);
+        jwtService.init();
+        return jwtService;
+    }
+
+    static User user(String email) {
+        User user = new User();
+        user.setEmail(email);
+        return user;
+    }
+
+    @Test
+    void generatedTokenParsesOnceWithSubjectAndExtraClaims() {
+        JwtService jwtService = jwtService(SECRET, 60_000);
+        String token = jwtService.generateToken(Map.of("role", "STUDENT"), user("ada@example.com"));
+
+        Claims claims = jwtService.parseAndValidate(token);
+
+        assertThat(claims).isNotNull();
+        assertThat(claims.getSubject()).isEqualTo("ada@example.com");
+        assertThat(claims.get("role", String.class)).isEqualTo("STUDENT");
+        assertThat(jwtService.extractUsername(token)).isEqualTo("ada@example.com");
+        assertThat(jwtService.isTokenExpired(token)).isFalse();
+    }
+
+    @Test
+    void tokenIsOnlyValidForItsOwnSubject() {
+        JwtService jwtService = jwtService(SECRET, 60_000);
+        String token = jwtService.generateToken(user("ada@example.com"));
+        Claims claims = jwtService.parseAndValidate(token);
+
+        assertThat(jwtService.isTokenValid(claims, user("ada@example.com"))).isTrue();
+        assertThat(jwtService.isTokenValid(token, user("ada@example.com"))).isTrue();
+        assertThat(jwtService.isTokenValid(claims, user("grace@example.com"))).isFalse();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtService jwtService = jwtService(SECRET, -1_000);
+        String token = jwtService.generateToken(user("ada@example.com"));
+
+        assertThat(jwtService.parseAndValidate(token)).isNull();
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        String token = jwtService(randomSecret(), 60_000).generateToken(user("ada@example.com"));
+
+        assertThat(jwtService(SECRET, 60_000).parseAndValidate(token)).isNull();
+    }
+
+    @Test
+    void tamperedOrMalformedTokenIsRejected() {
+        JwtService jwtService = jwtService(SECRET, 60_000);
+        String token = jwtService.generateToken(user("ada@example.com"));
+        String forged = Jwts.builder()
+                .setSubject("grace@example.com")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .compact();
+        String[] parts = token.split("\\.");
+        String swappedPayload = parts[0] + "." + forged.split("\\.")[1] + "." + parts[2];
+
+        assertThat(jwtService.parseAndValidate(swappedPayload)).isNull();
+        assertThat(jwtService.parseAndValidate(forged)).isNull();
+        assertThat(jwtService.parseAndValidate("not-a-jwt")).isNull();
+        assertThat(jwtService.parseAndValidate("")).isNull();
+    }
+
+    @Test
+    void refreshTokenOutlivesAccessToken() {
+        JwtService jwtService = jwtService(SECRET, 60_000);
+
+        Date access = jwtService.parseAndValidate(jwtService.generateToken(user("ada@example.com"))).getExpiration();
+        Date refresh = jwtService.parseAndValidate(jwtService.generateRefreshToken(user("ada@example.com")))
+                .getExpiration();
+
+        assertThat(refresh).isAfter(access);
+    }
+}
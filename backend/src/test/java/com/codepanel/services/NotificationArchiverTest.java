@@ -0,0 +1,98 @@
+package com.codepanel.services;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.config.NotificationArchiveTable;
+import com.codepanel.models.User;
+import com.codepanel.models.enums.Role;
+import com.codepanel.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(TestcontainersConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationArchiverTest {
+
+    private static final int RETENTION_DAYS = 90;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User recipient;
+
+    @BeforeEach
+    void setUp() {
+        new NotificationArchiveTable(jdbcTemplate).run();
+        recipient = userRepository.save(user());
+    }
+
+    @Test
+    void movesOnlyOldReadNotificationsAcrossSeveralBatches() {
+        List<UUID> oldRead = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            oldRead.add(insertNotification(RETENTION_DAYS + 10 + i, true));
+        }
+        UUID oldUnread = insertNotification(RETENTION_DAYS + 10, false);
+        UUID recentRead = insertNotification(RETENTION_DAYS - 10, true);
+
+        new NotificationArchiver(jdbcTemplate, RETENTION_DAYS, 2).archiveReadNotifications();
+
+        assertThat(ids("notifications")).containsExactlyInAnyOrder(oldUnread, recentRead);
+        assertThat(ids("notifications_archive")).containsExactlyInAnyOrderElementsOf(oldRead);
+    }
+
+    @Test
+    void archivedRowsKeepTheirColumns() {
+        UUID id = insertNotification(RETENTION_DAYS + 1, true);
+
+        new NotificationArchiver(jdbcTemplate, RETENTION_DAYS, 100).archiveReadNotifications();
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT title FROM notifications_archive WHERE id = ?", String.class, id)).isEqualTo("Title " + id);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT archived_at IS NOT NULL FROM notifications_archive WHERE id = ?", Boolean.class, id)).isTrue();
+    }
+
+    private UUID insertNotification(int ageDays, boolean read) {
+        UUID id = UUID.randomUUID();
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now().minusDays(ageDays));
+        jdbcTemplate.update("INSERT INTO notifications (id, created_at, updated_at, recipient_id, type, title, " +
+                "message, is_read, read_at) VALUES (?, ?, ?, ?, 'COMMENT', ?, 'Message', ?, ?)",
+                id, createdAt, createdAt, recipient.getId(), "Title " + id, read, read ? createdAt : null);
+        return id;
+    }
+
+    private List<UUID> ids(String table) {
+        return jdbcTemplate.queryForList("SELECT id FROM " + table + " WHERE recipient_id = ?", UUID.class,
+                recipient.getId());
+    }
+
+    private User user() {
+        User user = new User();
+        user.setFirstName("Archive");
+        user.setLastName("Tester");
+        user.setEmail("archive-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+}
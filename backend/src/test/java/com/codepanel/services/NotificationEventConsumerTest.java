@@ -0,0 +1,104 @@
+package com.codepanel.services;
+
+import com.codepanel.config.NotificationRabbitConfig;
+import com.codepanel.models.Notification;
+import com.codepanel.models.events.CommentCreatedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.converter.AbstractJavaTypeMapper;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationEventConsumerTest {
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter();
+    private NotificationService notificationService;
+    private RabbitTemplate rabbitTemplate;
+    private NotificationEventConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        notificationService = mock(NotificationService.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        when(rabbitTemplate.getMessageConverter()).thenReturn(converter);
+        consumer = new NotificationEventConsumer(notificationService, mock(NotificationEventPublisher.class),
+                mock(WebSocketNotificationService.class), rabbitTemplate);
+    }
+
+    private CommentCreatedEvent event() {
+        return CommentCreatedEvent.builder()
+                .commentId(UUID.randomUUID())
+                .commentAuthorId(UUID.randomUUID())
+                .postAuthorId(UUID.randomUUID())
+                .build();
+    }
+
+    private Message message(Object event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(NotificationRabbitConfig.COMMENT_NOTIFICATION_QUEUE);
+        return converter.toMessage(event, properties);
+    }
+
+    private Message unreadableMessage() {
+        MessageProperties properties = new MessageProperties();
+        properties.setConsumerQueue(NotificationRabbitConfig.COMMENT_NOTIFICATION_QUEUE);
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setHeader(AbstractJavaTypeMapper.DEFAULT_CLASSID_FIELD_NAME, CommentCreatedEvent.class.getName());
+        return new Message("{not json".getBytes(StandardCharsets.UTF_8), properties);
+    }
+
+    @Test
+    void unreadableMessageIsDeadLetteredAndTheRestInserted() {
+        CommentCreatedEvent event = event();
+        Message bad = unreadableMessage();
+
+        consumer.handleEvents(List.of(message(event), bad));
+
+        verify(notificationService).createNotifications(List.of(event));
+        verify(rabbitTemplate).send(NotificationRabbitConfig.NOTIFICATIONS_DLX,
+                NotificationRabbitConfig.COMMENT_NOTIFICATION_DLQ, bad);
+    }
+
+    @Test
+    void failedBatchInsertFallsBackToOneEventAtATime() {
+        CommentCreatedEvent good = event();
+        CommentCreatedEvent poison = event();
+        Message poisonMessage = message(poison);
+        Notification notification = mock(Notification.class);
+        when(notificationService.createNotifications(List.of(good, poison)))
+                .thenThrow(new IllegalStateException("constraint violation"));
+        when(notificationService.createNotifications(List.of(good)))
+                .thenReturn(Map.of(good.getPostAuthorId(), List.of(notification)));
+        when(notificationService.createNotifications(List.of(poison)))
+                .thenThrow(new IllegalStateException("constraint violation"));
+
+        consumer.handleEvents(List.of(message(good), poisonMessage));
+
+        verify(notificationService).addToUnreadCounts(Map.of(good.getPostAuthorId(), List.of(notification)));
+        verify(rabbitTemplate).send(NotificationRabbitConfig.NOTIFICATIONS_DLX,
+                NotificationRabbitConfig.COMMENT_NOTIFICATION_DLQ, poisonMessage);
+    }
+
+    @Test
+    void healthyBatchIsNotDeadLettered() {
+        consumer.handleEvents(List.of(message(event()), message(event())));
+
+        verify(rabbitTemplate, never()).send(anyString(), anyString(), any(Message.class));
+        verify(notificationService).addToUnreadCounts(eq(Map.of()));
+    }
+}
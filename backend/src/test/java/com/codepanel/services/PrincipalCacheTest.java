@@ -0,0 +1,76 @@
+package com.codepanel.services;
+
+import com.codepanel.models.SocialLinks;
+import com.codepanel.models.User;
+import com.codepanel.models.enums.Role;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PrincipalCacheTest {
+
+    private static final String EMAIL = "ada@example.com";
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final PrincipalCache cache = new PrincipalCache(userDetailsService, 60_000);
+
+    private User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setEmail(EMAIL);
+        user.setFirstName("Ada");
+        user.setLastName("Lovelace");
+        user.setRole(Role.STUDENT);
+        user.setSkills(new ArrayList<>(List.of("java")));
+        user.setInterests(new ArrayList<>(List.of("compilers")));
+        user.setSocialLinks(new SocialLinks("ada", null, null, null));
+        return user;
+    }
+
+    @Test
+    void loadsOncePerTtl() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user());
+
+        cache.loadUserByUsername(EMAIL);
+        cache.loadUserByUsername(EMAIL);
+
+        verify(userDetailsService, times(1)).loadUserByUsername(EMAIL);
+    }
+
+    @Test
+    void everyCallGetsItsOwnCopy() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user());
+
+        User first = (User) cache.loadUserByUsername(EMAIL);
+        first.setFirstName("Changed");
+        first.getSkills().add("leaked");
+        first.getSocialLinks().setGithub("leaked");
+        User second = (User) cache.loadUserByUsername(EMAIL);
+
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(second.getFirstName()).isEqualTo("Ada");
+        assertThat(second.getSkills()).containsExactly("java");
+        assertThat(second.getSocialLinks().getGithub()).isEqualTo("ada");
+    }
+
+    @Test
+    void evictForcesReload() {
+        when(userDetailsService.loadUserByUsername(EMAIL)).thenReturn(user());
+
+        cache.loadUserByUsername(EMAIL);
+        cache.evict(EMAIL);
+        cache.loadUserByUsername(EMAIL);
+
+        verify(userDetailsService, times(2)).loadUserByUsername(EMAIL);
+    }
+}
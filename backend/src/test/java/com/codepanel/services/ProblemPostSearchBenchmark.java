@@ -0,0 +1,95 @@
+package com.codepanel.services;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.config.SearchIndexInitializer;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-text search latency over a large problem_posts table. Not picked up by
+ * a plain test run; run it explicitly, e.g.
+ * {@code mvn test -Dtest=ProblemPostSearchBenchmark -Dbenchmark.search.posts=100000}.
+ * Titles cycle through 1,000 topics and the language changes every 1,000
+ * posts, so each timed search (one topic prefix, Java only) matches a small
+ * slice of the table, as a real query would.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ TestcontainersConfiguration.class, SearchService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProblemPostSearchBenchmark {
+
+    private static final long POSTS = Long.getLong("benchmark.search.posts", 100_000L);
+    private static final int WARMUP = 50;
+    private static final int ITERATIONS = 500;
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void searchLatency() {
+        seed();
+
+        long[] nanos = new long[ITERATIONS];
+        for (int i = -WARMUP; i < ITERATIONS; i++) {
+            String query = "topic" + Math.floorMod(i, 1000);
+            long start = System.nanoTime();
+            Page<UUID> page = searchService.searchProblemPostIds(query, ProgrammingLanguage.JAVA, null, null, null,
+                    PageRequest.of(0, 20));
+            if (i >= 0) {
+                nanos[i] = System.nanoTime() - start;
+            }
+            assertThat(page.getContent()).isNotEmpty();
+        }
+        Arrays.sort(nanos);
+        System.out.printf("Search over %,d posts: p50 %.2f ms, p95 %.2f ms, p99 %.2f ms%n", POSTS,
+                percentile(nanos, 50), percentile(nanos, 95), percentile(nanos, 99));
+
+        // Same shape as the id query SearchService builds for a search plus a language filter
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN SELECT e.id FROM problem_posts e " +
+                "WHERE e.search_vector @@ to_tsquery('simple', 'topic42:*') AND e.language = 0 " +
+                "ORDER BY ts_rank(e.search_vector, to_tsquery('simple', 'topic42:*')) DESC, e.created_at DESC, e.id " +
+                "LIMIT 20", String.class);
+        plan.forEach(System.out::println);
+        assertThat(String.join("\n", plan)).contains("idx_problem_posts_search_vector");
+    }
+
+    private void seed() {
+        new SearchIndexInitializer(jdbcTemplate).run();
+        jdbcTemplate.update("INSERT INTO users (id, created_at, updated_at, first_name, last_name, email, password, " +
+                "role) VALUES (gen_random_uuid(), now(), now(), 'Bench', 'User', 'search@example.com', 'secret', " +
+                "'STUDENT')");
+        jdbcTemplate.update("INSERT INTO problem_posts (id, created_at, updated_at, title, description, language, " +
+                "difficulty_level, user_id) " +
+                "SELECT gen_random_uuid(), now() - g * interval '1 second', now(), " +
+                "'How do I solve topic' || (g % 1000) || ' in ' || (ARRAY['java', 'python', 'c'])[1 + g % 3], " +
+                "'Post ' || g || ' asks about sorting, graphs and binary trees', (g / 1000) % 8, " +
+                "(ARRAY['BEGINNER', 'EASY', 'MEDIUM', 'HARD', 'EXPERT'])[1 + g % 5], " +
+                "(SELECT id FROM users WHERE email = 'search@example.com') " +
+                "FROM generate_series(0, ? - 1) g", POSTS);
+        jdbcTemplate.execute("ANALYZE problem_posts");
+    }
+
+    private double percentile(long[] sorted, int percentile) {
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
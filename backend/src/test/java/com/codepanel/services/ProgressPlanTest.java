@@ -0,0 +1,74 @@
+package com.codepanel.services;
+
+import com.codepanel.models.enums.MetricType;
+import com.codepanel.models.enums.ScoreEventType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ProgressPlanTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 14);
+
+    @Test
+    void problemPostedCountsPostAndBothStreaks() {
+        ProgressPlan plan = ProgressPlan.forEvent(ScoreEventType.PROBLEM_POSTED, TODAY);
+
+        assertThat(plan.getActionDate()).isEqualTo(TODAY);
+        assertThat(plan.getIncrements()).containsExactlyEntriesOf(Map.of(MetricType.PROBLEMS_POSTED, 1));
+        assertThat(plan.getStreaks())
+                .containsExactlyInAnyOrder(MetricType.PROBLEM_POSTING_STREAK, MetricType.ACTIVITY_STREAK);
+    }
+
+    @Test
+    void assignmentEventsCountCompletionAndAssignmentStreak() {
+        for (ScoreEventType type : new ScoreEventType[] { ScoreEventType.SUBMISSION_ACCEPTED,
+                ScoreEventType.REVIEW_APPROVED }) {
+            ProgressPlan plan = ProgressPlan.forEvent(type, TODAY);
+
+            assertThat(plan.getIncrements()).containsOnlyKeys(MetricType.ASSIGNMENTS_COMPLETED);
+            assertThat(plan.getStreaks())
+                    .containsExactlyInAnyOrder(MetricType.ASSIGNMENT_STREAK, MetricType.ACTIVITY_STREAK);
+        }
+    }
+
+    @Test
+    void commentEventsCountTheirMetricAndActivityStreak() {
+        assertThat(ProgressPlan.forEvent(ScoreEventType.COMMENT_CREATED, TODAY).getIncrements())
+                .containsOnlyKeys(MetricType.COMMENTS_POSTED);
+        assertThat(ProgressPlan.forEvent(ScoreEventType.COMMENT_LIKED, TODAY).getIncrements())
+                .containsOnlyKeys(MetricType.TOTAL_LIKES_RECEIVED);
+        assertThat(ProgressPlan.forEvent(ScoreEventType.PROBLEM_ANSWER_ACCEPTED, TODAY).getIncrements())
+                .containsOnlyKeys(MetricType.ACCEPTED_ANSWERS);
+        assertThat(ProgressPlan.forEvent(ScoreEventType.COMMENT_CREATED, TODAY).getStreaks())
+                .containsExactly(MetricType.ACTIVITY_STREAK);
+    }
+
+    @Test
+    void negativeAndAwardEventsChangeNothing() {
+        assertThat(ProgressPlan.forEvent(ScoreEventType.COMMENT_DISLIKED, TODAY).isEmpty()).isTrue();
+        assertThat(ProgressPlan.forEvent(ScoreEventType.PROBLEM_ANSWER_UNACCEPTED, TODAY).isEmpty()).isTrue();
+        assertThat(ProgressPlan.forEvent(ScoreEventType.ACHIEVEMENT_AWARDED, TODAY).isEmpty()).isTrue();
+    }
+
+    @Test
+    void otherEventsOnlyKeepTheActivityStreak() {
+        ProgressPlan plan = ProgressPlan.forEvent(ScoreEventType.PROBLEM_ACCEPTED, TODAY);
+
+        assertThat(plan.getIncrements()).isEmpty();
+        assertThat(plan.getStreaks()).containsExactly(MetricType.ACTIVITY_STREAK);
+    }
+
+    @Test
+    void incrementsOfTheSameMetricAddUp() {
+        ProgressPlan plan = new ProgressPlan(TODAY)
+                .increment(MetricType.COMMENTS_POSTED, 1)
+                .increment(MetricType.COMMENTS_POSTED, 2);
+
+        assertThat(plan.getIncrements()).containsEntry(MetricType.COMMENTS_POSTED, 3);
+        assertThat(plan.isEmpty()).isFalse();
+    }
+}
@@ -0,0 +1,45 @@
+package com.codepanel.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecentKeysTest {
+
+    @Test
+    void remembersAddedKeys() {
+        RecentKeys keys = new RecentKeys(10);
+
+        keys.add("a");
+
+        assertThat(keys.contains("a")).isTrue();
+        assertThat(keys.contains("b")).isFalse();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedOnceFull() {
+        RecentKeys keys = new RecentKeys(2);
+        keys.add("a");
+        keys.add("b");
+
+        keys.contains("a");
+        keys.add("c");
+
+        assertThat(keys.contains("a")).isTrue();
+        assertThat(keys.contains("b")).isFalse();
+        assertThat(keys.contains("c")).isTrue();
+    }
+
+    @Test
+    void readdingAKeyDoesNotGrowTheSet() {
+        RecentKeys keys = new RecentKeys(2);
+        keys.add("a");
+        keys.add("b");
+
+        keys.add("b");
+        keys.add("b");
+
+        assertThat(keys.contains("a")).isTrue();
+        assertThat(keys.contains("b")).isTrue();
+    }
+}
@@ -0,0 +1,156 @@
+package com.codepanel.services;
+
+import com.codepanel.config.WebSocketConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Two in-process nodes sharing one Redis, each with its own session registry,
+ * backplane and (mocked) local STOMP broker.
+ */
+@Testcontainers
+class RedisWebSocketBackplaneTest {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+            .withExposedPorts(6379);
+
+    private static final String DESTINATION = "/queue/notifications";
+
+    private final List<Node> nodes = new ArrayList<>();
+    private final String userId = UUID.randomUUID().toString();
+
+    private static class Node {
+        private LettuceConnectionFactory connectionFactory;
+        private RedisMessageListenerContainer listenerContainer;
+        private WebSocketSessionRegistry registry;
+        private RedisWebSocketBackplane backplane;
+        private SimpMessagingTemplate messagingTemplate;
+    }
+
+    private Node startNode(long ttlMs) {
+        Node node = new Node();
+        node.connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        node.connectionFactory.afterPropertiesSet();
+        node.connectionFactory.start();
+        StringRedisTemplate redis = new StringRedisTemplate(node.connectionFactory);
+
+        node.listenerContainer = new RedisMessageListenerContainer();
+        node.listenerContainer.setConnectionFactory(node.connectionFactory);
+        node.listenerContainer.afterPropertiesSet();
+
+        node.registry = new WebSocketSessionRegistry(redis, WebSocketConfig.BROKER_REDIS, false, ttlMs);
+        node.messagingTemplate = mock(SimpMessagingTemplate.class);
+        node.backplane = new RedisWebSocketBackplane(redis, node.listenerContainer, node.messagingTemplate,
+                node.registry, new ObjectMapper());
+        node.listenerContainer.start();
+        nodes.add(node);
+        return node;
+    }
+
+    @AfterEach
+    void stopNodes() throws Exception {
+        for (Node node : nodes) {
+            node.listenerContainer.stop();
+            node.listenerContainer.destroy();
+            node.connectionFactory.destroy();
+        }
+    }
+
+    @Test
+    void messageForUserOnOtherNodeIsDeliveredThere() {
+        Node a = startNode(90_000);
+        Node b = startNode(90_000);
+        b.registry.connected(userId, "session-1");
+
+        a.backplane.sendToUser(userId, DESTINATION, Map.of("title", "Graded"));
+
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(b.messagingTemplate, timeout(5_000)).convertAndSendToUser(eq(userId), eq(DESTINATION),
+                payload.capture());
+        assertThat(((JsonNode) payload.getValue()).get("title").asText()).isEqualTo("Graded");
+        verify(a.messagingTemplate, never()).convertAndSendToUser(anyString(), anyString(), any());
+    }
+
+    @Test
+    void userOnBothNodesGetsOneDeliveryPerNode() {
+        Node a = startNode(90_000);
+        Node b = startNode(90_000);
+        a.registry.connected(userId, "session-1");
+        b.registry.connected(userId, "session-2");
+        Map<String, String> payload = Map.of("title", "Awarded");
+
+        a.backplane.sendToUser(userId, DESTINATION, payload);
+
+        verify(a.messagingTemplate).convertAndSendToUser(userId, DESTINATION, payload);
+        verify(b.messagingTemplate, timeout(5_000)).convertAndSendToUser(eq(userId), eq(DESTINATION), any());
+    }
+
+    @Test
+    void offlineUserGetsNothing() {
+        Node a = startNode(90_000);
+        Node b = startNode(90_000);
+
+        a.backplane.sendToUser(userId, DESTINATION, Map.of("title", "Nobody"));
+
+        assertThat(a.registry.isOnline(userId)).isFalse();
+        verify(b.messagingTemplate, after(500).never()).convertAndSendToUser(anyString(), anyString(), any());
+    }
+
+    @Test
+    void presenceFollowsConnectAndDisconnectAcrossNodes() {
+        Node a = startNode(90_000);
+        Node b = startNode(90_000);
+
+        b.registry.connected(userId, "session-1");
+        assertThat(a.registry.isOnline(userId)).isTrue();
+        assertThat(a.registry.nodesFor(userId)).containsExactly(b.registry.getNodeId());
+
+        b.registry.disconnected(userId, "session-1");
+        assertThat(a.registry.isOnline(userId)).isFalse();
+        assertThat(a.registry.nodesFor(userId)).isEmpty();
+    }
+
+    @Test
+    void nodeThatStopsHeartbeatingDropsOutWhileOthersKeepTheKeyAlive() throws Exception {
+        Node reader = startNode(500);
+        Node dead = startNode(500);
+        Node alive = startNode(500);
+        dead.registry.connected(userId, "session-1");
+        alive.registry.connected(userId, "session-2");
+
+        Thread.sleep(300);
+        alive.registry.heartbeat();
+        Thread.sleep(300);
+        alive.registry.heartbeat();
+
+        assertThat(reader.registry.nodesFor(userId)).containsExactly(alive.registry.getNodeId());
+        assertThat(reader.registry.isOnline(userId)).isTrue();
+    }
+}
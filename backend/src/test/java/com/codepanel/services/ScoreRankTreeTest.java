@@ -0,0 +1,92 @@
+package com.codepanel.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScoreRankTreeTest {
+
+    private List<String> members(List<ScoreRankTree.Entry> entries) {
+        return entries.stream().map(ScoreRankTree.Entry::getMember).toList();
+    }
+
+    @Test
+    void ranksHighestScoreFirstWithTiesByMemberDescending() {
+        ScoreRankTree tree = new ScoreRankTree();
+        tree.put("a", 10);
+        tree.put("b", 30);
+        tree.put("c", 10);
+        tree.put("d", 20);
+
+        assertThat(members(tree.range(0, 3))).containsExactly("b", "d", "c", "a");
+        assertThat(tree.rank("b")).isZero();
+        assertThat(tree.rank("c")).isEqualTo(2);
+        assertThat(tree.rank("a")).isEqualTo(3);
+    }
+
+    @Test
+    void putReplacesPreviousScore() {
+        ScoreRankTree tree = new ScoreRankTree();
+        tree.put("a", 10);
+        tree.put("b", 20);
+
+        tree.put("a", 50);
+
+        assertThat(tree.size()).isEqualTo(2);
+        assertThat(tree.score("a")).isEqualTo(50L);
+        assertThat(tree.rank("a")).isZero();
+        assertThat(members(tree.range(0, 10))).containsExactly("a", "b");
+    }
+
+    @Test
+    void unknownMemberHasNoRankOrScore() {
+        ScoreRankTree tree = new ScoreRankTree();
+        tree.put("a", 1);
+
+        assertThat(tree.rank("missing")).isNull();
+        assertThat(tree.score("missing")).isNull();
+    }
+
+    @Test
+    void rangeIsClippedToTheTree() {
+        ScoreRankTree tree = new ScoreRankTree();
+        tree.put("a", 3);
+        tree.put("b", 2);
+        tree.put("c", 1);
+
+        assertThat(members(tree.range(-5, 1))).containsExactly("a", "b");
+        assertThat(members(tree.range(2, 100))).containsExactly("c");
+        assertThat(tree.range(5, 10)).isEmpty();
+        assertThat(new ScoreRankTree().range(0, 10)).isEmpty();
+    }
+
+    @Test
+    void matchesSortedListUnderRandomUpdates() {
+        ScoreRankTree tree = new ScoreRankTree();
+        Map<String, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            String member = "user-" + random.nextInt(300);
+            long score = random.nextInt(100);
+            tree.put(member, score);
+            expected.put(member, score);
+        }
+
+        List<String> sorted = new ArrayList<>(expected.keySet());
+        sorted.sort(Comparator.<String>comparingLong(expected::get).reversed()
+                .thenComparing(Comparator.<String>reverseOrder()));
+
+        assertThat(tree.size()).isEqualTo(expected.size());
+        assertThat(members(tree.range(0, sorted.size() - 1))).containsExactlyElementsOf(sorted);
+        for (int rank = 0; rank < sorted.size(); rank++) {
+            assertThat(tree.rank(sorted.get(rank))).isEqualTo(rank);
+        }
+    }
+}
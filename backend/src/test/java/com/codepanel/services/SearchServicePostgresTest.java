@@ -0,0 +1,160 @@
+package com.codepanel.services;
+
+import com.codepanel.TestcontainersConfiguration;
+import com.codepanel.config.SearchIndexInitializer;
+import com.codepanel.models.Category;
+import com.codepanel.models.ProblemPost;
+import com.codepanel.models.Tag;
+import com.codepanel.models.User;
+import com.codepanel.models.enums.DifficultyLevel;
+import com.codepanel.models.enums.ProgrammingLanguage;
+import com.codepanel.models.enums.Role;
+import com.codepanel.repositories.CategoryRepository;
+import com.codepanel.repositories.ProblemPostRepository;
+import com.codepanel.repositories.TagRepository;
+import com.codepanel.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ranked search and the facet filters against the generated search_vector
+ * column and its GIN index. Every test searches for its own marker word, so
+ * posts seeded by the other tests never match.
+ */
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ TestcontainersConfiguration.class, SearchService.class })
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SearchServicePostgresTest {
+
+    @Autowired
+    private SearchService searchService;
+
+    @Autowired
+    private ProblemPostRepository problemPostRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User author;
+    private String marker;
+
+    @BeforeEach
+    void setUp() {
+        new SearchIndexInitializer(jdbcTemplate).run();
+        author = userRepository.save(user());
+        marker = "marker" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+    }
+
+    @Test
+    void titleMatchesRankAboveDescriptionMatches() {
+        ProblemPost inTitle = post(marker + " in the title", "Nothing to see", ProgrammingLanguage.JAVA,
+                DifficultyLevel.EASY, null, Set.of());
+        ProblemPost inDescription = post("Plain title", "The " + marker + " is down here",
+                ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null, Set.of());
+
+        Page<UUID> page = search(marker, null, null, null, null);
+
+        assertThat(page.getContent()).containsExactly(inTitle.getId(), inDescription.getId());
+        assertThat(page.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void everyTermIsAPrefixAndAllTermsMustMatch() {
+        ProblemPost trees = post(marker + " balancing binary trees", "Rotations", ProgrammingLanguage.JAVA,
+                DifficultyLevel.EASY, null, Set.of());
+        post(marker + " binary heaps", "Sift down", ProgrammingLanguage.JAVA, DifficultyLevel.EASY, null, Set.of());
+
+        assertThat(search(marker + " BIN tre", null, null, null, null).getContent())
+                .containsExactly(trees.getId());
+        assertThat(search(marker + " bin", null, null, null, null).getContent()).hasSize(2);
+        assertThat(search(marker + " graph", null, null, null, null).getContent()).isEmpty();
+    }
+
+    @Test
+    void filtersNarrowTheMatches() {
+        Category category = new Category();
+        category.setName("category-" + UUID.randomUUID());
+        category.setColor("#fff");
+        category = categoryRepository.save(category);
+        Tag tag = tagRepository.save(new Tag("tag-" + UUID.randomUUID(), null, "#f00"));
+        Tag otherTag = tagRepository.save(new Tag("tag-" + UUID.randomUUID(), null, "#0f0"));
+
+        ProblemPost javaEasy = post(marker + " one", "Description", ProgrammingLanguage.JAVA,
+                DifficultyLevel.EASY, category, Set.of(tag));
+        ProblemPost javaHard = post(marker + " two", "Description", ProgrammingLanguage.JAVA,
+                DifficultyLevel.HARD, null, Set.of(otherTag));
+        ProblemPost pythonHard = post(marker + " three", "Description", ProgrammingLanguage.PYTHON,
+                DifficultyLevel.HARD, category, Set.of(tag, otherTag));
+
+        assertThat(search(marker, ProgrammingLanguage.JAVA, null, null, null).getContent())
+                .containsExactlyInAnyOrder(javaEasy.getId(), javaHard.getId());
+        assertThat(search(marker, null, DifficultyLevel.HARD, null, null).getContent())
+                .containsExactlyInAnyOrder(javaHard.getId(), pythonHard.getId());
+        assertThat(search(marker, null, null, category.getId(), null).getContent())
+                .containsExactlyInAnyOrder(javaEasy.getId(), pythonHard.getId());
+        assertThat(search(marker, null, null, null, List.of(tag.getId())).getContent())
+                .containsExactlyInAnyOrder(javaEasy.getId(), pythonHard.getId());
+        assertThat(search(marker, null, null, null, List.of(tag.getId(), otherTag.getId())).getContent())
+                .hasSize(3);
+
+        Page<UUID> combined = search(marker, ProgrammingLanguage.PYTHON, DifficultyLevel.HARD, category.getId(),
+                List.of(otherTag.getId()));
+        assertThat(combined.getContent()).containsExactly(pythonHard.getId());
+        assertThat(combined.getTotalElements()).isEqualTo(1);
+    }
+
+    private Page<UUID> search(String query, ProgrammingLanguage language, DifficultyLevel difficulty,
+            UUID categoryId, List<UUID> tagIds) {
+        return searchService.searchProblemPostIds(query, language, difficulty, categoryId, tagIds,
+                PageRequest.of(0, 20));
+    }
+
+    private ProblemPost post(String title, String description, ProgrammingLanguage language,
+            DifficultyLevel difficulty, Category category, Set<Tag> tags) {
+        ProblemPost post = new ProblemPost();
+        post.setTitle(title);
+        post.setDescription(description);
+        post.setLanguage(language);
+        post.setDifficultyLevel(difficulty);
+        post.setUser(author);
+        post.setCategory(category);
+        post.setTags(new HashSet<>(tags));
+        return problemPostRepository.save(post);
+    }
+
+    private User user() {
+        User user = new User();
+        user.setFirstName("Search");
+        user.setLastName("Tester");
+        user.setEmail("search-" + UUID.randomUUID() + "@example.com");
+        user.setPassword("secret");
+        user.setRole(Role.STUDENT);
+        return user;
+    }
+}
@@ -0,0 +1,31 @@
+package com.codepanel.services;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchServiceTest {
+
+    @Test
+    void turnsEachTermIntoALowercasePrefixMatch() {
+        assertThat(SearchService.toPrefixTsQuery("Binary Search")).isEqualTo("binary:* & search:*");
+    }
+
+    @Test
+    void keepsLettersAndDigitsAcrossScripts() {
+        assertThat(SearchService.toPrefixTsQuery("python3 Café")).isEqualTo("python3:* & café:*");
+    }
+
+    @Test
+    void stripsTsQueryOperatorsAndPunctuation() {
+        assertThat(SearchService.toPrefixTsQuery("  a & b | !c (d) o'reilly:* ")).isEqualTo(
+                "a:* & b:* & c:* & d:* & o:* & reilly:*");
+    }
+
+    @Test
+    void returnsNullWhenNothingIsSearchable() {
+        assertThat(SearchService.toPrefixTsQuery(null)).isNull();
+        assertThat(SearchService.toPrefixTsQuery("")).isNull();
+        assertThat(SearchService.toPrefixTsQuery(" &|!:* ")).isNull();
+    }
+}
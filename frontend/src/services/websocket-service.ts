@@ -104,6 +104,22 @@ export class WebSocketService {
         }
       );
 
+      this.stompClient.subscribe(
+        "/user/queue/notification-batch",
+        (message: any) => {
+          try {
+            const batch: { notifications: Notification[]; unreadCount: number } =
+              JSON.parse(message.body);
+            batch.notifications.forEach((notification) =>
+              this.onNotificationReceived?.(notification)
+            );
+            this.onUnreadCountUpdated?.(batch.unreadCount);
+          } catch (error) {
+            console.error("Error parsing notification batch message:", error);
+          }
+        }
+      );
+
       this.stompClient.subscribe("/user/queue/unread-count", (message: any) => {
         try {
           const count = JSON.parse(message.body);